@@ -0,0 +1,32 @@
+package org.example.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punkt wejścia {@code benchmarks.jar}. Przyjmuje zwykłe opcje JMH, a jeśli nie podano
+ * profilera ani pliku wyników, dodaje profiler alokacji ({@code -prof gc}) i zapisuje
+ * wyniki do {@value #DEFAULT_RESULT} - wyniki kolejnych optymalizacji można wtedy
+ * porównać z zapisanym punktem odniesienia (czas i {@code gc.alloc.rate.norm}, B/op).
+ */
+public class BenchmarkRunner {
+
+    /** Domyślny plik wyników w formacie JSON. */
+    static final String DEFAULT_RESULT = "jmh-result.json";
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmd);
+        if (cmd.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!cmd.getResult().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON).result(DEFAULT_RESULT);
+        }
+        new Runner(options.build()).run();
+    }
+}
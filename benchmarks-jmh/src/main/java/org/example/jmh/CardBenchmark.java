@@ -0,0 +1,67 @@
+package org.example.jmh;
+
+import org.example.Card;
+import org.example.CardCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Card#fromString(String)} i {@link Card#canPlayOn(Card)} dla losowych kart talii.
+ * Obie metody logują na poziomie DEBUG, więc mierzone są z logowaniem i bez niego.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CardBenchmark {
+
+    private static final int SAMPLES = 256;
+
+    @Param({"false", "true"})
+    public boolean debug;
+
+    private final String[] faces = new String[SAMPLES];
+    private final Card[] cards = new Card[SAMPLES];
+    private final Card[] tops = new Card[SAMPLES];
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        JmhSupport.configureLogger(debug);
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            faces[i] = CardCodec.faceOf(random.nextInt(CardCodec.faceCount()));
+            cards[i] = Card.fromString(faces[i]);
+            tops[i] = Card.fromString(CardCodec.faceOf(random.nextInt(CardCodec.faceCount())));
+        }
+    }
+
+    @Benchmark
+    public Card fromString() {
+        return Card.fromString(faces[next()]);
+    }
+
+    @Benchmark
+    public boolean canPlayOn() {
+        int i = next();
+        return cards[i].canPlayOn(tops[i]);
+    }
+
+    private int next() {
+        return cursor = (cursor + 1) & (SAMPLES - 1);
+    }
+}
@@ -0,0 +1,92 @@
+package org.example.jmh;
+
+import org.example.CardCodec;
+import org.example.GameStateStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Łańcuch obsługi komunikatów serwera w wątku odbierającym: {@link GameStateStore#apply(String)}
+ * rozpoznaje komendę, parsuje ją i publikuje nowy stan, a komunikaty spoza stanu gry
+ * (WINNER, CHOOSE_COLOR, ERROR) przechodzą dalej do {@code UnoController.handleServerMessage}.
+ * Strumień komunikatów odpowiada typowej turze gry czterech graczy.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+    private static final String OPPONENTS = "bob:7,carol:5,dave:3";
+
+    private final GameStateStore store = new GameStateStore();
+    private String[] stream;
+    private String playResult;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        JmhSupport.configureLogger(false);
+        Random random = new Random(42);
+        String hand = randomHand(random, 7);
+        String top = CardCodec.faceOf(random.nextInt(CardCodec.faceCount()));
+        String played = CardCodec.faceOf(random.nextInt(CardCodec.faceCount()));
+
+        playResult = "PLAY_RESULT alice " + played + " " + played + " bob " + OPPONENTS + " " + hand;
+        stream = new String[] {
+                "INIT_GAME " + top + " alice " + OPPONENTS + " " + hand,
+                playResult,
+                "TURN bob",
+                "PLAYERS bob:6,carol:5,dave:3",
+                "TOP_CARD " + top,
+                "TURN carol",
+                "DREW " + played,
+                "HAND " + hand,
+                "CHOOSE_COLOR",
+                "WINNER alice",
+        };
+        store.apply(stream[0]);
+    }
+
+    /** Pojedynczy komunikat z mieszanego strumienia (również komunikaty spoza stanu gry). */
+    @Benchmark
+    public boolean mixedStream() {
+        cursor = cursor + 1 == stream.length ? 0 : cursor + 1;
+        return store.apply(stream[cursor]);
+    }
+
+    /** Najczęstszy i najcięższy komunikat: pełny stan po zagraniu. */
+    @Benchmark
+    public boolean playResult() {
+        return store.apply(playResult);
+    }
+
+    /** Komunikat spoza stanu gry - koszt przejścia przez rozpoznawanie komendy. */
+    @Benchmark
+    public boolean fallThrough() {
+        return store.apply("WINNER alice");
+    }
+
+    private static String randomHand(Random random, int size) {
+        List<String> hand = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            hand.add(CardCodec.faceOf(random.nextInt(CardCodec.faceCount())));
+        }
+        return String.join(",", hand);
+    }
+}
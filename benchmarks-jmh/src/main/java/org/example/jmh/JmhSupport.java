@@ -0,0 +1,31 @@
+package org.example.jmh;
+
+import org.example.Logger;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Wspólne przygotowanie benchmarków.
+ */
+final class JmhSupport {
+
+    private JmhSupport() {
+    }
+
+    /**
+     * Ustawia zapisywanie wiadomości DEBUG i wycisza konsolę forka JMH, aby wypisywane
+     * logi nie zalewały raportu. Zapis do pliku logów pozostaje bez zmian.
+     *
+     * @param debug czy zapisywać wiadomości DEBUG
+     * @return logger aplikacji
+     */
+    static Logger configureLogger(boolean debug) {
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+        System.setOut(discard);
+        System.setErr(discard);
+        Logger logger = Logger.getInstance();
+        logger.setDebugEnabled(debug);
+        return logger;
+    }
+}
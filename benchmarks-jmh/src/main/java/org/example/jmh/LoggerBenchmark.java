@@ -0,0 +1,53 @@
+package org.example.jmh;
+
+import org.example.Logger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Logger#log(String, String)} na poziomie DEBUG z włączonym i wyłączonym zapisem.
+ * Komunikat budowany jest tak jak w gorących ścieżkach klienta - konkatenacją przed wywołaniem,
+ * więc wariant wyłączony pokazuje koszt, który pozostaje mimo pominięcia zapisu.
+ * Konsola forka jest wyciszona; mierzony jest zapis do pliku logów.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggerBenchmark {
+
+    @Param({"false", "true"})
+    public boolean debug;
+
+    private Logger logger;
+    private String message = "PLAY_RESULT alice RED:5 RED:5 bob bob:7,carol:5,dave:3 RED:1,BLUE:2,GREEN:+2";
+    private int sequence;
+
+    @Setup
+    public void setup() {
+        logger = JmhSupport.configureLogger(debug);
+    }
+
+    @Benchmark
+    public void debugConcatenated() {
+        logger.log(Logger.DEBUG, "Odebrano wiadomość: " + message + " #" + sequence++);
+    }
+
+    @Benchmark
+    public void debugConstant() {
+        logger.log(Logger.DEBUG, "Oczekuję na wiadomość...");
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.jmh;
+
+import org.example.GameStateStore;
+import org.example.LobbyController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsery list graczy: przeciwników w grze ({@code PLAYERS}, dawne {@code updateOpponents})
+ * i graczy lobby ({@code USERLIST}, {@code LobbyController.updateUserList}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({"3", "10"})
+    public int players;
+
+    private String opponents;
+    private String users;
+
+    @Setup
+    public void setup() {
+        JmhSupport.configureLogger(false);
+        StringBuilder opponentsBuilder = new StringBuilder();
+        StringBuilder usersBuilder = new StringBuilder();
+        for (int i = 0; i < players; i++) {
+            if (i > 0) {
+                opponentsBuilder.append(',');
+                usersBuilder.append(',');
+            }
+            opponentsBuilder.append("gracz").append(i).append(':').append(1 + i % 12);
+            usersBuilder.append("gracz").append(i).append(i % 2 == 0 ? ":READY" : ":NOT_READY");
+        }
+        opponents = opponentsBuilder.toString();
+        users = usersBuilder.toString();
+    }
+
+    @Benchmark
+    public Map<String, Integer> parseOpponents() {
+        return GameStateStore.parseOpponents(opponents);
+    }
+
+    @Benchmark
+    public List<String> parseUserList() {
+        return LobbyController.parseUserList(users);
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.benchmarks;
+
+import org.example.CardCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Porównuje dekodowanie ręki w formacie tekstowym ("kolor:wartość,...", ścieżka
+ * {@code split(",")} + {@code Card.fromString}) z kodowaniem zwięzłym {@link CardCodec}.
+ * Mierzony jest wyłącznie parsing (bez tworzenia widoków JavaFX), tak jak robi to
+ * {@code Card.fromString} przed utworzeniem widoku karty.
+ *
+ * <p>Argumenty: [liczba rąk] [iteracje pomiarowe]</p>
+ */
+public class CardCodecBenchmark {
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        int hands = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        Random random = new Random(42);
+        String[] textHands = new String[hands];
+        String[] compactHands = new String[hands];
+        long textBytes = 0;
+        long compactBytes = 0;
+        int cards = 0;
+
+        for (int i = 0; i < hands; i++) {
+            int size = 7 + random.nextInt(24);
+            List<String> hand = new ArrayList<>(size);
+            for (int j = 0; j < size; j++) {
+                hand.add(CardCodec.faceOf(random.nextInt(CardCodec.faceCount())));
+            }
+            textHands[i] = String.join(",", hand);
+            compactHands[i] = CardCodec.encodeList(hand);
+            textBytes += CardCodec.textSize(hand);
+            compactBytes += compactHands[i].length();
+            cards += size;
+        }
+
+        System.out.printf("Ręce: %d, karty: %d%n", hands, cards);
+        System.out.printf("Rozmiar tekstowy: %d B (%.2f B/karta), zwięzły: %d B (%.2f B/karta)%n",
+                textBytes, (double) textBytes / cards, compactBytes, (double) compactBytes / cards);
+
+        // Rozgrzewka JIT
+        for (int i = 0; i < 5; i++) {
+            decodeText(textHands);
+            decodeCompact(compactHands);
+        }
+
+        long textNanos = Long.MAX_VALUE;
+        long compactNanos = Long.MAX_VALUE;
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            decodeText(textHands);
+            textNanos = Math.min(textNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            decodeCompact(compactHands);
+            compactNanos = Math.min(compactNanos, System.nanoTime() - start);
+        }
+
+        System.out.printf("Tekst  split+fromString: %.1f ns/karta%n", (double) textNanos / cards);
+        System.out.printf("CardCodec.decodeList:    %.1f ns/karta%n", (double) compactNanos / cards);
+    }
+
+    /**
+     * Ścieżka tekstowa: split po przecinkach i po dwukropku jak w {@code Card.fromString}.
+     */
+    private static void decodeText(String[] hands) {
+        int count = 0;
+        for (String hand : hands) {
+            for (String cardStr : hand.split(",")) {
+                cardStr = cardStr.trim();
+                if (!cardStr.isEmpty()) {
+                    String[] parts = cardStr.split(":");
+                    if (parts.length != 2) {
+                        throw new IllegalArgumentException(cardStr);
+                    }
+                    sink = parts;
+                    count++;
+                }
+            }
+        }
+        sink = count;
+    }
+
+    /**
+     * Ścieżka zwięzła: jeden znak na kartę, twarze kart pobierane z tablicy.
+     */
+    private static void decodeCompact(String[] hands) {
+        int count = 0;
+        for (String hand : hands) {
+            List<String> cards = CardCodec.decodeList(hand);
+            sink = cards;
+            count += cards.size();
+        }
+        sink = count;
+    }
+}
@@ -0,0 +1,95 @@
+package org.example.benchmarks;
+
+import org.example.PayloadCompressor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Mierzy zysk i koszt kompresji {@link PayloadCompressor} dla kilku progów kompresji
+ * na tym samym strumieniu komunikatów co {@link FramingBenchmark}. Dla każdego progu
+ * wypisywany jest rozmiar na łączu, odsetek skompresowanych komunikatów oraz czas
+ * kompresji i dekompresji w przeliczeniu na komunikat.
+ *
+ * <p>Argumenty: [liczba komunikatów] [iteracje pomiarowe]</p>
+ */
+public class CompressionBenchmark {
+
+    private static final int[] THRESHOLDS = {0, 64, 128, 256, 512};
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        List<String> messages = FramingBenchmark.generateMessages(count, new Random(42));
+        long rawBytes = 0;
+        for (String message : messages) {
+            rawBytes += message.getBytes(StandardCharsets.UTF_8).length;
+        }
+        System.out.printf("Komunikaty: %d, bez kompresji: %d B (%.1f B/komunikat)%n",
+                count, rawBytes, (double) rawBytes / count);
+
+        for (int threshold : THRESHOLDS) {
+            // Rozgrzewka JIT
+            for (int i = 0; i < 2; i++) {
+                roundTrip(messages, threshold);
+            }
+
+            long[] best = null;
+            for (int i = 0; i < iterations; i++) {
+                long[] result = roundTrip(messages, threshold);
+                if (best == null || result[0] + result[1] < best[0] + best[1]) {
+                    best = result;
+                }
+            }
+
+            System.out.printf("próg %4d B: %8d B (%5.1f%%), skompresowane %5.1f%%, kompresja %6.1f ns, dekompresja %6.1f ns%n",
+                    threshold, best[2], 100.0 * best[2] / rawBytes, 100.0 * best[3] / count,
+                    (double) best[0] / count, (double) best[1] / count);
+        }
+    }
+
+    /**
+     * Przepuszcza wszystkie komunikaty przez parę kompresorów (nadawca, odbiorca),
+     * tak jak obie strony jednego połączenia.
+     *
+     * @return {czas kompresji, czas dekompresji, bajty na łączu, liczba skompresowanych}
+     */
+    private static long[] roundTrip(List<String> messages, int threshold) {
+        PayloadCompressor sender = new PayloadCompressor(threshold);
+        PayloadCompressor receiver = new PayloadCompressor(threshold);
+        String[] wire = new String[messages.size()];
+
+        long start = System.nanoTime();
+        for (int i = 0; i < wire.length; i++) {
+            wire[i] = sender.compress(messages.get(i));
+        }
+        long compressNanos = System.nanoTime() - start;
+
+        long wireBytes = 0;
+        long compressed = 0;
+        for (String message : wire) {
+            wireBytes += message.getBytes(StandardCharsets.UTF_8).length;
+            if (PayloadCompressor.isCompressed(message)) {
+                compressed++;
+            }
+        }
+
+        start = System.nanoTime();
+        for (int i = 0; i < wire.length; i++) {
+            String decoded = receiver.decompress(wire[i]);
+            if (!decoded.equals(messages.get(i))) {
+                throw new IllegalStateException("Niezgodność po dekompresji: " + messages.get(i));
+            }
+            sink = decoded;
+        }
+        long decompressNanos = System.nanoTime() - start;
+
+        sender.close();
+        receiver.close();
+        return new long[]{compressNanos, decompressNanos, wireBytes, compressed};
+    }
+}
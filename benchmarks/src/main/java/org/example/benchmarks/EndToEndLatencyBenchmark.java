@@ -0,0 +1,413 @@
+package org.example.benchmarks;
+
+import org.example.ClientConnection;
+import org.example.GameDelta;
+import org.example.GameState;
+import org.example.GameStateStore;
+import org.example.LatencyHistogram;
+import org.example.Logger;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Benchmark opóźnień od komendy do efektu: uruchamia lokalny {@link StandInGameServer}
+ * na porcie efemerycznym i N klientów bez interfejsu, którzy rozgrywają pełne gry
+ * przez prawdziwe {@link ClientConnection} (TCP) i {@link GameStateStore}.
+ *
+ * <p>Mierzony jest czas od wysłania komendy do zastosowania w magazynie stanu odpowiedzi,
+ * która ją rozstrzyga: {@code READY}→{@code START_GAME}, {@code INIT_GAME}→{@code INIT_GAME},
+ * {@code PLAY}→{@code PLAY_RESULT}, {@code DRAW}→{@code DREW}. Wszyscy klienci łączą się
+ * przed startem i zaczynają grać jednocześnie; między ruchami odczekują czas namysłu.
+ * Pomiary poprzedza nierejestrowana rozgrywka rozgrzewkowa.
+ * Dla każdej liczby klientów wypisywane są p50/p99/p999 i maksimum każdej komendy,
+ * a wszystkie wyniki zapisywane są do pliku JSON, aby porównywać przebiegi w czasie.</p>
+ *
+ * <p>Każdy klient to wątek z małym stosem i dwa deskryptory plików (klient i serwer w tym
+ * samym procesie). Poziomy przekraczające limit deskryptorów ({@code ulimit -n}) są pomijane
+ * i oznaczane w wynikach. Logi DEBUG są wyłączone, a konsola aplikacji wyciszona na czas pomiaru.
+ * Argumenty: [liczby klientów, np. 10,100,1000,10000] [gry na klienta] [czas namysłu w ms]
+ * [plik wyników]</p>
+ */
+public class EndToEndLatencyBenchmark {
+
+    private static final String[] COMMANDS = {"READY", "INIT_GAME", "PLAY", "DRAW"};
+    private static final String[] EFFECTS = {"START_GAME", "INIT_GAME", "PLAY_RESULT", "DREW"};
+    private static final int READY = 0;
+    private static final int INIT_GAME = 1;
+    private static final int PLAY = 2;
+    private static final int DRAW = 3;
+
+    private static final long CLIENT_STACK_SIZE = 256 * 1024;
+    private static final long CONNECT_TIMEOUT_MS = 120_000;
+    private static final int RESERVED_DESCRIPTORS = 256;
+    private static final int WARMUP_CLIENTS = 20;
+
+    private static final PrintStream DISCARD = new PrintStream(OutputStream.nullOutputStream());
+    private static PrintStream console;
+
+    public static void main(String[] args) throws Exception {
+        int[] levels = Arrays.stream((args.length > 0 ? args[0] : "10,100,1000,10000").split(","))
+                .mapToInt(level -> Integer.parseInt(level.trim())).toArray();
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        long thinkMs = args.length > 2 ? Long.parseLong(args[2]) : 20;
+        Path output = Path.of(args.length > 3 ? args[3] : "e2e-latency.json");
+
+        console = System.out;
+        Logger.getInstance().setDebugEnabled(false);
+        long maxDescriptors = maxFileDescriptors();
+
+        console.printf("Klienci: %s, gry na klienta: %d, namysł: %d ms, limit deskryptorów: %s%n",
+                Arrays.toString(levels), games, thinkMs, maxDescriptors < 0 ? "nieznany" : maxDescriptors);
+        // Rozgrzewka JIT i ładowania klas - pierwsze gry byłyby wielokrotnie wolniejsze
+        runLevel(WARMUP_CLIENTS, 1, thinkMs);
+
+        List<LevelResult> results = new ArrayList<>();
+        for (int clients : levels) {
+            long needed = 2L * clients + RESERVED_DESCRIPTORS;
+            if (maxDescriptors > 0 && needed > maxDescriptors) {
+                String reason = "limit deskryptorów " + maxDescriptors + " < " + needed;
+                console.printf("%n%d klientów: pominięto (%s, zwiększ ulimit -n)%n", clients, reason);
+                results.add(LevelResult.skipped(clients, reason));
+                continue;
+            }
+            LevelResult result = runLevel(clients, games, thinkMs);
+            result.print();
+            results.add(result);
+            System.gc();
+        }
+
+        Files.writeString(output, toJson(results, games, thinkMs), StandardCharsets.UTF_8);
+        console.println("\nWyniki zapisano do " + output.toAbsolutePath());
+        System.exit(0);
+    }
+
+    /**
+     * Jeden poziom obciążenia: nowy serwer, {@code clients} jednoczesnych klientów.
+     * Konsola jest wyciszona na czas poziomu (logi połączeń każdego klienta).
+     */
+    private static LevelResult runLevel(int clients, int games, long thinkMs) throws Exception {
+        System.setOut(DISCARD);
+        System.setErr(DISCARD);
+        try {
+            return measureLevel(clients, games, thinkMs);
+        } finally {
+            System.setOut(console);
+            System.setErr(console);
+        }
+    }
+
+    private static LevelResult measureLevel(int clients, int games, long thinkMs) throws Exception {
+        int loops = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        try (StandInGameServer server = new StandInGameServer(loops, clients)) {
+            CountDownLatch connected = new CountDownLatch(clients);
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicInteger failures = new AtomicInteger();
+            List<BotClient> bots = new ArrayList<>(clients);
+            List<Thread> threads = new ArrayList<>(clients);
+            for (int i = 0; i < clients; i++) {
+                BotClient bot = new BotClient("gracz" + i, server.getPort(), games, thinkMs,
+                        connected, start, failures);
+                Thread thread = new Thread(null, bot, "e2e-client-" + i, CLIENT_STACK_SIZE);
+                thread.setDaemon(true);
+                bots.add(bot);
+                threads.add(thread);
+                thread.start();
+            }
+            if (!connected.await(CONNECT_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Nie wszyscy klienci połączyli się z serwerem ("
+                        + (clients - connected.getCount()) + "/" + clients + ")");
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            long elapsedNanos = System.nanoTime() - begin;
+
+            LevelResult result = new LevelResult(clients, elapsedNanos, failures.get());
+            for (int command = 0; command < COMMANDS.length; command++) {
+                int total = 0;
+                for (BotClient bot : bots) {
+                    total += bot.samples[command].size;
+                }
+                LatencyHistogram histogram = new LatencyHistogram(Math.max(1, total));
+                for (BotClient bot : bots) {
+                    bot.samples[command].drainTo(histogram);
+                }
+                result.latencies[command] = histogram.snapshot();
+            }
+            result.serverCommands = server.getHandledCount();
+            return result;
+        }
+    }
+
+    /**
+     * Limit otwartych deskryptorów procesu lub -1, jeśli system go nie udostępnia.
+     */
+    private static long maxFileDescriptors() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.UnixOperatingSystemMXBean) {
+            return ((com.sun.management.UnixOperatingSystemMXBean) os).getMaxFileDescriptorCount();
+        }
+        return -1;
+    }
+
+    private static String toJson(List<LevelResult> results, int games, long thinkMs) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"benchmark\": \"end-to-end-latency\",\n");
+        json.append("  \"timestamp\": \"").append(Instant.now()).append("\",\n");
+        json.append("  \"java\": \"").append(System.getProperty("java.version")).append("\",\n");
+        json.append("  \"os\": \"").append(System.getProperty("os.name")).append(' ')
+                .append(System.getProperty("os.arch")).append("\",\n");
+        json.append("  \"cpus\": ").append(Runtime.getRuntime().availableProcessors()).append(",\n");
+        json.append("  \"gamesPerClient\": ").append(games).append(",\n");
+        json.append("  \"thinkMs\": ").append(thinkMs).append(",\n");
+        json.append("  \"unit\": \"us\",\n");
+        json.append("  \"levels\": [");
+        for (int i = 0; i < results.size(); i++) {
+            json.append(i > 0 ? ",\n" : "\n");
+            results.get(i).appendJson(json);
+        }
+        json.append("\n  ]\n}\n");
+        return json.toString();
+    }
+
+    private static double us(long nanos) {
+        return nanos / 1000.0;
+    }
+
+    /**
+     * Klient bez interfejsu: lobby ({@code READY}), a następnie pełne gry. Zagrywa pierwszą
+     * pasującą kartę z ręki, a gdy takiej nie ma - dobiera.
+     */
+    private static final class BotClient implements Runnable {
+        private final String nickname;
+        private final int port;
+        private final int games;
+        private final long thinkMs;
+        private final CountDownLatch connected;
+        private final CountDownLatch start;
+        private final AtomicInteger failures;
+        private final GameStateStore store = new GameStateStore();
+        final Samples[] samples = new Samples[COMMANDS.length];
+
+        private ClientConnection connection;
+        private boolean gameOver;
+
+        BotClient(String nickname, int port, int games, long thinkMs,
+                  CountDownLatch connected, CountDownLatch start, AtomicInteger failures) {
+            this.nickname = nickname;
+            this.port = port;
+            this.games = games;
+            this.thinkMs = thinkMs;
+            this.connected = connected;
+            this.start = start;
+            this.failures = failures;
+            for (int i = 0; i < samples.length; i++) {
+                samples[i] = new Samples();
+            }
+        }
+
+        @Override
+        public void run() {
+            connection = new ClientConnection("127.0.0.1", port);
+            boolean ok = connection.connect();
+            connected.countDown();
+            try {
+                start.await();
+                if (!ok) {
+                    throw new IllegalStateException("brak połączenia");
+                }
+                for (int game = 0; game < games; game++) {
+                    playGame();
+                }
+                connection.sendMessage("EXIT " + nickname);
+            } catch (Exception e) {
+                failures.incrementAndGet();
+            } finally {
+                connection.disconnect();
+            }
+        }
+
+        private void playGame() throws InterruptedException {
+            gameOver = false;
+            timed(READY, "READY " + nickname);
+            timed(INIT_GAME, "INIT_GAME " + GameDelta.PROTOCOL_VERSION);
+            while (!gameOver) {
+                think();
+                String card = playableCard(store.getState());
+                if (card != null) {
+                    timed(PLAY, "PLAY " + card);
+                } else {
+                    timed(DRAW, "DRAW");
+                }
+                awaitTurn();
+            }
+        }
+
+        /**
+         * Wysyła komendę i mierzy czas do zastosowania odpowiedzi, która ją rozstrzyga.
+         */
+        private void timed(int command, String message) {
+            long sent = System.nanoTime();
+            if (!connection.sendMessage(message)) {
+                throw new IllegalStateException("błąd wysyłania " + message);
+            }
+            String effect = EFFECTS[command];
+            while (!receive().startsWith(effect)) {
+                // Komunikaty poprzedzające odpowiedź (np. READY w lobby) są już zastosowane
+            }
+            samples[command].add(System.nanoTime() - sent);
+        }
+
+        /**
+         * Odbiera komunikaty aż do kolejki gracza lub końca gry.
+         */
+        private void awaitTurn() {
+            while (!gameOver) {
+                String message = receive();
+                if (message.startsWith("TURN ") && message.substring(5).trim().equals(nickname)) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Odbiera jeden komunikat i stosuje go w magazynie stanu.
+         */
+        private String receive() {
+            String message = connection.receiveMessage();
+            if (message == null) {
+                throw new IllegalStateException("brak odpowiedzi serwera");
+            }
+            if (!store.apply(message)) {
+                if (message.startsWith("WINNER")) {
+                    gameOver = true;
+                } else if (message.startsWith("ERROR")) {
+                    throw new IllegalStateException(message);
+                }
+            }
+            return message;
+        }
+
+        private void think() throws InterruptedException {
+            if (thinkMs > 0) {
+                // Rozrzut, aby klienci nie wysyłali komend w tych samych chwilach
+                Thread.sleep(thinkMs / 2 + ThreadLocalRandom.current().nextLong(thinkMs + 1));
+            }
+        }
+
+        private static String playableCard(GameState state) {
+            String top = state.getTopCard();
+            if (top == null) {
+                return null;
+            }
+            for (String card : state.getHand()) {
+                if (StandInGameServer.matches(card, top)) {
+                    return card;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Próbki jednego klienta dla jednej komendy (bez synchronizacji - zapisuje tylko wątek klienta).
+     */
+    private static final class Samples {
+        private long[] values = new long[64];
+        int size;
+
+        void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        void drainTo(LatencyHistogram histogram) {
+            for (int i = 0; i < size; i++) {
+                histogram.record(values[i]);
+            }
+        }
+    }
+
+    /**
+     * Wyniki jednego poziomu obciążenia.
+     */
+    private static final class LevelResult {
+        final int clients;
+        final long elapsedNanos;
+        final int failures;
+        final LatencyHistogram.Snapshot[] latencies = new LatencyHistogram.Snapshot[COMMANDS.length];
+        long serverCommands;
+        String skipped;
+
+        LevelResult(int clients, long elapsedNanos, int failures) {
+            this.clients = clients;
+            this.elapsedNanos = elapsedNanos;
+            this.failures = failures;
+        }
+
+        static LevelResult skipped(int clients, String reason) {
+            LevelResult result = new LevelResult(clients, 0, 0);
+            result.skipped = reason;
+            return result;
+        }
+
+        double throughput() {
+            return elapsedNanos > 0 ? serverCommands / (elapsedNanos / 1_000_000_000.0) : 0;
+        }
+
+        void print() {
+            console.printf("%n%d klientów: %d ms, %d komend serwera (%.0f/s), nieudani klienci: %d%n",
+                    clients, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), serverCommands, throughput(), failures);
+            console.printf("%-24s %9s %10s %10s %10s %10s%n", "komenda → efekt", "liczba",
+                    "p50 us", "p99 us", "p999 us", "max us");
+            for (int i = 0; i < COMMANDS.length; i++) {
+                LatencyHistogram.Snapshot s = latencies[i];
+                console.printf(Locale.ROOT, "%-24s %9d %10.1f %10.1f %10.1f %10.1f%n",
+                        COMMANDS[i] + " → " + EFFECTS[i], s.getCount(),
+                        us(s.getP50()), us(s.getP99()), us(s.getP999()), us(s.getMax()));
+            }
+        }
+
+        void appendJson(StringBuilder json) {
+            json.append("    {\"clients\": ").append(clients);
+            if (skipped != null) {
+                json.append(", \"skipped\": \"").append(skipped).append("\"}");
+                return;
+            }
+            json.append(String.format(Locale.ROOT,
+                    ", \"elapsedMs\": %d, \"failedClients\": %d, \"serverCommands\": %d, \"commandsPerSecond\": %.1f,",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), failures, serverCommands, throughput()));
+            json.append("\n     \"commands\": {");
+            for (int i = 0; i < COMMANDS.length; i++) {
+                LatencyHistogram.Snapshot s = latencies[i];
+                json.append(i > 0 ? "," : "").append("\n       ");
+                json.append(String.format(Locale.ROOT,
+                        "\"%s\": {\"effect\": \"%s\", \"count\": %d, \"p50\": %.1f, \"p99\": %.1f, \"p999\": %.1f, \"max\": %.1f}",
+                        COMMANDS[i], EFFECTS[i], s.getCount(),
+                        us(s.getP50()), us(s.getP99()), us(s.getP999()), us(s.getMax())));
+            }
+            json.append("\n     }}");
+        }
+    }
+}
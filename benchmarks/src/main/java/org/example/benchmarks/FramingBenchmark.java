@@ -0,0 +1,148 @@
+package org.example.benchmarks;
+
+import org.example.BinaryFraming;
+import org.example.CardCodec;
+import org.example.MessageFraming;
+import org.example.TextFraming;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+/**
+ * Porównuje tekstowy i binarny podział komunikatów pod tym samym obciążeniem.
+ * Obie implementacje używane są przez wspólny interfejs {@link MessageFraming},
+ * tak jak w {@code ClientConnection}. Mierzony jest zapis i odczyt strumienia
+ * realistycznych komunikatów gry (PLAY_RESULT, HAND, PLAYERS, TURN).
+ *
+ * <p>Argumenty: [liczba komunikatów] [iteracje pomiarowe]</p>
+ */
+public class FramingBenchmark {
+
+    private static volatile Object sink;
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        List<String> messages = generateMessages(count, new Random(42));
+
+        run("TEXT", messages, iterations, TextFraming::new);
+        run("BINARY", messages, iterations, BinaryFraming::new);
+    }
+
+    private static void run(String name, List<String> messages, int iterations,
+                            BiFunction<InputStream, OutputStream, MessageFraming> factory) throws IOException {
+        // Rozgrzewka JIT
+        for (int i = 0; i < 3; i++) {
+            roundTrip(messages, factory);
+        }
+
+        long bestWrite = Long.MAX_VALUE;
+        long bestRead = Long.MAX_VALUE;
+        int bytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            long[] result = roundTrip(messages, factory);
+            bestWrite = Math.min(bestWrite, result[0]);
+            bestRead = Math.min(bestRead, result[1]);
+            bytes = (int) result[2];
+        }
+
+        System.out.printf("%-6s zapis: %6.1f ns/komunikat, odczyt: %6.1f ns/komunikat, %d B (%.1f B/komunikat)%n",
+                name, (double) bestWrite / messages.size(), (double) bestRead / messages.size(),
+                bytes, (double) bytes / messages.size());
+    }
+
+    private static long[] roundTrip(List<String> messages,
+                                    BiFunction<InputStream, OutputStream, MessageFraming> factory) throws IOException {
+        ByteArrayOutputStream wire = new ByteArrayOutputStream(messages.size() * 128);
+        // Bufor wyjściowy jak w ClientConnection; flush po każdym komunikacie jak na gnieździe
+        MessageFraming writer = factory.apply(InputStream.nullInputStream(), new BufferedOutputStream(wire));
+
+        long start = System.nanoTime();
+        for (String message : messages) {
+            writer.write(message);
+        }
+        long writeNanos = System.nanoTime() - start;
+
+        byte[] data = wire.toByteArray();
+        MessageFraming reader = factory.apply(new BufferedInputStream(new ByteArrayInputStream(data)),
+                OutputStream.nullOutputStream());
+
+        start = System.nanoTime();
+        int read = 0;
+        String message;
+        while ((message = reader.read()) != null) {
+            sink = message;
+            read++;
+        }
+        long readNanos = System.nanoTime() - start;
+
+        if (read != messages.size()) {
+            throw new IllegalStateException("Odczytano " + read + " z " + messages.size() + " komunikatów");
+        }
+        return new long[]{writeNanos, readNanos, data.length};
+    }
+
+    /**
+     * Generuje mieszankę komunikatów odpowiadającą rozgrywce czterech graczy.
+     */
+    static List<String> generateMessages(int count, Random random) {
+        List<String> messages = new ArrayList<>(count);
+        String[] players = {"Ania", "Bartek", "Celina", "Darek"};
+        for (int i = 0; i < count; i++) {
+            String player = players[random.nextInt(players.length)];
+            switch (i % 4) {
+                case 0:
+                    messages.add("PLAY_RESULT " + player + " " + randomCard(random) + " " + randomCard(random) + " "
+                            + players[random.nextInt(players.length)] + " " + opponents(players, random) + " "
+                            + hand(random, 7 + random.nextInt(10)));
+                    break;
+                case 1:
+                    messages.add("HAND " + hand(random, 7 + random.nextInt(10)));
+                    break;
+                case 2:
+                    messages.add("PLAYERS " + opponents(players, random));
+                    break;
+                default:
+                    messages.add("TURN " + player);
+                    break;
+            }
+        }
+        return messages;
+    }
+
+    private static String randomCard(Random random) {
+        return CardCodec.faceOf(random.nextInt(CardCodec.faceCount()));
+    }
+
+    private static String hand(Random random, int size) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(randomCard(random));
+        }
+        return sb.toString();
+    }
+
+    private static String opponents(String[] players, Random random) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < players.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(players[i]).append(':').append(1 + random.nextInt(15));
+        }
+        return sb.toString();
+    }
+}
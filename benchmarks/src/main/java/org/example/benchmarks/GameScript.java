@@ -0,0 +1,112 @@
+package org.example.benchmarks;
+
+import org.example.CardCodec;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Skrypty komunikatów serwera odtwarzane przez benchmarki: wczytywane z pliku
+ * (jeden komunikat w wierszu, wiersze puste i zaczynające się od {@code #} są pomijane)
+ * lub generowane dla gry czterech graczy w formacie tekstowym protokołu.
+ */
+final class GameScript {
+
+    private static final String[] OPPONENTS = {"anna", "bartek", "celina"};
+    private static final int START_HAND = 7;
+
+    private GameScript() {
+    }
+
+    /**
+     * Wczytuje skrypt z pliku.
+     *
+     * @param file plik skryptu
+     * @return komunikaty w kolejności z pliku
+     * @throws IOException jeśli pliku nie można odczytać
+     */
+    static List<String> load(Path file) throws IOException {
+        List<String> script = new ArrayList<>();
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                script.add(trimmed);
+            }
+        }
+        return script;
+    }
+
+    /**
+     * Generuje grę: {@code INIT_GAME}, a następnie po jednym {@code PLAY_RESULT} na ruch
+     * i {@code PLAYERS}, gdy przeciwnik dobiera karty. Gracz lokalny dobiera karty,
+     * gdy zostają mu mniej niż trzy.
+     *
+     * @param nickname nazwa gracza lokalnego
+     * @param moves liczba ruchów
+     * @param seed ziarno generatora
+     * @return komunikaty serwera
+     */
+    static List<String> generate(String nickname, int moves, long seed) {
+        Random random = new Random(seed);
+        List<String> script = new ArrayList<>(moves * 2 + 1);
+        List<String> hand = new ArrayList<>();
+        for (int i = 0; i < START_HAND; i++) {
+            hand.add(randomCard(random));
+        }
+        Map<String, Integer> opponents = new LinkedHashMap<>();
+        for (String opponent : OPPONENTS) {
+            opponents.put(opponent, START_HAND);
+        }
+        String top = randomCard(random);
+        script.add("INIT_GAME " + top + " " + nickname + " " + players(opponents) + " " + String.join(",", hand));
+
+        String[] seats = {nickname, OPPONENTS[0], OPPONENTS[1], OPPONENTS[2]};
+        for (int move = 0; move < moves; move++) {
+            String player = seats[move % seats.length];
+            String next = seats[(move + 1) % seats.length];
+            String card;
+            if (player.equals(nickname)) {
+                card = hand.remove(random.nextInt(hand.size()));
+                if (hand.size() < 3) {
+                    for (int i = 0; i < 4; i++) {
+                        hand.add(randomCard(random));
+                    }
+                }
+            } else {
+                card = randomCard(random);
+                opponents.merge(player, -1, Integer::sum);
+            }
+            top = card;
+            script.add("PLAY_RESULT " + player + " " + card + " " + top + " " + next + " "
+                    + players(opponents) + " " + String.join(",", hand));
+
+            if (!player.equals(nickname) && opponents.get(player) < 2) {
+                opponents.merge(player, 4, Integer::sum);
+                script.add("PLAYERS " + players(opponents));
+            }
+        }
+        return script;
+    }
+
+    private static String randomCard(Random random) {
+        return CardCodec.faceOf(random.nextInt(CardCodec.faceCount()));
+    }
+
+    private static String players(Map<String, Integer> opponents) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : opponents.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(entry.getKey()).append(':').append(entry.getValue());
+        }
+        return sb.toString();
+    }
+}
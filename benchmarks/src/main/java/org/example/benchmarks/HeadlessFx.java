@@ -0,0 +1,120 @@
+package org.example.benchmarks;
+
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.stage.Stage;
+
+import java.io.PrintStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wspólne uruchamianie JavaFX bez ekranu (Monocle Headless) dla benchmarków i testów
+ * długotrwałych oraz wykonywanie kodu w wątku JavaFX.
+ *
+ * <p>{@link #start()} wyłącza automatyczne zamykanie JavaFX, a wątek JavaFX nie jest demonem,
+ * więc programy korzystające z tej klasy uruchamiają się przez {@link #run(String[], Main)},
+ * który zawsze kończy JVM - również po wyjątku.</p>
+ */
+final class HeadlessFx {
+
+    /**
+     * Treść programu uruchamianego przez {@link #run(String[], Main)}.
+     */
+    @FunctionalInterface
+    interface Main {
+        void run(String[] args) throws Exception;
+    }
+
+    private HeadlessFx() {
+    }
+
+    /**
+     * Wykonuje program i kończy JVM: kodem 0 po powrocie, kodem 1 po dowolnym wyjątku lub błędzie
+     * (np. {@code UnsatisfiedLinkError} przy braku bibliotek natywnych). Błąd wypisywany jest
+     * na standardowe wyjście błędów sprzed uruchomienia programu, nawet jeśli program je wyciszył.
+     *
+     * @param args argumenty programu
+     * @param main treść programu
+     */
+    static void run(String[] args, Main main) {
+        PrintStream console = System.err;
+        try {
+            main.run(args);
+        } catch (Throwable e) {
+            console.println("BŁĄD - " + e);
+            e.printStackTrace(console);
+            console.flush();
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * Uruchamia JavaFX i zwraca wyświetlone, puste okno główne. Platforma Monocle Headless
+     * z ekranem 1920x1080 wybierana jest, jeśli nie podano innej ({@code -Dglass.platform=gtk}
+     * używa ekranu).
+     * Okno jest wyświetlane od razu, ponieważ Monocle przełącza w tryb pełnoekranowy
+     * (jak robi to {@code SceneNavigator}) tylko okno, które ma fokus.
+     *
+     * @return okno główne
+     */
+    static Stage start() throws Exception {
+        if (System.getProperty("glass.platform") == null) {
+            // Właściwości muszą być ustawione przed uruchomieniem JavaFX
+            System.setProperty("glass.platform", "Monocle");
+            System.setProperty("monocle.platform", "Headless");
+            System.setProperty("prism.order", "sw");
+            // Ekran kiosku - domyślne 1280x800 jest mniejsze niż sceny 1920x1080
+            System.setProperty("headless.geometry", "1920x1080-32");
+        }
+        Platform.setImplicitExit(false);
+        CompletableFuture<Stage> stage = new CompletableFuture<>();
+        Platform.startup(() -> {
+            Stage primary = new Stage();
+            primary.show();
+            stage.complete(primary);
+        });
+        return stage.get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Wykonuje zadanie w wątku JavaFX i czeka na wynik.
+     *
+     * @param action zadanie
+     * @param timeoutMs maksymalny czas oczekiwania
+     * @return wynik zadania
+     */
+    static <T> T onFx(Callable<T> action, long timeoutMs) throws Exception {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                result.complete(action.call());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Liczy węzły poddrzewa sceny (tylko wątek JavaFX).
+     *
+     * @param node korzeń poddrzewa lub null
+     * @return liczba węzłów
+     */
+    static int countNodes(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        int count = 1;
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,240 @@
+package org.example.benchmarks;
+
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import org.example.ClientConnection;
+import org.example.LatencyHistogram;
+import org.example.SceneNavigator;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark renderowania gry bez ekranu: uruchamia JavaFX na platformie Monocle Headless,
+ * wyświetla {@code uno_game.fxml} z {@code UnoController} przez {@link SceneNavigator}
+ * i odtwarza skrypt komunikatów ({@code INIT_GAME}, {@code PLAY_RESULT}, {@code PLAYERS})
+ * przez {@link ScriptedServer} połączony z klientem łączem w pamięci ({@code LoopbackTransport}).
+ *
+ * <p>Dla każdej aktualizacji mierzone są: czas od podania komunikatu do zakończenia układu
+ * klatki, która go wyświetliła (zaokrąglony w górę do impulsu JavaFX), czas procesora
+ * i bajty zaalokowane przez wątek JavaFX i wątek odbierający oraz liczba nowych węzłów sceny.
+ * Wyniki podawane są osobno dla każdej komendy; na końcu wypisywana jest sterta po GC.</p>
+ *
+ * <p>Nie wymaga ekranu - Monocle dostarcza zależność {@code openjfx-monocle} (wydanie dla Javy 17).
+ * Tekst renderowany jest jak zwykle przez systemowe biblioteki czcionek ({@code libpangoft2},
+ * {@code libfreetype}). Aby użyć prawdziwego ekranu, uruchom z {@code -Dglass.platform=gtk}. Argumenty:
+ * [ruchy] [przebiegi] [przebiegi rozgrzewki] [plik skryptu]</p>
+ */
+public class HeadlessGameBenchmark {
+
+    private static final String NICKNAME = "gracz";
+    private static final long STEP_TIMEOUT_MS = 5000;
+    private static final String TOTAL = "razem";
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final AtomicLong pulses = new AtomicLong();
+    private static Stage stage;
+
+    public static void main(String[] args) {
+        HeadlessFx.run(args, HeadlessGameBenchmark::benchmark);
+    }
+
+    private static void benchmark(String[] args) throws Exception {
+        int moves = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int passes = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int warmup = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        List<String> script = args.length > 3
+                ? GameScript.load(Path.of(args[3]))
+                : GameScript.generate(NICKNAME, moves, 42);
+
+        stage = HeadlessFx.start();
+
+        ScriptedServer server = new ScriptedServer();
+        ClientConnection connection = new ClientConnection(server.transport());
+        if (!connection.connect()) {
+            throw new IllegalStateException("Brak połączenia z serwerem skryptowym");
+        }
+        onFx(() -> SceneNavigator.getInstance().showGame(stage, connection, NICKNAME));
+        onFx(() -> {
+            stage.getScene().addPostLayoutPulseListener(pulses::incrementAndGet);
+            return null;
+        });
+        long[] threads = {onFx(() -> Thread.currentThread().getId()), threadId("uno-game-receiver")};
+
+        System.out.printf("Skrypt: %d komunikatów, przebiegi: %d (+%d rozgrzewki), platforma: %s%n",
+                script.size(), passes, warmup, System.getProperty("glass.platform", "domyślna"));
+
+        for (int pass = 0; pass < warmup; pass++) {
+            replay(server, script, threads, null);
+        }
+        long heapBefore = heapAfterGc();
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        stats.put(TOTAL, new Stats());
+        long start = System.nanoTime();
+        for (int pass = 0; pass < passes; pass++) {
+            replay(server, script, threads, stats);
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long heapAfter = heapAfterGc();
+
+        System.out.printf("%-12s %8s %10s %10s %10s %10s %12s %10s%n", "komenda", "liczba",
+                "czas p50", "czas p99", "CPU p50", "CPU p99", "alokacje", "węzły");
+        for (Map.Entry<String, Stats> entry : stats.entrySet()) {
+            entry.getValue().print(entry.getKey());
+        }
+        int nodes = onFx(() -> HeadlessFx.countNodes(stage.getScene().getRoot()));
+        System.out.printf("%d aktualizacji w %d ms, węzły sceny: %d, sterta po GC: %d → %d KB%n",
+                stats.get(TOTAL).count, elapsedMs, nodes, heapBefore / 1024, heapAfter / 1024);
+
+        connection.disconnect();
+    }
+
+    /**
+     * Odtwarza skrypt, czekając po każdym komunikacie na jego wyświetlenie.
+     *
+     * @param stats statystyki komend lub null (rozgrzewka)
+     */
+    private static void replay(ScriptedServer server, List<String> script, long[] threads,
+                               Map<String, Stats> stats) throws Exception {
+        for (String message : script) {
+            Set<Node> before = stats != null ? onFx(() -> collectNodes(stage.getScene())) : null;
+            long bytes = allocatedBytes(threads);
+            long cpu = cpuTime(threads);
+            long start = System.nanoTime();
+
+            server.push(message);
+            server.awaitIdle(STEP_TIMEOUT_MS);
+            awaitLayout();
+
+            long wall = System.nanoTime() - start;
+            long cpuUsed = cpuTime(threads) - cpu;
+            long allocated = allocatedBytes(threads) - bytes;
+            if (stats != null) {
+                Set<Node> after = onFx(() -> collectNodes(stage.getScene()));
+                after.removeAll(before);
+                int space = message.indexOf(' ');
+                String command = space < 0 ? message : message.substring(0, space);
+                stats.computeIfAbsent(command, k -> new Stats()).add(wall, cpuUsed, allocated, after.size());
+                stats.get(TOTAL).add(wall, cpuUsed, allocated, after.size());
+            }
+        }
+    }
+
+    /**
+     * Czeka na zakończenie układu dwóch kolejnych klatek. Aktualizacje interfejsu
+     * stosowane są w fazie animacji klatki, więc druga klatka po obsłużeniu komunikatu
+     * na pewno je zawiera (pierwsza mogła się już rozpocząć).
+     */
+    private static void awaitLayout() throws Exception {
+        long target = pulses.get() + 2;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(STEP_TIMEOUT_MS);
+        while (pulses.get() < target) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Brak klatek JavaFX");
+            }
+            Platform.runLater(Platform::requestNextPulse);
+            Thread.sleep(1);
+        }
+    }
+
+    private static long threadId(String name) {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals(name)) {
+                return thread.getId();
+            }
+        }
+        throw new IllegalStateException("Nie znaleziono wątku " + name);
+    }
+
+    private static long allocatedBytes(long[] threads) {
+        long total = 0;
+        for (long id : threads) {
+            total += Math.max(0, THREADS.getThreadAllocatedBytes(id));
+        }
+        return total;
+    }
+
+    private static long cpuTime(long[] threads) {
+        long total = 0;
+        for (long id : threads) {
+            total += Math.max(0, THREADS.getThreadCpuTime(id));
+        }
+        return total;
+    }
+
+    private static Set<Node> collectNodes(Scene scene) {
+        Set<Node> nodes = Collections.newSetFromMap(new IdentityHashMap<>());
+        collect(scene.getRoot(), nodes);
+        return nodes;
+    }
+
+    private static void collect(Node node, Set<Node> nodes) {
+        nodes.add(node);
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                collect(child, nodes);
+            }
+        }
+    }
+
+    private static long heapAfterGc() throws InterruptedException {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static <T> T onFx(Callable<T> action) throws Exception {
+        return HeadlessFx.onFx(action, STEP_TIMEOUT_MS);
+    }
+
+    /**
+     * Wyniki aktualizacji jednej komendy.
+     */
+    private static final class Stats {
+        final LatencyHistogram wall = new LatencyHistogram(8192);
+        final LatencyHistogram cpu = new LatencyHistogram(8192);
+        long count;
+        long bytes;
+        long nodes;
+
+        void add(long wallNanos, long cpuNanos, long allocated, int newNodes) {
+            wall.record(wallNanos);
+            cpu.record(cpuNanos);
+            count++;
+            bytes += allocated;
+            nodes += newNodes;
+        }
+
+        void print(String command) {
+            LatencyHistogram.Snapshot w = wall.snapshot();
+            LatencyHistogram.Snapshot c = cpu.snapshot();
+            if (count == 0) {
+                return;
+            }
+            System.out.printf("%-12s %8d %8.2f ms %7.2f ms %7.2f ms %7.2f ms %10d B %10.1f%n", command, count,
+                    ms(w.getP50()), ms(w.getP99()), ms(c.getP50()), ms(c.getP99()),
+                    bytes / count, (double) nodes / count);
+        }
+
+        private static double ms(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
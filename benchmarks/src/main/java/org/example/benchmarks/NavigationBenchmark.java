@@ -0,0 +1,64 @@
+package org.example.benchmarks;
+
+import javafx.stage.Stage;
+import org.example.ClientMetrics;
+import org.example.LatencyHistogram;
+import org.example.SceneNavigator;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Porównuje czas przełączania widoków bezstanowych przez {@link SceneNavigator}
+ * bez pamięci podręcznej (każde przełączenie ładuje FXML i tworzy kontroler, jak przed
+ * wprowadzeniem nawigatora) i z pamięcią podręczną (podmiana korzenia wspólnej sceny).
+ *
+ * <p>Przełączenia obejmują menu, ustawienia i autorów - widok rankingu pomijamy,
+ * bo przy aktywacji łączy się z serwerem. Wynikiem są histogramy {@code nav.switch.loaded}
+ * i {@code nav.switch.cached}. Działa bez ekranu ({@link HeadlessFx}); na prawdziwym ekranie
+ * z {@code -Dglass.platform=gtk}.</p>
+ *
+ * <p>Argumenty: [liczba przełączeń w każdym trybie]</p>
+ */
+public class NavigationBenchmark {
+
+    private static final String[] ROUTE = {"/main_menu.fxml", "/settings.fxml", "/main_menu.fxml", "/autorzy.fxml"};
+    private static final int WARMUP = 100;
+
+    private static Stage stage;
+
+    public static void main(String[] args) {
+        HeadlessFx.run(args, NavigationBenchmark::benchmark);
+    }
+
+    private static void benchmark(String[] args) throws Exception {
+        int switches = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+
+        stage = HeadlessFx.start();
+
+        SceneNavigator navigator = SceneNavigator.getInstance();
+        ClientMetrics metrics = ClientMetrics.getInstance();
+
+        for (boolean cached : new boolean[]{false, true}) {
+            onFx(() -> {
+                navigator.setCachingEnabled(cached);
+                return null;
+            });
+            run(navigator, WARMUP);
+            LatencyHistogram histogram = metrics.histogram(cached ? "nav.switch.cached" : "nav.switch.loaded");
+            histogram.reset();
+            run(navigator, switches);
+            System.out.println((cached ? "z pamięcią podręczną: " : "bez pamięci podręcznej: ") + histogram.snapshot());
+        }
+    }
+
+    private static void run(SceneNavigator navigator, int switches) throws Exception {
+        for (int i = 0; i < switches; i++) {
+            String fxml = ROUTE[i % ROUTE.length];
+            onFx(() -> navigator.navigate(stage, fxml, "/style.css"));
+        }
+    }
+
+    private static <T> T onFx(Callable<T> action) throws Exception {
+        return HeadlessFx.onFx(action, 5000);
+    }
+}
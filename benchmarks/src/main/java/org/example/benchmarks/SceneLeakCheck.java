@@ -0,0 +1,183 @@
+package org.example.benchmarks;
+
+import javafx.stage.Stage;
+import org.example.ClientConnection;
+import org.example.ClientScheduler;
+import org.example.SceneNavigator;
+import org.example.UnoController;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test wycieków przy przełączaniu scen: cyklicznie przechodzi menu → lobby → gra → menu
+ * przez {@link SceneNavigator} na JavaFX bez ekranu ({@link HeadlessFx}), z prawdziwym
+ * połączeniem do lokalnego {@link StandInGameServer}. Na {@code READY} serwer odpowiada
+ * {@code START_GAME}, lobby samo przełącza się do gry, gra wysyła {@code INIT_GAME}
+ * i wyświetla otrzymany stan, po czym test wraca do menu.
+ *
+ * <p>Po rozgrzewce zapisywany jest stan odniesienia (sterta po GC, liczba wątków),
+ * a po ostatnim cyklu sprawdzane jest, że przyrost jest ograniczony, nie działają wątki
+ * odbierające lobby ani gry i w {@link ClientScheduler} nie zostały zadania.
+ * Kod wyjścia 1 oznacza wyciek. Pełne sesje kiosku (z logowaniem i rozgrywką)
+ * sprawdza {@link SoakHarness}.</p>
+ *
+ * <p>Argumenty: [cykle] [rozgrzewka] [limit przyrostu sterty w MB] [limit przyrostu liczby wątków]</p>
+ */
+public class SceneLeakCheck {
+
+    private static final String NICKNAME = "gracz";
+    private static final long STEP_TIMEOUT_MS = 5000;
+
+    private static Stage stage;
+
+    public static void main(String[] args) {
+        HeadlessFx.run(args, SceneLeakCheck::check);
+    }
+
+    private static void check(String[] args) throws Exception {
+        int cycles = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int warmup = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        long heapLimitMb = args.length > 2 ? Long.parseLong(args[2]) : 32;
+        int threadLimit = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+
+        StandInGameServer server = new StandInGameServer(1, 16);
+        stage = HeadlessFx.start();
+
+        Measurement baseline = null;
+        long start = System.nanoTime();
+        for (int cycle = 1; cycle <= cycles; cycle++) {
+            runCycle(server);
+            if (cycle == warmup) {
+                baseline = Measurement.take();
+                System.out.println("Stan odniesienia po " + warmup + " cyklach: " + baseline);
+            } else if (cycle % 100 == 0) {
+                System.out.println("Cykl " + cycle + ": " + Measurement.take());
+            }
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Measurement end = Measurement.take();
+        if (baseline == null) {
+            baseline = end;
+        }
+        int receivers = awaitReceiversStopped();
+        int pendingTasks = ClientScheduler.getInstance().getPendingCount();
+
+        long heapGrowthMb = (end.heapUsed - baseline.heapUsed) / (1024 * 1024);
+        int threadGrowth = end.threads - baseline.threads;
+        System.out.printf("%d cykli w %d ms (%.1f ms/cykl)%n", cycles, elapsedMs, (double) elapsedMs / cycles);
+        System.out.println("Stan końcowy: " + end);
+        System.out.printf("Przyrost sterty: %d MB (limit %d MB), przyrost wątków: %d (limit %d)%n",
+                heapGrowthMb, heapLimitMb, threadGrowth, threadLimit);
+        System.out.println("Wątki odbierające: " + receivers + ", zadania harmonogramu: " + pendingTasks
+                + " " + ClientScheduler.getInstance().describePendingTasks());
+
+        boolean passed = heapGrowthMb <= heapLimitMb && threadGrowth <= threadLimit
+                && receivers == 0 && pendingTasks == 0;
+        System.out.println(passed ? "OK - brak wycieków" : "BŁĄD - wykryto wyciek");
+
+        server.close();
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Jeden cykl menu → lobby → gra → menu.
+     */
+    private static void runCycle(StandInGameServer server) throws Exception {
+        SceneNavigator navigator = SceneNavigator.getInstance();
+        onFx(() -> navigator.navigate(stage, "/main_menu.fxml", "/style.css"));
+
+        ClientConnection connection = new ClientConnection("localhost", server.getPort());
+        if (!connection.connect()) {
+            throw new IllegalStateException("Brak połączenia z serwerem zastępczym");
+        }
+        onFx(() -> navigator.showLobby(stage, connection, NICKNAME));
+
+        // Serwer odpowiada na READY komunikatem START_GAME - lobby przełącza się do gry
+        long games = server.getGamesStarted();
+        connection.sendMessage("READY " + NICKNAME);
+        awaitFx(() -> navigator.getCurrentController() instanceof UnoController);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(STEP_TIMEOUT_MS);
+        while (server.getGamesStarted() == games) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Gra nie została uruchomiona (brak INIT_GAME)");
+            }
+            Thread.sleep(5);
+        }
+        // Kilka klatek na wyświetlenie stanu gry
+        Thread.sleep(50);
+
+        onFx(() -> navigator.navigate(stage, "/main_menu.fxml", "/style.css"));
+    }
+
+    /**
+     * Czeka na zakończenie wątków odbierających lobby i gry (zamknięcie gniazda jest asynchroniczne).
+     *
+     * @return liczba wątków odbierających, które nadal działają
+     */
+    private static int awaitReceiversStopped() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(STEP_TIMEOUT_MS);
+        int alive;
+        do {
+            alive = 0;
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                String name = thread.getName();
+                if (name.equals("uno-lobby-receiver") || name.equals("uno-game-receiver")) {
+                    alive++;
+                }
+            }
+            if (alive == 0) {
+                return 0;
+            }
+            Thread.sleep(50);
+        } while (System.nanoTime() < deadline);
+        return alive;
+    }
+
+    private static <T> T onFx(Callable<T> action) throws Exception {
+        return HeadlessFx.onFx(action, STEP_TIMEOUT_MS);
+    }
+
+    private static void awaitFx(Callable<Boolean> condition) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(STEP_TIMEOUT_MS);
+        while (!onFx(condition)) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Przekroczono czas oczekiwania na scenę");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Zajętość sterty po GC i liczba wątków.
+     */
+    private static final class Measurement {
+        final long heapUsed;
+        final int threads;
+
+        private Measurement(long heapUsed, int threads) {
+            this.heapUsed = heapUsed;
+            this.threads = threads;
+        }
+
+        static Measurement take() throws InterruptedException {
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+                Thread.sleep(100);
+            }
+            return new Measurement(memory.getHeapMemoryUsage().getUsed(),
+                    ManagementFactory.getThreadMXBean().getThreadCount());
+        }
+
+        @Override
+        public String toString() {
+            return "sterta " + heapUsed / (1024 * 1024) + " MB, wątki " + threads;
+        }
+    }
+}
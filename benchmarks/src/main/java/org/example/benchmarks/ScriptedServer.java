@@ -0,0 +1,94 @@
+package org.example.benchmarks;
+
+import org.example.LoopbackTransport;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Serwer skryptowy dla benchmarków, połączony z klientem przez {@link LoopbackTransport}.
+ * Komunikaty serwera podawane są przez {@link #push(String)}; na {@code PING} klienta
+ * odpowiada {@code PONG}, pozostałe komunikaty klienta przekazuje do opcjonalnego odbiorcy.
+ *
+ * <p>{@link #awaitIdle(long)} czeka, aż wątek odbierający klienta obsłuży wszystkie podane
+ * komunikaty, tzn. wróci po kolejny komunikat przy pustej kolejce.</p>
+ */
+class ScriptedServer {
+
+    private final LoopbackTransport transport = new LoopbackTransport(this::accept);
+    private volatile LoopbackTransport.Pipe link;
+    private volatile Consumer<String> onMessage;
+
+    /**
+     * @return transport, przez który klient łączy się z serwerem
+     */
+    LoopbackTransport transport() {
+        return transport;
+    }
+
+    /**
+     * Ustawia odbiorcę komunikatów klienta (poza {@code PING}).
+     *
+     * @param onMessage odbiorca lub null
+     */
+    void setOnMessage(Consumer<String> onMessage) {
+        this.onMessage = onMessage;
+    }
+
+    /**
+     * Wysyła klientowi komunikat serwera.
+     *
+     * @param message komunikat serwera
+     * @throws IOException jeśli klient nie jest połączony
+     */
+    void push(String message) throws IOException {
+        LoopbackTransport.Pipe current = link;
+        if (current == null) {
+            throw new IOException("Klient nie jest połączony");
+        }
+        current.write(message);
+    }
+
+    /**
+     * Czeka, aż klient obsłuży wszystkie wysłane komunikaty.
+     *
+     * @param timeoutMs limit czasu oczekiwania
+     * @throws IllegalStateException jeśli komunikaty nie zostały obsłużone w limicie czasu
+     */
+    void awaitIdle(long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        while (!link.peer().isReaderWaiting()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Wątek odbierający klienta nie obsłużył komunikatów");
+            }
+            LockSupport.parkNanos(20_000);
+        }
+    }
+
+    private void accept(LoopbackTransport.Pipe serverSide) {
+        link = serverSide;
+        Thread reader = new Thread(() -> serve(serverSide), "scripted-server");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    private void serve(LoopbackTransport.Pipe serverSide) {
+        try {
+            String message;
+            while ((message = serverSide.read()) != null) {
+                if (message.equals("PING")) {
+                    serverSide.write("PONG");
+                    continue;
+                }
+                Consumer<String> listener = onMessage;
+                if (listener != null) {
+                    listener.accept(message);
+                }
+            }
+        } catch (IOException e) {
+            // Klient zamknął połączenie
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package org.example.benchmarks;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.TextInputControl;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import org.example.ClientScheduler;
+import org.example.LobbyController;
+import org.example.LoginController;
+import org.example.Logger;
+import org.example.SceneController;
+import org.example.SceneNavigator;
+import org.example.UnoController;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test długotrwały (soak) klienta: powtarza tysiące pełnych sesji kiosku przez prawdziwe
+ * kontrolery i {@link SceneNavigator} na JavaFX bez ekranu ({@link HeadlessFx}), z lokalnym
+ * {@link StandInGameServer} na porcie efemerycznym (wskazanym przez {@code uno.server.port}).
+ *
+ * <p>Jedna sesja: menu → „Start” → logowanie (wpisanie nicku i hasła, „Zaloguj”) → lobby
+ * („Gotowy?”, serwer odpowiada {@code START_GAME}) → gra (dobieranie kart przyciskiem
+ * do zwycięstwa jednego z botów) → alert końca gry i automatyczny powrót do menu.</p>
+ *
+ * <p>Co {@code interwał} sesji zapisywana jest próbka: liczba wątków, otwarte deskryptory
+ * plików, sterta po GC i liczba węzłów JavaFX we wszystkich otwartych oknach. Po rozgrzewce
+ * dla każdej metryki liczony jest trend (regresja liniowa w drugiej połowie próbek, aby
+ * pominąć zapełnianie pamięci podręcznych). Metryka, której trend przekracza dopuszczalny
+ * przyrost na 1000 sesji, rośnie bez ograniczeń - test kończy się kodem wyjścia 1.
+ * Na końcu sprawdzane są też wątki odbierające lobby i gry oraz zadania {@link ClientScheduler}.</p>
+ *
+ * <p>Sesja trwa ok. 3 s (opóźnienie powrotu do menu po końcu gry), więc domyślne
+ * 2000 sesji to ok. 2 godziny. Argumenty: [sesje] [rozgrzewka] [interwał próbek]</p>
+ */
+public class SoakHarness {
+
+    private static final String NICKNAME = "gracz";
+    private static final String PASSWORD = "haslo123";
+    private static final long STEP_TIMEOUT_MS = 10_000;
+
+    /** Dopuszczalny trend na 1000 sesji: wątki, deskryptory, sterta (MB), węzły. */
+    private static final double[] LIMITS_PER_1000 = {2, 4, 16, 50};
+    private static final String[] METRICS = {"wątki", "deskryptory", "sterta MB", "węzły FX"};
+    private static final int MIN_TREND_SAMPLES = 4;
+
+    private static Stage stage;
+
+    public static void main(String[] args) {
+        HeadlessFx.run(args, SoakHarness::soak);
+    }
+
+    private static void soak(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int warmup = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int interval = args.length > 2 ? Integer.parseInt(args[2]) : 25;
+
+        PrintStream console = System.out;
+        Logger.getInstance().setDebugEnabled(false);
+        StandInGameServer server = new StandInGameServer(1, 16);
+        System.setProperty("uno.server.port", String.valueOf(server.getPort()));
+        stage = HeadlessFx.start();
+        onFx(() -> SceneNavigator.getInstance().navigate(stage, "/main_menu.fxml", "/style.css"));
+
+        // Konsola zostaje dla raportu - po udanym uruchomieniu logi aplikacji trafiają tylko do pliku.
+        // Błędy wypisuje HeadlessFx.run na strumień błędów sprzed wyciszenia.
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+        System.setOut(discard);
+        System.setErr(discard);
+
+        console.printf("Sesje: %d, rozgrzewka: %d, próbka co %d sesji, serwer: port %d%n",
+                sessions, warmup, interval, server.getPort());
+        List<Sample> samples = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int session = 1; session <= sessions; session++) {
+            try {
+                runSession();
+            } catch (Exception e) {
+                throw new IllegalStateException("Sesja " + session + " nie powiodła się", e);
+            }
+            if (session >= warmup && (session - warmup) % interval == 0) {
+                Sample sample = Sample.take(session);
+                samples.add(sample);
+                console.println(sample);
+            }
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        int receivers = awaitReceiversStopped();
+        int pendingTasks = ClientScheduler.getInstance().getPendingCount();
+        console.printf("%d sesji w %d s (%.0f ms/sesję)%n", sessions, elapsedMs / 1000, (double) elapsedMs / sessions);
+
+        boolean passed = true;
+        List<Sample> trend = samples.subList(samples.size() / 2, samples.size());
+        if (trend.size() < MIN_TREND_SAMPLES) {
+            console.println("Za mało próbek do oceny trendu (" + trend.size() + ") - zwiększ liczbę sesji");
+        } else {
+            for (int metric = 0; metric < METRICS.length; metric++) {
+                double slope = slopePer1000(trend, metric);
+                boolean bounded = slope <= LIMITS_PER_1000[metric];
+                passed &= bounded;
+                console.printf("%-12s %10.1f → %10.1f, trend %+8.2f / 1000 sesji (limit %.0f) %s%n",
+                        METRICS[metric], samples.get(0).values[metric], samples.get(samples.size() - 1).values[metric],
+                        slope, LIMITS_PER_1000[metric], bounded ? "OK" : "ROŚNIE");
+            }
+        }
+        console.println("Wątki odbierające: " + receivers + ", zadania harmonogramu: " + pendingTasks
+                + " " + ClientScheduler.getInstance().describePendingTasks());
+        passed &= receivers == 0 && pendingTasks == 0;
+        console.println(passed ? "OK - zasoby ograniczone" : "BŁĄD - wykryto wyciek");
+
+        server.close();
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Jedna sesja kiosku: menu → logowanie → lobby → gra → menu.
+     */
+    private static void runSession() throws Exception {
+        SceneNavigator navigator = SceneNavigator.getInstance();
+        awaitFx(() -> navigator.getCurrentController() instanceof SceneController);
+        onFx(() -> fire("Start"));
+
+        awaitFx(() -> navigator.getCurrentController() instanceof LoginController);
+        onFx(() -> {
+            Parent root = stage.getScene().getRoot();
+            ((TextInputControl) root.lookup("#loginTextField")).setText(NICKNAME);
+            ((TextInputControl) root.lookup("#passwordField")).setText(PASSWORD);
+            // Logowanie przebiega w tle - dalej czekamy na scenę lobby
+            return fire("Zaloguj i dołącz do gry");
+        });
+
+        awaitFx(() -> navigator.getCurrentController() instanceof LobbyController);
+        onFx(() -> fire("Gotowy?"));
+
+        awaitFx(() -> navigator.getCurrentController() instanceof UnoController);
+        // Dobieraj w swojej turze, aż bot wygra i gra sama wróci do menu
+        long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(1);
+        while (!onFx(() -> navigator.getCurrentController() instanceof SceneController)) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Gra nie zakończyła się powrotem do menu");
+            }
+            onFx(() -> {
+                Node draw = stage.getScene().getRoot().lookup("#przyciskDobierania");
+                if (draw instanceof Button && !draw.isDisabled()) {
+                    ((Button) draw).fire();
+                }
+                return null;
+            });
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Klika przycisk bieżącej sceny o podanym tekście (tylko wątek JavaFX).
+     */
+    private static Button fire(String text) {
+        Button button = findButton(stage.getScene().getRoot(), text);
+        if (button == null) {
+            throw new IllegalStateException("Brak przycisku \"" + text + "\"");
+        }
+        button.fire();
+        return button;
+    }
+
+    private static Button findButton(Node node, String text) {
+        if (node instanceof Button && text.equals(((Button) node).getText())) {
+            return (Button) node;
+        }
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                Button found = findButton(child, text);
+                if (found != null) {
+                    return found;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Nachylenie prostej dopasowanej metodą najmniejszych kwadratów, na 1000 sesji.
+     */
+    private static double slopePer1000(List<Sample> samples, int metric) {
+        double meanX = 0;
+        double meanY = 0;
+        for (Sample sample : samples) {
+            meanX += sample.session;
+            meanY += sample.values[metric];
+        }
+        meanX /= samples.size();
+        meanY /= samples.size();
+        double covariance = 0;
+        double variance = 0;
+        for (Sample sample : samples) {
+            double dx = sample.session - meanX;
+            covariance += dx * (sample.values[metric] - meanY);
+            variance += dx * dx;
+        }
+        return variance == 0 ? 0 : covariance / variance * 1000;
+    }
+
+    /**
+     * Czeka na zakończenie wątków odbierających lobby i gry (zamknięcie gniazda jest asynchroniczne).
+     *
+     * @return liczba wątków odbierających, które nadal działają
+     */
+    private static int awaitReceiversStopped() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(STEP_TIMEOUT_MS);
+        int alive;
+        do {
+            alive = 0;
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                String name = thread.getName();
+                if (name.equals("uno-lobby-receiver") || name.equals("uno-game-receiver")) {
+                    alive++;
+                }
+            }
+            if (alive == 0) {
+                return 0;
+            }
+            Thread.sleep(50);
+        } while (System.nanoTime() < deadline);
+        return alive;
+    }
+
+    private static <T> T onFx(Callable<T> action) throws Exception {
+        return HeadlessFx.onFx(action, STEP_TIMEOUT_MS);
+    }
+
+    private static void awaitFx(Callable<Boolean> condition) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(STEP_TIMEOUT_MS);
+        while (!onFx(condition)) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Przekroczono czas oczekiwania na scenę");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    /**
+     * Próbka zasobów po danej sesji.
+     */
+    private static final class Sample {
+        final int session;
+        final double[] values;
+
+        private Sample(int session, double[] values) {
+            this.session = session;
+            this.values = values;
+        }
+
+        static Sample take(int session) throws Exception {
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            for (int i = 0; i < 3; i++) {
+                System.gc();
+                Thread.sleep(100);
+            }
+            long heap = memory.getHeapMemoryUsage().getUsed();
+            int nodes = onFx(() -> {
+                int count = 0;
+                for (Window window : Window.getWindows()) {
+                    Scene scene = window.getScene();
+                    count += scene != null ? HeadlessFx.countNodes(scene.getRoot()) : 0;
+                }
+                return count;
+            });
+            return new Sample(session, new double[]{
+                    ManagementFactory.getThreadMXBean().getThreadCount(),
+                    openFileDescriptors(),
+                    heap / (1024.0 * 1024.0),
+                    nodes});
+        }
+
+        /**
+         * Liczba otwartych deskryptorów procesu lub -1, jeśli system jej nie udostępnia.
+         */
+        private static long openFileDescriptors() {
+            OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+            if (os instanceof com.sun.management.UnixOperatingSystemMXBean) {
+                return ((com.sun.management.UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount();
+            }
+            return -1;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Sesja %6d: wątki %3.0f, deskryptory %4.0f, sterta %6.1f MB, węzły FX %5.0f",
+                    session, values[0], values[1], values[2], values[3]);
+        }
+    }
+}
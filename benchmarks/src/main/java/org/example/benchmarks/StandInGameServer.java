@@ -0,0 +1,451 @@
+package org.example.benchmarks;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lokalny serwer zastępczy do testów obciążeniowych: prowadzi uproszczoną grę UNO
+ * jednego klienta z trzema botami serwera (anna, bartek, celina) w tekstowym protokole klienta.
+ * Nasłuchuje na porcie efemerycznym interfejsu pętli zwrotnej i obsługuje połączenia
+ * w kilku pętlach {@link Selector} (bez wątku na klienta), więc wytrzymuje tysiące połączeń.
+ *
+ * <p>Obsługiwane komendy:</p>
+ * <ul>
+ *     <li>{@code FEATURES ...} → {@code FEATURES_OK} bez funkcji (zostaje tryb tekstowy)</li>
+ *     <li>{@code LOGIN nick:hash} → {@code LOGIN_SUCCESS}, {@code USERLIST} z gotowymi botami</li>
+ *     <li>{@code READY nick} → {@code READY nick}, {@code START_GAME}</li>
+ *     <li>{@code INIT_GAME} → rozdanie i {@code INIT_GAME} ze stanem gry (gracz zaczyna)</li>
+ *     <li>{@code PLAY karta} → {@code PLAY_RESULT}, {@code TURN} pierwszego bota, ruchy botów
+ *         ({@code PLAYED}), {@code TOP_CARD}, {@code PLAYERS}, {@code TURN nick};
+ *         nieprawidłowy ruch → {@code ERROR}</li>
+ *     <li>{@code DRAW} → {@code DREW karta}, a następnie ruchy botów jak po zagraniu</li>
+ *     <li>{@code PING} → {@code PONG}, {@code EXIT} zamyka połączenie</li>
+ * </ul>
+ *
+ * <p>Talia zawiera tylko karty z cyframi w czterech kolorach. Gra kończy się komunikatem
+ * {@code WINNER}, gdy ktoś pozbędzie się kart albo po {@value #MAX_ROUNDS} kolejkach
+ * (wygrywa wtedy gracz z najmniejszą liczbą kart).</p>
+ */
+final class StandInGameServer implements Closeable {
+
+    static final String[] COLORS = {"RED", "GREEN", "BLUE", "YELLOW"};
+    private static final String[] BOTS = {"anna", "bartek", "celina"};
+    private static final int HAND_SIZE = 7;
+    private static final int MAX_ROUNDS = 200;
+
+    /** Prawdopodobieństwo, że bot zagra kartę zamiast dobrać. */
+    private static final double BOT_PLAY_CHANCE = 0.7;
+
+    private final ServerSocketChannel serverChannel;
+    private final Loop[] loops;
+    private final AtomicLong handled = new AtomicLong();
+    private final AtomicInteger sessions = new AtomicInteger();
+    private final AtomicLong gamesStarted = new AtomicLong();
+
+    /**
+     * Uruchamia serwer na porcie efemerycznym.
+     *
+     * @param loopCount liczba pętli selektora obsługujących połączenia
+     * @param backlog długość kolejki oczekujących połączeń
+     */
+    StandInGameServer(int loopCount, int backlog) throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), backlog);
+        loops = new Loop[loopCount];
+        for (int i = 0; i < loopCount; i++) {
+            loops[i] = new Loop();
+            Thread thread = new Thread(loops[i], "stand-in-loop-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        Thread acceptor = new Thread(this::accept, "stand-in-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /** @return liczba obsłużonych komend od uruchomienia */
+    long getHandledCount() {
+        return handled.get();
+    }
+
+    /** @return liczba rozdań ({@code INIT_GAME}) od uruchomienia */
+    long getGamesStarted() {
+        return gamesStarted.get();
+    }
+
+    /** @return liczba otwartych połączeń */
+    int getSessionCount() {
+        return sessions.get();
+    }
+
+    private void accept() {
+        int next = 0;
+        while (serverChannel.isOpen()) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                loops[next++ % loops.length].register(channel);
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverChannel.close();
+        for (Loop loop : loops) {
+            loop.close();
+        }
+    }
+
+    /**
+     * Pętla selektora obsługująca część połączeń.
+     */
+    private final class Loop implements Runnable {
+        private final Selector selector;
+        private final Queue<SocketChannel> pending = new ConcurrentLinkedQueue<>();
+        private volatile boolean running = true;
+
+        Loop() throws IOException {
+            selector = Selector.open();
+        }
+
+        void register(SocketChannel channel) {
+            pending.add(channel);
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    SocketChannel channel;
+                    while ((channel = pending.poll()) != null) {
+                        Session session = new Session(channel);
+                        try {
+                            session.key = channel.register(selector, SelectionKey.OP_READ, session);
+                            sessions.incrementAndGet();
+                        } catch (ClosedChannelException e) {
+                            // Klient rozłączył się przed rejestracją
+                        }
+                    }
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        Session session = (Session) key.attachment();
+                        try {
+                            if (key.isValid() && key.isReadable()) {
+                                session.read();
+                            }
+                            if (key.isValid() && key.isWritable()) {
+                                session.flush();
+                            }
+                        } catch (IOException e) {
+                            session.close();
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // Selektor zamknięty
+            } finally {
+                for (SelectionKey key : selector.keys()) {
+                    ((Session) key.attachment()).close();
+                }
+                try {
+                    selector.close();
+                } catch (IOException e) {
+                    // Zamykanie
+                }
+            }
+        }
+
+        void close() {
+            running = false;
+            selector.wakeup();
+        }
+    }
+
+    /**
+     * Połączenie jednego klienta wraz ze stanem jego gry.
+     */
+    private final class Session {
+        private final SocketChannel channel;
+        private final ByteBuffer input = ByteBuffer.allocate(4096);
+        private final Queue<ByteBuffer> output = new ArrayDeque<>();
+        private final Random random;
+        private SelectionKey key;
+        private byte[] line = new byte[256];
+        private int lineLength;
+        private boolean closed;
+
+        private String nickname = "gracz";
+        private final List<String> hand = new ArrayList<>();
+        private final int[] botCards = new int[BOTS.length];
+        private String topCard;
+        private boolean playing;
+        private int rounds;
+
+        Session(SocketChannel channel) {
+            this.channel = channel;
+            this.random = new Random(channel.hashCode());
+        }
+
+        void read() throws IOException {
+            int count = channel.read(input);
+            if (count < 0) {
+                close();
+                return;
+            }
+            input.flip();
+            while (input.hasRemaining()) {
+                byte b = input.get();
+                if (b == '\n') {
+                    int length = lineLength > 0 && line[lineLength - 1] == '\r' ? lineLength - 1 : lineLength;
+                    lineLength = 0;
+                    handle(new String(line, 0, length, StandardCharsets.UTF_8));
+                    if (closed) {
+                        return;
+                    }
+                } else {
+                    if (lineLength == line.length) {
+                        line = Arrays.copyOf(line, line.length * 2);
+                    }
+                    line[lineLength++] = b;
+                }
+            }
+            input.clear();
+            flush();
+        }
+
+        void flush() throws IOException {
+            while (!output.isEmpty()) {
+                ByteBuffer buffer = output.peek();
+                channel.write(buffer);
+                if (buffer.hasRemaining()) {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+                output.poll();
+            }
+            if (key.isValid()) {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            sessions.decrementAndGet();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Zamykanie
+            }
+        }
+
+        private void send(String message) {
+            output.add(ByteBuffer.wrap((message + "\n").getBytes(StandardCharsets.UTF_8)));
+        }
+
+        private void handle(String message) {
+            handled.incrementAndGet();
+            int space = message.indexOf(' ');
+            String command = space < 0 ? message : message.substring(0, space);
+            String data = space < 0 ? "" : message.substring(space + 1).trim();
+            switch (command) {
+                case "FEATURES":
+                    send("FEATURES_OK");
+                    break;
+                case "LOGIN":
+                    int colon = data.indexOf(':');
+                    nickname = colon > 0 ? data.substring(0, colon) : nickname;
+                    send("LOGIN_SUCCESS");
+                    send("USERLIST " + nickname + ":NOT_READY," + String.join(":READY,", BOTS) + ":READY");
+                    break;
+                case "READY":
+                    nickname = data.isEmpty() ? nickname : data;
+                    send("READY " + nickname);
+                    send("START_GAME");
+                    break;
+                case "UNREADY":
+                    send("UNREADY " + nickname);
+                    break;
+                case "INIT_GAME":
+                    deal();
+                    gamesStarted.incrementAndGet();
+                    send("INIT_GAME " + topCard + " " + nickname + " " + opponents() + " " + handList());
+                    break;
+                case "PLAY":
+                    play(data);
+                    break;
+                case "DRAW":
+                    draw();
+                    break;
+                case "PING":
+                    send("PONG");
+                    break;
+                case "EXIT":
+                    close();
+                    break;
+                default:
+                    send("ERROR Nieznana komenda: " + command);
+            }
+        }
+
+        private void deal() {
+            hand.clear();
+            for (int i = 0; i < HAND_SIZE; i++) {
+                hand.add(randomCard());
+            }
+            Arrays.fill(botCards, HAND_SIZE);
+            topCard = randomCard();
+            playing = true;
+            rounds = 0;
+        }
+
+        private void play(String card) {
+            if (!playing || !hand.contains(card) || !matches(card, topCard)) {
+                send("ERROR Nieprawidłowy ruch: " + card);
+                return;
+            }
+            hand.remove(card);
+            topCard = card;
+            boolean won = hand.isEmpty();
+            send("PLAY_RESULT " + nickname + " " + card + " " + topCard + " "
+                    + (won ? nickname : BOTS[0]) + " " + opponents() + " " + handList());
+            if (won) {
+                finish(nickname);
+                return;
+            }
+            botsMove();
+        }
+
+        private void draw() {
+            if (!playing) {
+                send("ERROR Gra nie trwa");
+                return;
+            }
+            String card = randomCard();
+            hand.add(card);
+            send("DREW " + card);
+            botsMove();
+        }
+
+        /**
+         * Ruchy botów po ruchu gracza; na końcu kolejka wraca do gracza.
+         */
+        private void botsMove() {
+            send("TURN " + BOTS[0]);
+            for (int i = 0; i < BOTS.length; i++) {
+                if (random.nextDouble() < BOT_PLAY_CHANCE) {
+                    topCard = random.nextBoolean()
+                            ? color(topCard) + ":" + random.nextInt(10)
+                            : COLORS[random.nextInt(COLORS.length)] + ":" + value(topCard);
+                    botCards[i]--;
+                    send("PLAYED " + BOTS[i] + " " + topCard);
+                    if (botCards[i] == 0) {
+                        send("TOP_CARD " + topCard);
+                        send("PLAYERS " + opponents());
+                        finish(BOTS[i]);
+                        return;
+                    }
+                } else {
+                    botCards[i]++;
+                }
+            }
+            send("TOP_CARD " + topCard);
+            send("PLAYERS " + opponents());
+            if (++rounds >= MAX_ROUNDS) {
+                finish(leader());
+                return;
+            }
+            send("TURN " + nickname);
+        }
+
+        private void finish(String winner) {
+            playing = false;
+            send("WINNER " + winner);
+        }
+
+        private String leader() {
+            String leader = nickname;
+            int fewest = hand.size();
+            for (int i = 0; i < BOTS.length; i++) {
+                if (botCards[i] < fewest) {
+                    fewest = botCards[i];
+                    leader = BOTS[i];
+                }
+            }
+            return leader;
+        }
+
+        private String opponents() {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < BOTS.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(BOTS[i]).append(':').append(botCards[i]);
+            }
+            return sb.toString();
+        }
+
+        /**
+         * Ręka w formacie listy kart; pusta ręka to sam przecinek, aby pole nie zniknęło.
+         */
+        private String handList() {
+            return hand.isEmpty() ? "," : String.join(",", hand);
+        }
+
+        private String randomCard() {
+            return COLORS[random.nextInt(COLORS.length)] + ":" + random.nextInt(10);
+        }
+    }
+
+    /**
+     * Sprawdza, czy kartę można położyć na wierzchniej karcie (ten sam kolor lub wartość).
+     */
+    static boolean matches(String card, String top) {
+        return color(card).equals(color(top)) || value(card).equals(value(top));
+    }
+
+    private static String color(String card) {
+        int colon = card.indexOf(':');
+        return colon < 0 ? card : card.substring(0, colon);
+    }
+
+    private static String value(String card) {
+        int colon = card.indexOf(':');
+        return colon < 0 ? "" : card.substring(colon + 1);
+    }
+}
@@ -0,0 +1,176 @@
+package org.example.benchmarks;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.control.Label;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import org.example.CanvasTableRenderer;
+import org.example.Card;
+import org.example.CardCodec;
+import org.example.LatencyHistogram;
+import org.example.NodeTableRenderer;
+import org.example.TableRenderer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Porównuje czas klatki stołu gry rysowanego węzłami sceny ({@link NodeTableRenderer})
+ * i na płótnie ({@link CanvasTableRenderer}) przy 4 graczach z 30+ kartami każdy.
+ *
+ * <p>Układ odwzorowuje {@code uno_game.fxml} (cztery kontenery rąk i kontener stołu).
+ * W każdej klatce zmienia się jedna karta w ręce, liczba kart jednego przeciwnika,
+ * wierzchnia karta i tura - jak przy typowym ruchu w grze. Mierzone są:</p>
+ * <ul>
+ *     <li>czas w wątku JavaFX od aktualizacji do końca układu i rysowania płótna
+ *     (CSS, układ i przerysowanie w jednym pulsie),</li>
+ *     <li>odstęp między kolejnymi klatkami, obejmujący też renderowanie - miarodajny
+ *     przy uruchomieniu z {@code -Djavafx.animation.fullspeed=true -Dprism.vsync=false}.</li>
+ * </ul>
+ *
+ * <p>Działa bez ekranu ({@link HeadlessFx}); aby mierzyć na prawdziwym ekranie, uruchom
+ * z {@code -Dglass.platform=gtk}. Argumenty: [liczba klatek] [liczba kart na gracza]</p>
+ */
+public class TableRendererBenchmark {
+
+    private static final int WARMUP = 300;
+
+    private static Stage stage;
+
+    public static void main(String[] args) {
+        HeadlessFx.run(args, TableRendererBenchmark::benchmark);
+    }
+
+    private static void benchmark(String[] args) throws Exception {
+        int frames = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        int cardsPerPlayer = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+
+        stage = HeadlessFx.start();
+
+        for (boolean canvas : new boolean[]{false, true}) {
+            Result result = run(canvas, frames, cardsPerPlayer);
+            System.out.println((canvas ? "płótno" : "węzły") + " - wątek JavaFX: " + result.fxThread.snapshot());
+            System.out.println((canvas ? "płótno" : "węzły") + " - odstęp klatek: " + result.interval.snapshot());
+        }
+    }
+
+    private static Result run(boolean canvasMode, int frames, int cardsPerPlayer) throws Exception {
+        CompletableFuture<Result> done = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            Table table = new Table(canvasMode);
+            Scene scene = new Scene(table.root, 1920, 1080);
+            stage.setScene(scene);
+            stage.show();
+
+            Result result = new Result();
+            Random random = new Random(42);
+            List<String> hand = new ArrayList<>();
+            for (int i = 0; i < cardsPerPlayer; i++) {
+                hand.add(randomCard(random));
+            }
+            int[] counts = {cardsPerPlayer, cardsPerPlayer, cardsPerPlayer};
+            table.renderer.setHandState(TableRenderer.HandState.PLAYABLE);
+
+            long[] frameStart = {0};
+            scene.addPostLayoutPulseListener(() -> {
+                if (frameStart[0] != 0) {
+                    result.fxThread.record(System.nanoTime() - frameStart[0]);
+                    frameStart[0] = 0;
+                }
+            });
+
+            new AnimationTimer() {
+                private int frame;
+                private long previous;
+
+                @Override
+                public void handle(long now) {
+                    long start = System.nanoTime();
+                    if (previous != 0) {
+                        result.interval.record(start - previous);
+                    }
+                    previous = start;
+
+                    if (frame == WARMUP) {
+                        result.fxThread.reset();
+                        result.interval.reset();
+                    }
+                    if (frame++ == WARMUP + frames) {
+                        stop();
+                        table.renderer.dispose();
+                        done.complete(result);
+                        return;
+                    }
+
+                    // Ruch w grze: zamiana karty w ręce, zmiana liczby kart przeciwnika, stół i tura
+                    hand.set(random.nextInt(hand.size()), randomCard(random));
+                    int seat = frame % counts.length;
+                    counts[seat] = cardsPerPlayer + random.nextInt(4);
+                    frameStart[0] = start;
+                    table.renderer.showHand(hand);
+                    table.renderer.showOpponents(counts);
+                    table.renderer.showTopCard(Card.fromString(randomCard(random)));
+                    table.renderer.showTurn(frame % TableRenderer.SEATS);
+                }
+            }.start();
+        });
+        return done.get(10 + (WARMUP + frames) / 10, TimeUnit.SECONDS);
+    }
+
+    private static String randomCard(Random random) {
+        return CardCodec.faceOf(random.nextInt(CardCodec.faceCount()));
+    }
+
+    /**
+     * Układ odwzorowujący kontenery {@code uno_game.fxml}.
+     */
+    private static final class Table {
+        final StackPane root = new StackPane();
+        final TableRenderer renderer;
+
+        Table(boolean canvasMode) {
+            HBox hand = new HBox(10);
+            hand.setPadding(new Insets(0, 20, 20, 20));
+            HBox top = new HBox(5);
+            HBox left = new HBox(5);
+            HBox right = new HBox(5);
+            StackPane center = new StackPane();
+
+            BorderPane layout = new BorderPane();
+            layout.setTop(new VBox(10, new Label("Tura"), new Label("Przeciwnik"), top));
+            layout.setLeft(new VBox(10, new Label("Lewy"), left));
+            layout.setRight(new VBox(10, new Label("Prawy"), right));
+            layout.setCenter(center);
+            layout.setBottom(new VBox(10, new Label("Twoje karty"), hand));
+            root.getChildren().add(layout);
+
+            HBox[] opponents = {top, left, right};
+            if (canvasMode) {
+                CanvasTableRenderer canvasRenderer = new CanvasTableRenderer(hand, opponents, center, card -> { });
+                Canvas canvas = canvasRenderer.getCanvas();
+                canvas.setManaged(false);
+                canvas.widthProperty().bind(root.widthProperty());
+                canvas.heightProperty().bind(root.heightProperty());
+                root.getChildren().add(0, canvas);
+                renderer = canvasRenderer;
+            } else {
+                renderer = new NodeTableRenderer(hand, opponents, center, card -> { });
+            }
+        }
+    }
+
+    private static final class Result {
+        final LatencyHistogram fxThread = new LatencyHistogram();
+        final LatencyHistogram interval = new LatencyHistogram();
+    }
+}
@@ -1,6 +1,8 @@
 module org.example {
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.management;
+    requires jdk.jfr;
 
     opens org.example to javafx.fxml;
     exports org.example;
@@ -0,0 +1,230 @@
+package org.example;
+
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.scene.image.Image;
+
+import java.net.URL;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wspólna pamięć podręczna obrazów klienta.
+ * Każdy obraz jest dekodowany raz i współdzielony przez wszystkie widoki
+ * (np. tekstury kart zamiast osobnego dekodowania dla każdej karty).
+ *
+ * <p>Obrazy wyświetlane w małym rozmiarze (tekstury kart) dekodowane są od razu
+ * w zmniejszonej rozdzielczości, co ogranicza zajętość pamięci. W profilu
+ * {@link RenderProfile#LOW_SPEC} zmniejszane są także tła.</p>
+ *
+ * <p>{@link #preload(List, ProgressListener, Runnable)} wczytuje obrazy w tle
+ * (konstruktor {@link Image} z {@code backgroundLoading}) po kolei, w podanej kolejności
+ * priorytetów, raportując postęp, czas dekodowania i zajętość pamięci każdego obrazu.</p>
+ *
+ * Implementuje wzorzec Singleton.
+ */
+public class AssetCache {
+
+    private static volatile AssetCache instance;
+    private static final Logger logger = Logger.getInstance();
+
+    /** Tekstura przodu karty. */
+    public static final String CARD_FRONT = "/assets/textures/card_front.png";
+
+    /** Tekstura rewersu karty. */
+    public static final String CARD_BACK = "/assets/textures/card_back.png";
+
+    /** Tło stołu gry. */
+    public static final String TABLE_BACKGROUND = "/assets/textures/wood.png";
+
+    /** Grafika stosu kart do dobierania. */
+    public static final String DRAW_PILE = "/assets/textures/deck_of_cards.png";
+
+    /** Obrazy wczytywane przy starcie aplikacji, w kolejności priorytetów. */
+    public static final List<String> STARTUP_ASSETS = List.of(CARD_BACK, CARD_FRONT, TABLE_BACKGROUND, DRAW_PILE);
+
+    /** Rozmiar dekodowania obrazów wyświetlanych w małym rozmiarze: {szerokość, wysokość}. */
+    private static final Map<String, double[]> REQUESTED_SIZES = Map.of(
+            // Karta ma 80x120 px - podwójna rozdzielczość wystarcza także przy skalowaniu ekranu
+            CARD_FRONT, new double[]{160, 240},
+            CARD_BACK, new double[]{160, 240});
+
+    /** Rozmiary dekodowania w profilu {@link RenderProfile#LOW_SPEC}: tła w połowie rozdzielczości. */
+    private static final Map<String, double[]> REDUCED_SIZES = Map.of(
+            CARD_FRONT, new double[]{80, 120},
+            CARD_BACK, new double[]{80, 120},
+            TABLE_BACKGROUND, new double[]{768, 512},
+            DRAW_PILE, new double[]{272, 194});
+
+    /**
+     * Słuchacz postępu wczytywania obrazów. Wywoływany w wątku JavaFX.
+     */
+    public interface ProgressListener {
+        /**
+         * @param loaded liczba wczytanych obrazów
+         * @param total liczba wszystkich obrazów
+         * @param path ścieżka ostatnio wczytanego obrazu
+         */
+        void onProgress(int loaded, int total, String path);
+    }
+
+    private final ClientMetrics metrics = ClientMetrics.getInstance();
+    private final LatencyHistogram decodeTimes = metrics.histogram("assets.decode");
+    private final Map<String, Image> images = new ConcurrentHashMap<>();
+
+    /**
+     * Prywatny konstruktor - wzorzec Singleton
+     */
+    private AssetCache() {
+        metrics.registerGauge("assets.cached", images::size);
+        metrics.registerGauge("assets.decoded_bytes", this::getDecodedBytes);
+    }
+
+    /**
+     * Zwraca instancję AssetCache (Singleton)
+     */
+    public static AssetCache getInstance() {
+        if (instance == null) {
+            synchronized (AssetCache.class) {
+                if (instance == null) {
+                    instance = new AssetCache();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Zwraca obraz z pamięci podręcznej. Obraz, który nie został wcześniej wczytany,
+     * jest dekodowany synchronicznie w bieżącym wątku.
+     * Obraz wczytywany w tle może nie być jeszcze gotowy - {@link javafx.scene.image.ImageView}
+     * wyświetli go po zakończeniu wczytywania.
+     *
+     * @param path ścieżka zasobu (np. {@link #CARD_FRONT})
+     * @return obraz (przy błędzie wczytywania {@link Image#isError()} zwraca true)
+     * @throws IllegalArgumentException jeśli zasób nie istnieje
+     */
+    public Image get(String path) {
+        Image image = images.get(path);
+        if (image != null) {
+            return image;
+        }
+        return images.computeIfAbsent(path, p -> {
+            long start = System.nanoTime();
+            Image loaded = create(p, false);
+            record(p, loaded, System.nanoTime() - start);
+            return loaded;
+        });
+    }
+
+    /**
+     * Wczytuje obrazy w tle, po jednym, w podanej kolejności. Obrazy już wczytane są pomijane.
+     * Metodę należy wywołać w wątku JavaFX; słuchacz i {@code onComplete} również
+     * wywoływane są w wątku JavaFX.
+     *
+     * @param paths ścieżki obrazów w kolejności priorytetów
+     * @param listener słuchacz postępu (może być null)
+     * @param onComplete akcja po wczytaniu wszystkich obrazów (także po błędach)
+     */
+    public void preload(List<String> paths, ProgressListener listener, Runnable onComplete) {
+        if (!Platform.isFxApplicationThread()) {
+            throw new IllegalStateException("Wczytywanie zasobów należy rozpocząć w wątku JavaFX");
+        }
+        logger.info("Wczytywanie zasobów w tle: " + paths.size());
+        loadNext(paths.iterator(), 0, paths.size(), listener, onComplete, System.nanoTime());
+    }
+
+    /**
+     * Zwraca szacowaną pamięć zajmowaną przez zdekodowane obrazy (4 bajty na piksel).
+     *
+     * @return liczba bajtów
+     */
+    public long getDecodedBytes() {
+        long total = 0;
+        for (Image image : images.values()) {
+            total += decodedBytes(image);
+        }
+        return total;
+    }
+
+    private void loadNext(Iterator<String> remaining, int loaded, int total, ProgressListener listener,
+                          Runnable onComplete, long batchStart) {
+        if (!remaining.hasNext()) {
+            logger.info("Zasoby wczytane w " + (System.nanoTime() - batchStart) / 1_000_000 + " ms, pamięć obrazów: "
+                    + getDecodedBytes() / 1024 + " KB");
+            onComplete.run();
+            return;
+        }
+
+        String path = remaining.next();
+        Runnable next = () -> {
+            if (listener != null) {
+                listener.onProgress(loaded + 1, total, path);
+            }
+            loadNext(remaining, loaded + 1, total, listener, onComplete, batchStart);
+        };
+
+        if (images.containsKey(path)) {
+            next.run();
+            return;
+        }
+
+        long start = System.nanoTime();
+        Image image;
+        try {
+            image = create(path, true);
+        } catch (IllegalArgumentException e) {
+            logger.error("Nie znaleziono zasobu: " + path);
+            next.run();
+            return;
+        }
+        images.put(path, image);
+
+        // Postęp, rozmiar i błąd obrazu wczytywanego w tle zmieniają się w wątku JavaFX.
+        // Postęp może osiągnąć 1.0 przed ustawieniem obrazu - czekamy też na jego rozmiar.
+        boolean[] finished = {false};
+        InvalidationListener check = obs -> {
+            boolean done = image.isError() || (image.getProgress() >= 1.0 && image.getWidth() > 0);
+            if (done && !finished[0]) {
+                finished[0] = true;
+                record(path, image, System.nanoTime() - start);
+                next.run();
+            }
+        };
+        image.progressProperty().addListener(check);
+        image.widthProperty().addListener(check);
+        image.errorProperty().addListener(check);
+        check.invalidated(null);
+    }
+
+    private Image create(String path, boolean backgroundLoading) {
+        URL url = getClass().getResource(path);
+        if (url == null) {
+            throw new IllegalArgumentException("Brak zasobu: " + path);
+        }
+        Map<String, double[]> sizes = RenderProfile.active().isReducedImages() ? REDUCED_SIZES : REQUESTED_SIZES;
+        double[] size = sizes.getOrDefault(path, new double[]{0, 0});
+        return new Image(url.toExternalForm(), size[0], size[1], false, true, backgroundLoading);
+    }
+
+    private void record(String path, Image image, long elapsedNanos) {
+        if (image.isError()) {
+            if (image.getException() != null) {
+                logger.error(image.getException(), "Błąd wczytywania obrazu " + path);
+            } else {
+                logger.error("Błąd wczytywania obrazu " + path);
+            }
+            return;
+        }
+        decodeTimes.record(elapsedNanos);
+        metrics.increment("assets.loaded");
+        logger.info(String.format("Wczytano %s: %.0fx%.0f, %d KB, %.1f ms", path, image.getWidth(), image.getHeight(),
+                decodedBytes(image) / 1024, elapsedNanos / 1_000_000.0));
+    }
+
+    private static long decodedBytes(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+}
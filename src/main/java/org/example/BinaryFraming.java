@@ -0,0 +1,168 @@
+package org.example;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Binarny podział komunikatów z prefiksem długości, używany po wynegocjowaniu
+ * funkcji {@value #FEATURE}. Format ramki:
+ *
+ * <pre>
+ * [długość: int32 big-endian] [komenda: 1 bajt] [argumenty: UTF-8]
+ * </pre>
+ *
+ * Długość obejmuje bajt komendy i argumenty. Znane komendy kodowane są jednym bajtem,
+ * a komunikaty spoza tabeli przesyłane są w całości z kodem {@link #RAW}.
+ * Argumenty mogą zawierać dowolne znaki, w tym nowe linie i średniki.
+ * Ramki dekodowane są z jednego, ponownie używanego {@link ByteBuffer}.
+ */
+public class BinaryFraming implements MessageFraming {
+
+    /** Nazwa funkcji protokołu zgłaszanej w negocjacji FEATURES. */
+    public static final String FEATURE = "FRAMED";
+
+    /** Maksymalny rozmiar ramki - chroni przed błędnym nagłówkiem. */
+    public static final int MAX_FRAME_SIZE = 1 << 20;
+
+    /** Kod komendy dla komunikatów spoza tabeli (argumenty = cały komunikat). */
+    public static final int RAW = 0;
+
+    /** Tabela komend; indeks w tablicy jest kodem komendy. */
+    private static final String[] COMMANDS = {
+            null, "INIT_GAME", "PLAY_RESULT", "HAND", "TOP_CARD", "PLAYERS", "TURN", "PLAYED",
+            "DREW", "WINNER", "CHOOSE_COLOR", "WILD_COLOR", "ERROR", "GAME_ENDED", "DELTA_ON",
+            "DELTA", "SNAPSHOT", "STATE", "PING", "PONG", "PLAY", "DRAW", "USERLIST", "READY",
+            "UNREADY", "USER_JOINED", "USER_LEFT", "JOIN_SUCCESS", "START_GAME", "LOGIN",
+            "LOGIN_SUCCESS", "LOGIN_ERROR", "EXIT", "TOP5", "SYNC_STATE", "RESUME", "RESUME_OK",
+            "SESSION_TOKEN", "FEATURES", "FEATURES_OK"
+    };
+
+    private static final Map<String, Integer> COMMAND_CODES = new HashMap<>();
+
+    static {
+        for (int i = 1; i < COMMANDS.length; i++) {
+            COMMAND_CODES.put(COMMANDS[i], i);
+        }
+    }
+
+    private final InputStream in;
+    private final OutputStream out;
+
+    /** Ponownie używany bufor odczytu; powiększany tylko dla większych ramek. */
+    private ByteBuffer readBuffer = ByteBuffer.allocate(1024);
+
+    /** Ponownie używany bufor zapisu. */
+    private ByteBuffer writeBuffer = ByteBuffer.allocate(1024);
+
+    /** Długość bieżącej ramki (-1 dopóki nagłówek nie został odczytany). */
+    private int frameLength = -1;
+
+    /**
+     * Tworzy binarny podział komunikatów na podanych strumieniach.
+     *
+     * @param in strumień wejściowy (powinien być buforowany)
+     * @param out strumień wyjściowy (powinien być buforowany)
+     */
+    public BinaryFraming(InputStream in, OutputStream out) {
+        this.in = in;
+        this.out = out;
+        readBuffer.limit(4);
+    }
+
+    @Override
+    public String read() throws IOException {
+        if (frameLength < 0) {
+            if (!fill()) {
+                return null;
+            }
+            frameLength = readBuffer.getInt(0);
+            if (frameLength < 1 || frameLength > MAX_FRAME_SIZE) {
+                throw new IOException("Nieprawidłowa długość ramki: " + frameLength);
+            }
+            if (readBuffer.capacity() < frameLength) {
+                readBuffer = ByteBuffer.allocate(Math.max(frameLength, readBuffer.capacity() * 2));
+            }
+            readBuffer.clear().limit(frameLength);
+        }
+
+        if (!fill()) {
+            throw new EOFException("Strumień zamknięty w trakcie ramki");
+        }
+
+        byte[] array = readBuffer.array();
+        int code = array[0] & 0xFF;
+        String args = new String(array, 1, frameLength - 1, StandardCharsets.UTF_8);
+        frameLength = -1;
+        readBuffer.clear().limit(4);
+
+        if (code == RAW) {
+            return args;
+        }
+        if (code >= COMMANDS.length) {
+            throw new IOException("Nieznany kod komendy: " + code);
+        }
+        return args.isEmpty() ? COMMANDS[code] : COMMANDS[code] + " " + args;
+    }
+
+    /**
+     * Dopełnia bufor odczytu do jego limitu. Postęp jest zachowywany w pozycji bufora,
+     * więc po timeoucie gniazda kolejne wywołanie kontynuuje odczyt.
+     *
+     * @return false jeśli strumień zamknięto przed odczytaniem jakiegokolwiek bajtu nagłówka
+     */
+    private boolean fill() throws IOException {
+        while (readBuffer.hasRemaining()) {
+            int n = in.read(readBuffer.array(), readBuffer.position(), readBuffer.remaining());
+            if (n < 0) {
+                if (frameLength < 0 && readBuffer.position() == 0) {
+                    return false;
+                }
+                throw new EOFException("Strumień zamknięty w trakcie ramki");
+            }
+            readBuffer.position(readBuffer.position() + n);
+        }
+        return true;
+    }
+
+    @Override
+    public void write(String message) throws IOException {
+        int code = RAW;
+        String args = message;
+        int space = message.indexOf(' ');
+        String command = space < 0 ? message : message.substring(0, space);
+        Integer known = COMMAND_CODES.get(command);
+        if (known != null) {
+            code = known;
+            args = space < 0 ? "" : message.substring(space + 1);
+        }
+
+        byte[] payload = args.getBytes(StandardCharsets.UTF_8);
+        int length = payload.length + 1;
+        if (length > MAX_FRAME_SIZE) {
+            throw new IOException("Komunikat przekracza maksymalny rozmiar ramki: " + length);
+        }
+        if (writeBuffer.capacity() < length + 4) {
+            writeBuffer = ByteBuffer.allocate(Math.max(length + 4, writeBuffer.capacity() * 2));
+        }
+        writeBuffer.clear();
+        writeBuffer.putInt(length).put((byte) code).put(payload);
+        out.write(writeBuffer.array(), 0, writeBuffer.position());
+        out.flush();
+    }
+
+    @Override
+    public String getName() {
+        return "BINARY";
+    }
+
+    @Override
+    public boolean preservesBoundaries() {
+        return true;
+    }
+}
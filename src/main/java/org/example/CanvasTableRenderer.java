@@ -0,0 +1,429 @@
+package org.example;
+
+import javafx.application.Platform;
+import javafx.geometry.Bounds;
+import javafx.geometry.Insets;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Cursor;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Wyświetlanie stołu na jednym {@link Canvas}: ręka gracza, rewersy przeciwników,
+ * wierzchnia karta i wskaźnik tury rysowane są z obrazów {@link CardAtlas}.
+ *
+ * <p>Karty rysowane są w miejscach kontenerów z {@code uno_game.fxml}, które zostają
+ * w układzie (zachowując położenie etykiet), ale są ukryte. Zmiana stanu oznacza jako
+ * nieaktualny tylko obszar danego miejsca; po układzie sceny w najbliższym pulsie
+ * przerysowywane są wyłącznie nieaktualne obszary (całość - po zmianie rozmiaru lub układu).
+ * Karty nie mieszczące się w swoim miejscu są nakładane na siebie.</p>
+ *
+ * <p>Kliknięcia w rękę rozpoznawane są przez własny test trafienia (ostatnia narysowana
+ * karta jest na wierzchu). Czas przerysowania trafia do histogramu {@code table.canvas.redraw}.</p>
+ */
+public class CanvasTableRenderer implements TableRenderer {
+    private static final Logger logger = Logger.getInstance();
+
+    /** Obszar wierzchniej karty (po obszarach miejsc 0..3). */
+    private static final int TABLE = SEATS;
+    private static final int AREAS = SEATS + 1;
+
+    private static final double CARD_WIDTH = CardAtlas.CARD_WIDTH;
+    private static final double CARD_HEIGHT = CardAtlas.CARD_HEIGHT;
+
+    /** Odstęp między kartami bez nakładania - jak w kontenerach FXML. */
+    private static final double[] SPACING = {10, 5, 5, 5, 0};
+
+    /** Maksymalna szerokość wachlarza bocznych przeciwników względem szerokości stołu. */
+    private static final double SIDE_FAN_RATIO = 0.2;
+
+    /** Minimalne przesunięcie kolejnej karty przy nakładaniu. */
+    private static final double MIN_STEP = 4;
+
+    /** Margines obszaru wokół kart, w którym rysowany jest wskaźnik tury. */
+    private static final double MARGIN = 8;
+
+    private final Canvas canvas = new Canvas();
+    private final GraphicsContext gc = canvas.getGraphicsContext2D();
+    private final Region[] slots;
+    private final Consumer<Card> onPlay;
+    private final CardAtlas atlas = CardAtlas.getInstance();
+    private final ClientMetrics metrics = ClientMetrics.getInstance();
+    private final LatencyHistogram redrawTimes = metrics.histogram("table.canvas.redraw");
+
+    // Stan stołu
+    private final List<Card> hand = new ArrayList<>();
+    private final int[] counts = new int[SEATS];
+    private Card topCard;
+    private int turnSeat = -1;
+    private HandState handState = HandState.INACTIVE;
+
+    // Geometria obszarów we współrzędnych płótna
+    private final Rectangle2D[] slotBounds = new Rectangle2D[AREAS];
+    private final Rectangle2D[] painted = new Rectangle2D[AREAS];
+    private final double[] areaX = new double[AREAS];
+    private final double[] areaY = new double[AREAS];
+    private final double[] areaStep = new double[AREAS];
+    private double canvasWidth;
+    private double canvasHeight;
+
+    // Obszary do przerysowania
+    private final boolean[] dirty = new boolean[AREAS];
+    private boolean fullRedraw = true;
+    private boolean pulseRequested;
+
+    private Scene scene;
+    private final Runnable pulseListener = this::redraw;
+    private boolean disposed;
+
+    /**
+     * Tworzy płótno i ukrywa kontenery kart. Płótno należy umieścić pod warstwą etykiet
+     * i przycisków, tak by kliknięcia w wolne miejsca do niego docierały.
+     *
+     * @param handSlot kontener ręki gracza
+     * @param opponentSlots kontenery przeciwników dla miejsc 1..3
+     * @param tableSlot kontener wierzchniej karty
+     * @param onPlay akcja po kliknięciu karty, którą można zagrać
+     */
+    public CanvasTableRenderer(Region handSlot, Region[] opponentSlots, Region tableSlot, Consumer<Card> onPlay) {
+        this.onPlay = onPlay;
+        slots = new Region[AREAS];
+        slots[0] = handSlot;
+        System.arraycopy(opponentSlots, 0, slots, 1, SEATS - 1);
+        slots[TABLE] = tableSlot;
+
+        for (Region slot : slots) {
+            // Miejsce zachowuje wysokość karty, by etykiety nie przesunęły się względem trybu węzłów
+            Insets insets = slot.getPadding();
+            slot.setMinHeight(CARD_HEIGHT + insets.getTop() + insets.getBottom());
+            slot.setVisible(false);
+        }
+
+        canvas.setOnMouseClicked(this::handleClick);
+        canvas.setOnMouseMoved(this::handleMove);
+        canvas.sceneProperty().addListener((obs, oldScene, newScene) -> attachScene(newScene));
+        attachScene(canvas.getScene());
+    }
+
+    /**
+     * Zwraca płótno stołu. Wywołujący umieszcza je w scenie i ustala jego rozmiar.
+     *
+     * @return płótno
+     */
+    public Canvas getCanvas() {
+        return canvas;
+    }
+
+    @Override
+    public int showHand(List<String> cards) {
+        hand.clear();
+        for (String cardStr : cards) {
+            try {
+                hand.add(Card.fromString(cardStr));
+            } catch (Exception e) {
+                logger.error("Błąd parsowania karty: " + cardStr);
+                logger.error(e, "Szczegóły błędu");
+            }
+        }
+        markDirty(0);
+        return hand.size();
+    }
+
+    @Override
+    public void setHandState(HandState state) {
+        if (handState != state) {
+            handState = state;
+            markDirty(0);
+        }
+    }
+
+    @Override
+    public void showTopCard(Card card) {
+        String previous = topCard != null ? topCard.toString() : null;
+        String current = card != null ? card.toString() : null;
+        topCard = card;
+        if (current == null ? previous != null : !current.equals(previous)) {
+            markDirty(TABLE);
+        }
+    }
+
+    @Override
+    public void showOpponents(int[] opponentCounts) {
+        for (int seat = 1; seat < SEATS; seat++) {
+            int count = seat - 1 < opponentCounts.length ? opponentCounts[seat - 1] : 0;
+            if (counts[seat] != count) {
+                counts[seat] = count;
+                markDirty(seat);
+            }
+        }
+    }
+
+    @Override
+    public void showTurn(int seat) {
+        if (turnSeat != seat) {
+            if (turnSeat >= 0) {
+                markDirty(turnSeat);
+            }
+            turnSeat = seat;
+            if (seat >= 0) {
+                markDirty(seat);
+            }
+        }
+    }
+
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        attachScene(null);
+        canvas.setOnMouseClicked(null);
+        canvas.setOnMouseMoved(null);
+        hand.clear();
+        topCard = null;
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+    }
+
+    /**
+     * Przenosi słuchacza pulsu do nowej sceny (wspólna scena nawigatora przeżywa widok gry).
+     */
+    private void attachScene(Scene newScene) {
+        if (scene != null) {
+            scene.removePostLayoutPulseListener(pulseListener);
+        }
+        scene = disposed ? null : newScene;
+        if (scene != null) {
+            scene.addPostLayoutPulseListener(pulseListener);
+            fullRedraw = true;
+            requestPulse();
+        }
+    }
+
+    private void markDirty(int area) {
+        dirty[area] = true;
+        requestPulse();
+    }
+
+    private void requestPulse() {
+        if (!pulseRequested) {
+            pulseRequested = true;
+            Platform.requestNextPulse();
+        }
+    }
+
+    /**
+     * Przerysowuje nieaktualne obszary. Wywoływane po układzie sceny w każdym pulsie.
+     */
+    private void redraw() {
+        pulseRequested = false;
+        if (updateGeometry()) {
+            fullRedraw = true;
+        }
+        if (!fullRedraw && !anyDirty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        if (fullRedraw) {
+            gc.clearRect(0, 0, canvasWidth, canvasHeight);
+            for (int area = 0; area < AREAS; area++) {
+                layoutArea(area);
+                paintArea(area);
+                painted[area] = areaBounds(area);
+            }
+            fullRedraw = false;
+            Arrays.fill(dirty, false);
+        } else {
+            List<Rectangle2D> regions = new ArrayList<>();
+            for (int area = 0; area < AREAS; area++) {
+                if (dirty[area]) {
+                    dirty[area] = false;
+                    layoutArea(area);
+                    Rectangle2D current = areaBounds(area);
+                    regions.add(union(painted[area], current));
+                    painted[area] = current;
+                }
+            }
+            for (Rectangle2D region : regions) {
+                repaintRegion(region);
+            }
+        }
+        redrawTimes.record(System.nanoTime() - start);
+        metrics.increment("table.canvas.redraws");
+    }
+
+    /**
+     * Czyści prostokąt i rysuje w nim ponownie wszystkie obszary, które go przecinają.
+     */
+    private void repaintRegion(Rectangle2D region) {
+        gc.save();
+        gc.beginPath();
+        gc.rect(region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight());
+        gc.clip();
+        gc.clearRect(region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight());
+        for (int area = 0; area < AREAS; area++) {
+            if (painted[area] != null && painted[area].intersects(region)) {
+                paintArea(area);
+            }
+        }
+        gc.restore();
+    }
+
+    /**
+     * Odczytuje położenie ukrytych kontenerów we współrzędnych płótna.
+     *
+     * @return true, jeśli rozmiar płótna lub położenie któregokolwiek miejsca się zmieniło
+     */
+    private boolean updateGeometry() {
+        boolean changed = canvasWidth != canvas.getWidth() || canvasHeight != canvas.getHeight();
+        canvasWidth = canvas.getWidth();
+        canvasHeight = canvas.getHeight();
+        for (int area = 0; area < AREAS; area++) {
+            Region slot = slots[area];
+            if (slot.getScene() == null) {
+                continue;
+            }
+            Bounds bounds = canvas.sceneToLocal(slot.localToScene(slot.getLayoutBounds()));
+            Insets insets = slot.getPadding();
+            Rectangle2D content = new Rectangle2D(bounds.getMinX() + insets.getLeft(), bounds.getMinY() + insets.getTop(),
+                    Math.max(0, bounds.getWidth() - insets.getLeft() - insets.getRight()),
+                    Math.max(0, bounds.getHeight() - insets.getTop() - insets.getBottom()));
+            if (!content.equals(slotBounds[area])) {
+                slotBounds[area] = content;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Wyznacza położenie kart obszaru: wachlarz wyśrodkowany w miejscu, z nakładaniem,
+     * gdy karty nie mieszczą się w dostępnej szerokości.
+     */
+    private void layoutArea(int area) {
+        Rectangle2D slot = slotBounds[area] != null ? slotBounds[area] : Rectangle2D.EMPTY;
+        int n = cardCount(area);
+        double available = area == 2 || area == 3
+                ? Math.max(slot.getWidth(), canvasWidth * SIDE_FAN_RATIO)
+                : slot.getWidth();
+        double step = CARD_WIDTH + SPACING[area];
+        if (n > 1 && CARD_WIDTH + (n - 1) * step > available) {
+            step = Math.max(MIN_STEP, (available - CARD_WIDTH) / (n - 1));
+        }
+        double width = fanWidth(n, step);
+        double x = slot.getMinX() + (slot.getWidth() - width) / 2;
+        // Wachlarz nie może wyjść poza płótno
+        x = Math.max(0, Math.min(x, canvasWidth - width));
+        areaX[area] = x;
+        areaY[area] = slot.getMinY() + Math.max(0, (slot.getHeight() - CARD_HEIGHT) / 2);
+        areaStep[area] = step;
+    }
+
+    private Rectangle2D areaBounds(int area) {
+        double width = fanWidth(cardCount(area), areaStep[area]);
+        return new Rectangle2D(areaX[area] - MARGIN, areaY[area] - MARGIN, width + 2 * MARGIN, CARD_HEIGHT + 2 * MARGIN);
+    }
+
+    private void paintArea(int area) {
+        int n = cardCount(area);
+        if (area == 0) {
+            gc.setGlobalAlpha(handState == HandState.PLAYABLE ? 1.0 : handState == HandState.LOCKED ? 0.5 : 0.7);
+        }
+        for (int i = 0; i < n; i++) {
+            gc.drawImage(imageAt(area, i), areaX[area] + i * areaStep[area], areaY[area], CARD_WIDTH, CARD_HEIGHT);
+        }
+        gc.setGlobalAlpha(1.0);
+
+        if (area == turnSeat && n > 0) {
+            gc.setStroke(Color.GOLD);
+            gc.setLineWidth(3);
+            gc.strokeRoundRect(areaX[area] - 5, areaY[area] - 5, fanWidth(n, areaStep[area]) + 10, CARD_HEIGHT + 10, 16, 16);
+        }
+    }
+
+    private Image imageAt(int area, int index) {
+        if (area == 0) {
+            Card card = hand.get(index);
+            return atlas.face(card.getColor(), card.getValue());
+        }
+        if (area == TABLE) {
+            return atlas.face(topCard.getColor(), topCard.getValue());
+        }
+        return atlas.back();
+    }
+
+    private int cardCount(int area) {
+        if (area == 0) {
+            return hand.size();
+        }
+        if (area == TABLE) {
+            return topCard != null ? 1 : 0;
+        }
+        return counts[area];
+    }
+
+    /**
+     * Zwraca indeks karty w ręce pod punktem lub -1. Karty rysowane później leżą wyżej.
+     */
+    private int hitTest(double x, double y) {
+        if (y < areaY[0] || y >= areaY[0] + CARD_HEIGHT) {
+            return -1;
+        }
+        for (int i = hand.size() - 1; i >= 0; i--) {
+            double cardX = areaX[0] + i * areaStep[0];
+            if (x >= cardX && x < cardX + CARD_WIDTH) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void handleClick(MouseEvent event) {
+        if (handState != HandState.PLAYABLE) {
+            return;
+        }
+        int index = hitTest(event.getX(), event.getY());
+        if (index >= 0) {
+            onPlay.accept(hand.get(index));
+        }
+    }
+
+    private void handleMove(MouseEvent event) {
+        boolean overCard = handState == HandState.PLAYABLE && hitTest(event.getX(), event.getY()) >= 0;
+        canvas.setCursor(overCard ? Cursor.HAND : Cursor.DEFAULT);
+    }
+
+    private boolean anyDirty() {
+        for (boolean d : dirty) {
+            if (d) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double fanWidth(int n, double step) {
+        return n == 0 ? 0 : CARD_WIDTH + (n - 1) * step;
+    }
+
+    private static Rectangle2D union(Rectangle2D a, Rectangle2D b) {
+        if (a == null) {
+            return b;
+        }
+        double minX = Math.min(a.getMinX(), b.getMinX());
+        double minY = Math.min(a.getMinY(), b.getMinY());
+        return new Rectangle2D(minX, minY, Math.max(a.getMaxX(), b.getMaxX()) - minX,
+                Math.max(a.getMaxY(), b.getMaxY()) - minY);
+    }
+}
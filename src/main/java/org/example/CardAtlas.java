@@ -0,0 +1,273 @@
+package org.example;
+
+import javafx.application.Platform;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Transform;
+import javafx.stage.Screen;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Atlas gotowych obrazów kart.
+ * Każda z {@link CardCodec#faceCount()} twarzy kart oraz rewers są raz renderowane
+ * (tekstura, nakładka koloru, ramka i etykieta z cieniem) do {@link WritableImage}.
+ * Widok karty to wtedy pojedynczy {@link ImageView} zamiast czterech warstw węzłów z efektem.
+ *
+ * <p>Obrazy renderowane są przy pierwszym użyciu lub wszystkie naraz przez {@link #prepareAll()},
+ * w skali ekranu, by karty pozostały ostre na ekranach HiDPI (poza profilem {@link RenderProfile#LOW_SPEC}).
+ * Dopóki tekstura jest jeszcze wczytywana w tle, obraz nie trafia do atlasu i jest renderowany ponownie.
+ * Wszystkie metody należy wywoływać w wątku JavaFX.</p>
+ *
+ * Implementuje wzorzec Singleton.
+ */
+public class CardAtlas {
+
+    private static volatile CardAtlas instance;
+    private static final Logger logger = Logger.getInstance();
+
+    /** Szerokość karty na stole. */
+    public static final double CARD_WIDTH = 80;
+
+    /** Wysokość karty na stole. */
+    public static final double CARD_HEIGHT = 120;
+
+    /** Klucz rewersu w atlasie (nie koliduje z formatem "kolor:wartość"). */
+    private static final String BACK = "BACK";
+
+    private final ClientMetrics metrics = ClientMetrics.getInstance();
+    private final LatencyHistogram rasterizeTimes = metrics.histogram("cards.rasterize");
+    private final Map<String, Image> faces = new HashMap<>();
+    private final double scale;
+
+    /**
+     * Prywatny konstruktor - wzorzec Singleton
+     */
+    private CardAtlas() {
+        // Profil dla słabszych komputerów renderuje karty w rozdzielczości 1:1
+        scale = RenderProfile.active().isReducedImages()
+                ? 1.0
+                : Math.max(1.0, Math.ceil(Screen.getPrimary().getOutputScaleX()));
+        metrics.registerGauge("cards.atlas", faces::size);
+    }
+
+    /**
+     * Zwraca instancję CardAtlas (Singleton)
+     */
+    public static CardAtlas getInstance() {
+        if (instance == null) {
+            synchronized (CardAtlas.class) {
+                if (instance == null) {
+                    instance = new CardAtlas();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Renderuje wszystkie twarze kart i rewers, których nie ma jeszcze w atlasie.
+     */
+    public void prepareAll() {
+        long start = System.nanoTime();
+        back();
+        for (int code = 0; code < CardCodec.faceCount(); code++) {
+            String[] parts = CardCodec.faceOf(code).split(":");
+            face(parts[0], parts[1]);
+        }
+        logger.info(String.format("Atlas kart gotowy: %d obrazów w %.1f ms", faces.size(),
+                (System.nanoTime() - start) / 1_000_000.0));
+    }
+
+    /**
+     * Zwraca obraz przodu karty, renderując go przy pierwszym użyciu.
+     *
+     * @param color kolor karty
+     * @param value wartość karty
+     * @return obraz karty o rozmiarze {@link #CARD_WIDTH} x {@link #CARD_HEIGHT} w skali ekranu
+     */
+    public Image face(String color, String value) {
+        return lookup(color + ":" + value, AssetCache.CARD_FRONT, texture -> composeFace(texture, color, value));
+    }
+
+    /**
+     * Zwraca obraz rewersu karty, renderując go przy pierwszym użyciu.
+     *
+     * @return obraz rewersu
+     */
+    public Image back() {
+        return lookup(BACK, AssetCache.CARD_BACK, CardAtlas::composeBack);
+    }
+
+    /**
+     * Tworzy widok karty: pojedynczy {@link ImageView} wyświetlający obraz z atlasu.
+     *
+     * @param image obraz z atlasu
+     * @return nowy widok karty
+     */
+    public static ImageView createView(Image image) {
+        ImageView view = new ImageView(image);
+        view.setFitWidth(CARD_WIDTH);
+        view.setFitHeight(CARD_HEIGHT);
+        view.setSmooth(true);
+        return view;
+    }
+
+    /**
+     * Zwraca obraz z atlasu lub renderuje go z podanej tekstury. Obraz złożony z tekstury,
+     * która nie została jeszcze wczytana, nie jest zapamiętywany - inaczej karta pozostałaby pusta.
+     */
+    private Image lookup(String key, String texturePath, Function<Image, Node> composer) {
+        Image cached = faces.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Image texture = AssetCache.getInstance().get(texturePath);
+        Image image = rasterize(key, composer.apply(texture));
+        if (texture.isError() || texture.getProgress() >= 1.0) {
+            faces.put(key, image);
+        } else {
+            metrics.increment("cards.atlas.deferred");
+        }
+        return image;
+    }
+
+    private Image rasterize(String key, Node composition) {
+        if (!Platform.isFxApplicationThread()) {
+            throw new IllegalStateException("Renderowanie kart wymaga wątku JavaFX");
+        }
+        long start = System.nanoTime();
+        SnapshotParameters params = new SnapshotParameters();
+        params.setFill(Color.TRANSPARENT);
+        params.setTransform(Transform.scale(scale, scale));
+        // Cień etykiety nie może powiększyć obrazu poza obrys karty
+        params.setViewport(new Rectangle2D(0, 0, CARD_WIDTH * scale, CARD_HEIGHT * scale));
+        WritableImage image = composition.snapshot(params, null);
+        long elapsed = System.nanoTime() - start;
+        rasterizeTimes.record(elapsed);
+        logger.debug(String.format("Wyrenderowano kartę %s w %.2f ms", key, elapsed / 1_000_000.0));
+        return image;
+    }
+
+    /**
+     * Składa przód karty z tekstury {@link AssetCache}, a jeśli nie udało się jej wczytać, ze stylu CSS.
+     */
+    private static Node composeFace(Image texture, String color, String value) {
+        StackPane card = newCardPane();
+        if (!texture.isError()) {
+            Rectangle colorOverlay = roundedRect();
+            colorOverlay.setFill(colorFill(color));
+            colorOverlay.setOpacity(0.6);
+            card.getChildren().addAll(textureView(texture), colorOverlay, frame());
+        } else {
+            logger.warning("Texture not found, using CSS pattern");
+            card.getChildren().add(cssBackground(colorHex(color), "rgba(255,255,255,0.15)"));
+        }
+
+        Label valueLabel = new Label(value);
+        valueLabel.setStyle("-fx-text-fill: white; -fx-font-size: 24px; -fx-font-weight: bold; " +
+                "-fx-effect: dropshadow(gaussian, black, 2, 1.0, 0, 0);");
+        card.getChildren().add(valueLabel);
+        return card;
+    }
+
+    /**
+     * Składa rewers karty z tekstury {@link AssetCache}, a jeśli nie udało się jej wczytać, z domyślnego wzoru.
+     */
+    private static Node composeBack(Image texture) {
+        StackPane card = newCardPane();
+        if (!texture.isError()) {
+            card.getChildren().addAll(textureView(texture), frame());
+        } else {
+            logger.warning("Back texture not found, using default pattern");
+            card.getChildren().add(cssBackground("linear-gradient(from 0% 0% to 100% 100%, #1a1a1a, #333333)",
+                    "rgba(255,255,255,0.1)"));
+        }
+        return card;
+    }
+
+    private static StackPane newCardPane() {
+        StackPane card = new StackPane();
+        card.setMinSize(CARD_WIDTH, CARD_HEIGHT);
+        card.setMaxSize(CARD_WIDTH, CARD_HEIGHT);
+        return card;
+    }
+
+    private static ImageView textureView(Image texture) {
+        ImageView imageView = new ImageView(texture);
+        imageView.setFitWidth(CARD_WIDTH);
+        imageView.setFitHeight(CARD_HEIGHT);
+        imageView.setPreserveRatio(false);
+        imageView.setClip(roundedRect());
+        return imageView;
+    }
+
+    private static Rectangle frame() {
+        Rectangle frame = roundedRect();
+        frame.setFill(Color.TRANSPARENT);
+        frame.setStroke(Color.BLACK);
+        frame.setStrokeWidth(2);
+        return frame;
+    }
+
+    private static Rectangle roundedRect() {
+        Rectangle rect = new Rectangle(CARD_WIDTH, CARD_HEIGHT);
+        rect.setArcWidth(10);
+        rect.setArcHeight(10);
+        return rect;
+    }
+
+    private static Region cssBackground(String color, String stripes) {
+        Region background = new Region();
+        background.setMinSize(CARD_WIDTH, CARD_HEIGHT);
+        background.setMaxSize(CARD_WIDTH, CARD_HEIGHT);
+        background.setStyle(
+                "-fx-background-color: " + color + ";" +
+                        "-fx-background-radius: 10;" +
+                        "-fx-border-color: black;" +
+                        "-fx-border-width: 2;" +
+                        "-fx-border-radius: 10;" +
+                        "-fx-background-image: repeating-linear-gradient(" +
+                        "45deg, transparent, transparent 10px, " +
+                        stripes + " 10px, " + stripes + " 20px);"
+        );
+        return background;
+    }
+
+    /**
+     * Zwraca obiekt Color odpowiadający kolorowi karty.
+     */
+    private static Color colorFill(String color) {
+        switch (color) {
+            case "RED": return Color.RED;
+            case "BLUE": return Color.BLUE;
+            case "GREEN": return Color.GREEN;
+            case "YELLOW": return Color.YELLOW;
+            default: return Color.BLACK;
+        }
+    }
+
+    /**
+     * Zwraca reprezentację koloru karty w formacie heksadecymalnym.
+     */
+    private static String colorHex(String color) {
+        switch (color) {
+            case "RED": return "#E53935";
+            case "BLUE": return "#1E88E5";
+            case "GREEN": return "#43A047";
+            case "YELLOW": return "#FDD835";
+            default: return "#000000";
+        }
+    }
+}
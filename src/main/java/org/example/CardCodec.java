@@ -0,0 +1,220 @@
+package org.example;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Zwięzłe kodowanie kart UNO używane po wynegocjowaniu funkcji {@value #FEATURE}.
+ * Każda z 54 różnych twarzy kart (108 kart talii) ma jednobajtowy kod.
+ * W trybie tekstowym kod zapisywany jest jako jeden znak alfabetu base64 (URL-safe),
+ * a lista kart jako ciąg takich znaków poprzedzony znakiem {@value #PREFIX}, np. {@code #AbQ}.
+ * Ciągi bez prefiksu dekodowane są w dotychczasowym formacie "kolor:wartość,...".
+ */
+public final class CardCodec {
+
+    /** Nazwa funkcji protokołu zgłaszanej w negocjacji FEATURES. */
+    public static final String FEATURE = "CARD64";
+
+    /** Prefiks pola zakodowanego zwięźle. */
+    public static final char PREFIX = '#';
+
+    private static final String ALPHABET =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+
+    private static final String[] COLORS = {"RED", "GREEN", "BLUE", "YELLOW"};
+    private static final String[] VALUES = {"0", "1", "2", "3", "4", "5", "6", "7", "8", "9",
+            "+2", "⏸", "↺"};
+    private static final String[] WILDS = {"WILD:W", "WILD:+4"};
+
+    /** Tekstowe reprezentacje twarzy kart indeksowane kodem. */
+    private static final String[] FACES;
+
+    /** Odwrotne odwzorowanie: reprezentacja tekstowa -> kod. */
+    private static final Map<String, Integer> CODES = new HashMap<>();
+
+    /** Odwzorowanie znaku alfabetu na kod (-1 dla znaków spoza alfabetu). */
+    private static final int[] CHAR_TO_CODE = new int[128];
+
+    static {
+        List<String> faces = new ArrayList<>();
+        for (String color : COLORS) {
+            for (String value : VALUES) {
+                faces.add(color + ":" + value);
+            }
+        }
+        Collections.addAll(faces, WILDS);
+        FACES = faces.toArray(new String[0]);
+        for (int i = 0; i < FACES.length; i++) {
+            CODES.put(FACES[i], i);
+        }
+        Arrays.fill(CHAR_TO_CODE, -1);
+        for (int i = 0; i < FACES.length; i++) {
+            CHAR_TO_CODE[ALPHABET.charAt(i)] = i;
+        }
+    }
+
+    private CardCodec() {
+    }
+
+    /**
+     * Zwraca liczbę różnych twarzy kart obsługiwanych przez kodek.
+     *
+     * @return liczba twarzy kart
+     */
+    public static int faceCount() {
+        return FACES.length;
+    }
+
+    /**
+     * Zwraca kod karty.
+     *
+     * @param cardStr karta w formacie "kolor:wartość"
+     * @return kod karty lub -1, jeśli karta nie ma kodu
+     */
+    public static int codeOf(String cardStr) {
+        Integer code = CODES.get(cardStr);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * Zwraca tekstową reprezentację karty o podanym kodzie.
+     *
+     * @param code kod karty
+     * @return karta w formacie "kolor:wartość"
+     * @throws IllegalArgumentException jeśli kod jest spoza zakresu
+     */
+    public static String faceOf(int code) {
+        if (code < 0 || code >= FACES.length) {
+            throw new IllegalArgumentException("Nieprawidłowy kod karty: " + code);
+        }
+        return FACES[code];
+    }
+
+    /**
+     * Koduje listę kart do postaci tekstowej "#...".
+     *
+     * @param cards karty w formacie "kolor:wartość"
+     * @return zakodowany ciąg lub null, jeśli któraś karta nie ma kodu
+     */
+    public static String encodeList(List<String> cards) {
+        StringBuilder sb = new StringBuilder(cards.size() + 1).append(PREFIX);
+        for (String card : cards) {
+            int code = codeOf(card);
+            if (code < 0) {
+                return null;
+            }
+            sb.append(ALPHABET.charAt(code));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Koduje pojedynczą kartę do postaci tekstowej "#X".
+     *
+     * @param cardStr karta w formacie "kolor:wartość"
+     * @return zakodowana karta lub oryginalny ciąg, jeśli karta nie ma kodu
+     */
+    public static String encodeCard(String cardStr) {
+        int code = codeOf(cardStr);
+        return code < 0 ? cardStr : PREFIX + String.valueOf(ALPHABET.charAt(code));
+    }
+
+    /**
+     * Dekoduje listę kart w formacie zwięzłym ("#...") lub tekstowym ("kolor:wartość,...").
+     *
+     * @param field pole komunikatu z listą kart
+     * @return lista kart w formacie "kolor:wartość"
+     * @throws IllegalArgumentException jeśli pole zawiera nieznany kod
+     */
+    public static List<String> decodeList(String field) {
+        field = field.trim();
+        if (!field.isEmpty() && field.charAt(0) == PREFIX) {
+            List<String> cards = new ArrayList<>(field.length() - 1);
+            for (int i = 1; i < field.length(); i++) {
+                cards.add(FACES[codeOfChar(field.charAt(i))]);
+            }
+            return cards;
+        }
+
+        List<String> cards = new ArrayList<>();
+        for (String card : field.split(",")) {
+            card = card.trim();
+            if (!card.isEmpty()) {
+                cards.add(card);
+            }
+        }
+        return cards;
+    }
+
+    /**
+     * Dekoduje pojedynczą kartę w formacie zwięzłym ("#X") lub tekstowym.
+     *
+     * @param field pole komunikatu z kartą
+     * @return karta w formacie "kolor:wartość"
+     */
+    public static String decodeCard(String field) {
+        field = field.trim();
+        if (field.length() == 2 && field.charAt(0) == PREFIX) {
+            return FACES[codeOfChar(field.charAt(1))];
+        }
+        return field;
+    }
+
+    /**
+     * Koduje listę kart do postaci binarnej (jeden bajt na kartę).
+     *
+     * @param cards karty w formacie "kolor:wartość"
+     * @return tablica kodów lub null, jeśli któraś karta nie ma kodu
+     */
+    public static byte[] encodeBytes(List<String> cards) {
+        byte[] out = new byte[cards.size()];
+        for (int i = 0; i < out.length; i++) {
+            int code = codeOf(cards.get(i));
+            if (code < 0) {
+                return null;
+            }
+            out[i] = (byte) code;
+        }
+        return out;
+    }
+
+    /**
+     * Dekoduje binarną listę kart.
+     *
+     * @param data bufor z kodami kart
+     * @param offset początek listy w buforze
+     * @param length liczba kart
+     * @return lista kart w formacie "kolor:wartość"
+     */
+    public static List<String> decodeBytes(byte[] data, int offset, int length) {
+        List<String> cards = new ArrayList<>(length);
+        for (int i = offset; i < offset + length; i++) {
+            cards.add(faceOf(data[i] & 0xFF));
+        }
+        return cards;
+    }
+
+    /**
+     * Zwraca rozmiar listy kart w bajtach UTF-8 w formacie tekstowym "kolor:wartość,...".
+     * Pomocne przy porównywaniu oszczędności kodowania.
+     *
+     * @param cards karty w formacie "kolor:wartość"
+     * @return liczba bajtów UTF-8
+     */
+    public static int textSize(List<String> cards) {
+        return String.join(",", cards).getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static int codeOfChar(char c) {
+        int code = c < CHAR_TO_CODE.length ? CHAR_TO_CODE[c] : -1;
+        if (code < 0) {
+            throw new IllegalArgumentException("Nieprawidłowy znak kodu karty: " + c);
+        }
+        return code;
+    }
+}
@@ -2,6 +2,16 @@ package org.example;
 
 import java.io.*;
 import java.net.*;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Klasa zarządzająca połączeniem klienta z serwerem TCP.
@@ -9,20 +19,143 @@ import java.net.*;
  * Zapewnia metody do nawiązywania połączenia, wysyłania i odbierania wiadomości,
  * zarządzania timeoutami oraz zarządzania stanem połączenia.
  *
+ * <p>Po włączeniu trybu automatycznego wznawiania ({@link #setAutoReconnect(boolean)})
+ * zerwane połączenie jest odtwarzane z wykładniczym opóźnieniem i losowym rozrzutem,
+ * a sesja wznawiana tokenem wydanym przez serwer ({@code SESSION_TOKEN}) zamiast
+ * ponownego wysyłania hasha hasła.</p>
+ *
+ * <p>Opcjonalny heartbeat ({@link #startHeartbeat()}) wysyła w tle komendy {@code PING}
+ * w stałych odstępach, mierzy RTT na podstawie odpowiedzi {@code PONG} i uznaje
+ * połączenie za martwe, jeśli serwer milczy dłużej niż ustalony limit.</p>
+ *
+ * <p>Łącze z serwerem otwiera {@link Transport}: domyślnie {@link SocketTransport}
+ * do {@code host:port}, a po użyciu {@link #ClientConnection(Transport)} dowolny inny,
+ * np. {@link LoopbackTransport} w pamięci procesu.</p>
+ *
  */
 public class ClientConnection implements AutoCloseable {
-    private Socket socket;
-    private BufferedReader reader;
-    private PrintWriter writer;
-    private boolean connected = false;
-    private String host = "localhost";
-    private int port = 2137;
+    private volatile Transport.Link link;
+    private volatile MessageFraming framing;
+    /** Transport ustawiony jawnie (null - gniazdo TCP do host:port). */
+    private volatile Transport transport;
+    private final Object writeLock = new Object();
+    private volatile boolean connected = false;
+    private String host = System.getProperty("uno.server.host", "localhost");
+    private int port = Integer.getInteger("uno.server.port", 2137);
     private boolean debug = true; // Włącz/Wyłącz logowanie debug
     private static final Logger logger = Logger.getInstance();
 
+    /** Prefiks komunikatu, którym serwer przekazuje token wznowienia sesji. */
+    public static final String SESSION_TOKEN_PREFIX = "SESSION_TOKEN ";
+
+    /** Token wznowienia sesji wydany przez serwer (null jeśli brak). */
+    private volatile String resumeToken;
+
+    /** Czy po zerwaniu połączenia należy automatycznie próbować je wznowić. */
+    private volatile boolean autoReconnect = false;
+
+    /** Maksymalna liczba prób wznowienia połączenia. */
+    private int maxReconnectAttempts = 8;
+
+    /** Bazowe opóźnienie pierwszej próby wznowienia (w milisekundach). */
+    private long reconnectBaseDelayMs = 100;
+
+    /** Górna granica opóźnienia pomiędzy próbami wznowienia (w milisekundach). */
+    private long reconnectMaxDelayMs = 5000;
+
+    /** Timeout oczekiwania na odpowiedź serwera na RESUME (w milisekundach). */
+    private int resumeTimeoutMs = 2000;
+
+    /** Timeout oczekiwania na odpowiedź serwera na FEATURES (w milisekundach). */
+    private int negotiationTimeoutMs = 1500;
+
+    /** Funkcje protokołu wynegocjowane z serwerem ({@link #negotiateFeatures(String...)}). */
+    private volatile Set<String> features = Collections.emptySet();
+
+    /** Kompresja dużych komunikatów, aktywna po wynegocjowaniu {@link PayloadCompressor#FEATURE}. */
+    private volatile PayloadCompressor compressor;
+
+    /** Słuchacze powiadamiani o przebiegu wznawiania połączenia. */
+    private final List<ReconnectListener> reconnectListeners = new CopyOnWriteArrayList<>();
+
+    /** Czy trwa wznawianie połączenia (heartbeat jest wtedy wstrzymany). */
+    private volatile boolean reconnecting = false;
+
+    /** Odstęp pomiędzy kolejnymi PING-ami heartbeatu (w milisekundach). */
+    private long heartbeatIntervalMs = 2000;
+
+    /** Czas ciszy ze strony serwera, po którym połączenie uznawane jest za martwe (w milisekundach). */
+    private long heartbeatTimeoutMs = 6000;
+
+    /** Maksymalna liczba PING-ów oczekujących na odpowiedź. */
+    private static final int MAX_PENDING_PINGS = 16;
+
+    /** Zadanie cyklicznego heartbeatu (null jeśli heartbeat nie działa). */
+    private volatile ScheduledFuture<?> heartbeatTask;
+
+    /** Czasy wysłania PING-ów oczekujących na PONG (System.nanoTime). */
+    private final Deque<Long> pendingPings = new ConcurrentLinkedDeque<>();
+
+    /** Czas odebrania ostatniej wiadomości od serwera (System.nanoTime). */
+    private volatile long lastInboundNanos = System.nanoTime();
+
+    /** Histogram czasów odpowiedzi serwera mierzonych przez heartbeat. */
+    private final LatencyHistogram rttHistogram = new LatencyHistogram(256);
+
+    /** Słuchacze powiadamiani o pomiarach heartbeatu. */
+    private final List<HeartbeatListener> heartbeatListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Słuchacz zdarzeń heartbeatu. Metody wywoływane są z wątku odbierającego
+     * lub z wątku heartbeatu, a nie z wątku JavaFX.
+     */
+    public interface HeartbeatListener {
+        /**
+         * Wywoływana po każdym pomiarze RTT.
+         *
+         * @param rttNanos zmierzony czas odpowiedzi w nanosekundach
+         * @param stats bieżące statystyki histogramu RTT
+         */
+        default void onRttSample(long rttNanos, LatencyHistogram.Snapshot stats) {}
+
+        /**
+         * Wywoływana, gdy serwer nie odpowiada dłużej niż limit heartbeatu.
+         *
+         * @param silenceMs czas od ostatniej wiadomości serwera w milisekundach
+         */
+        default void onConnectionDead(long silenceMs) {}
+    }
+
+    /**
+     * Słuchacz zdarzeń automatycznego wznawiania połączenia.
+     * Metody wywoływane są z wątku, który wykrył zerwanie połączenia (zwykle wątek odbierający),
+     * dlatego aktualizacje interfejsu należy przekazywać przez {@code Platform.runLater}.
+     */
+    public interface ReconnectListener {
+        /**
+         * Wywoływana przed każdą próbą wznowienia połączenia.
+         *
+         * @param attempt numer próby (od 1)
+         * @param delayMs opóźnienie przed próbą w milisekundach
+         */
+        default void onReconnecting(int attempt, long delayMs) {}
+
+        /**
+         * Wywoływana po pomyślnym wznowieniu sesji.
+         *
+         * @param downtimeMs czas od wykrycia zerwania do wznowienia w milisekundach
+         */
+        default void onReconnected(long downtimeMs) {}
+
+        /**
+         * Wywoływana, gdy wszystkie próby wznowienia zawiodły lub serwer odrzucił token.
+         */
+        default void onReconnectFailed() {}
+    }
+
     /**
      * Podstawowy konstruktor tworzący połączenie z domyślnymi ustawieniami
-     * (localhost:2137).
+     * (localhost:2137, do zmiany właściwościami {@code -Duno.server.host} i {@code -Duno.server.port}).
      */
     public ClientConnection() {
         logger.debug("Utworzono ClientConnection z domyślnymi ustawieniami");
@@ -40,6 +173,17 @@ public class ClientConnection implements AutoCloseable {
         logger.debug("Utworzono ClientConnection: " + host + ":" + port);
     }
 
+    /**
+     * Konstruktor tworzący połączenie przez podany transport (np. {@link LoopbackTransport}).
+     * Adres i port serwera są wtedy ignorowane.
+     *
+     * @param transport transport otwierający łącza z serwerem
+     */
+    public ClientConnection(Transport transport) {
+        this.transport = transport;
+        logger.debug("Utworzono ClientConnection: " + transport.describe());
+    }
+
     /**
      * Nawiązuje połączenie z serwerem.
      * W przypadku już istniejącego połączenia, najpierw je zamyka.
@@ -49,22 +193,40 @@ public class ClientConnection implements AutoCloseable {
      *         false w przypadku jakiegokolwiek błędu
      */
     public boolean connect() {
-        try {
-            if (connected) {
-                logger.warning("Istniejące połączenie, zamykam przed nowym połączeniem");
-                disconnect();
-            }
+        if (connected) {
+            logger.warning("Istniejące połączenie, zamykam przed nowym połączeniem");
+            disconnect();
+        }
+
+        logger.info("Próbuję połączyć się z " + currentTransport().describe());
+        if (!openLink()) {
+            return false;
+        }
 
-            logger.info("Próbuję połączyć się z " + host + ":" + port);
-            socket = new Socket();
-            socket.connect(new InetSocketAddress(host, port), 5000); // Timeout połączenia 5 sekund
-            socket.setSoTimeout(300000); // Timeout odczytu 10 sekund
+        connected = true;
+        logger.info("Połączono pomyślnie z " + currentTransport().describe());
+        return true;
+    }
 
-            reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-            writer = new PrintWriter(socket.getOutputStream(), true);
+    /**
+     * Zwraca transport ustawiony jawnie albo gniazdo TCP do bieżącego adresu i portu.
+     */
+    private Transport currentTransport() {
+        Transport current = transport;
+        return current != null ? current : new SocketTransport(host, port);
+    }
 
-            connected = true;
-            logger.info("Połączono pomyślnie z " + host + ":" + port);
+    /**
+     * Otwiera łącze z serwerem bez zmiany flagi connected.
+     * Wspólna część {@link #connect()} i {@link #reconnect()}.
+     *
+     * @return true jeśli łącze zostało otwarte, false w przypadku błędu
+     */
+    private boolean openLink() {
+        try {
+            Transport.Link newLink = currentTransport().open();
+            link = newLink;
+            framing = newLink.framing();
             return true;
 
         } catch (UnknownHostException e) {
@@ -79,6 +241,120 @@ public class ClientConnection implements AutoCloseable {
         }
     }
 
+    /**
+     * Negocjuje z serwerem opcjonalne funkcje protokołu.
+     * Wysyła {@code FEATURES a,b,...} i oczekuje na {@code FEATURES_OK a,...} z listą
+     * funkcji zaakceptowanych przez serwer. Serwer bez obsługi negocjacji odpowiada błędem
+     * ({@code ERROR}) - wtedy wszystkie funkcje pozostają wyłączone.
+     * Należy wywołać zaraz po {@link #connect()}, zanim serwer zacznie wysyłać inne komunikaty,
+     * i nie wysyłać niczego przed rozstrzygnięciem negocjacji.
+     *
+     * <p>Metoda blokuje do nadejścia odpowiedzi i nie powinna być wywoływana w wątku JavaFX.
+     * Starszy serwer, który ignoruje FEATURES, nie odpowiada wcale - po krótkim timeoucie
+     * negocjacji połączenie pozostaje otwarte w trybie tekstowym bez dodatkowych funkcji.</p>
+     *
+     * @param offered nazwy proponowanych funkcji
+     * @return zbiór funkcji zaakceptowanych przez serwer (pusty po odmowie lub timeoucie)
+     *         lub null, jeśli nie udało się wysłać propozycji
+     */
+    public Set<String> negotiateFeatures(String... offered) {
+        features = Collections.emptySet();
+        if (offered.length == 0) {
+            return features;
+        }
+        Transport.Link currentLink = link;
+        if (currentLink == null || !sendMessage("FEATURES " + String.join(",", offered))) {
+            return null;
+        }
+
+        long deadline = System.currentTimeMillis() + negotiationTimeoutMs;
+        while (System.currentTimeMillis() < deadline) {
+            String response = receiveMessageWithTimeout((int) Math.max(1, deadline - System.currentTimeMillis()));
+            if (response == null) {
+                break;
+            }
+            if (response.startsWith("FEATURES_OK")) {
+                Set<String> accepted = new LinkedHashSet<>();
+                for (String feature : response.substring("FEATURES_OK".length()).trim().split(",")) {
+                    for (String candidate : offered) {
+                        if (candidate.equals(feature.trim())) {
+                            accepted.add(candidate);
+                        }
+                    }
+                }
+                features = Collections.unmodifiableSet(accepted);
+                applyFeatures();
+                logger.info("Wynegocjowane funkcje protokołu: " + features);
+                return features;
+            }
+            if (response.startsWith("ERROR")) {
+                logger.info("Serwer nie obsługuje negocjacji funkcji: " + response);
+                return features;
+            }
+            logger.debug("Pomijam podczas negocjacji: " + response);
+        }
+
+        if (connected) {
+            logger.warning("Brak odpowiedzi na negocjację funkcji w ciągu " + negotiationTimeoutMs
+                    + " ms - kontynuuję w trybie tekstowym bez dodatkowych funkcji");
+        }
+        return features;
+    }
+
+    /**
+     * Ustawia tryb podziału komunikatów i kompresję zgodnie z wynegocjowanymi funkcjami.
+     * Serwer przełącza tryb zaraz po wysłaniu FEATURES_OK (lub RESUME_OK);
+     * bajty odczytane z wyprzedzeniem w trybie tekstowym przekazywane są do nowego trybu.
+     * Strumień kompresji zaczyna się od nowa przy każdym nowym połączeniu.
+     */
+    private void applyFeatures() {
+        synchronized (writeLock) {
+            if (compressor == null && features.contains(PayloadCompressor.FEATURE)) {
+                compressor = new PayloadCompressor();
+                ClientMetrics.getInstance().registerGauge("net.deflate.saved_bytes", this::getCompressionSavedBytes);
+                logger.info("Kompresja komunikatów włączona (próg " + compressor.getThreshold() + " B)");
+            }
+            Transport.Link currentLink = link;
+            if (currentLink == null || framing == null || !features.contains(BinaryFraming.FEATURE)) {
+                return;
+            }
+            framing = currentLink.upgradeFraming(framing);
+        }
+        logger.info("Tryb podziału komunikatów: " + framing.getName());
+    }
+
+    /**
+     * Sprawdza, czy połączenie zachowuje granice komunikatów (binarne ramki z prefiksem
+     * długości lub łącze w pamięci). W tym trybie każdy odebrany komunikat jest kompletny
+     * i nie wymaga dzielenia po znakach nowej linii ani średnikach.
+     *
+     * @return true jeśli aktywny podział komunikatów zachowuje ich granice
+     */
+    public boolean isFramed() {
+        MessageFraming currentFraming = framing;
+        return currentFraming != null && currentFraming.preservesBoundaries();
+    }
+
+    /**
+     * Sprawdza, czy funkcja protokołu została wynegocjowana z serwerem.
+     *
+     * @param feature nazwa funkcji
+     * @return true jeśli funkcja jest aktywna
+     */
+    public boolean hasFeature(String feature) {
+        return features.contains(feature);
+    }
+
+    /**
+     * Zwraca liczbę bajtów zaoszczędzonych przez kompresję bieżącego połączenia.
+     *
+     * @return zaoszczędzone bajty lub 0, jeśli kompresja nie jest aktywna
+     */
+    public long getCompressionSavedBytes() {
+        PayloadCompressor currentCompressor = compressor;
+        return currentCompressor != null ? currentCompressor.getSavedBytes() : 0;
+    }
+
     /**
      * Wysyła wiadomość tekstową do serwera.
      *
@@ -92,14 +368,16 @@ public class ClientConnection implements AutoCloseable {
             return false;
         }
 
-        if (writer == null) {
-            logger.error("Writer jest null");
-            return false;
-        }
-
         try {
-            writer.println(message);
-            writer.flush();
+            synchronized (writeLock) {
+                MessageFraming currentFraming = framing;
+                if (currentFraming == null) {
+                    logger.error("Writer jest null");
+                    return false;
+                }
+                PayloadCompressor currentCompressor = compressor;
+                currentFraming.write(currentCompressor != null ? currentCompressor.compress(message) : message);
+            }
             logger.debug("Wysłano wiadomość: " + message);
             return true;
         } catch (Exception e) {
@@ -110,7 +388,7 @@ public class ClientConnection implements AutoCloseable {
 
     /**
      * Odbiera jedną wiadomość od serwera w sposób blokujący.
-     * Czeka na dane przez czas określony przez socket timeout (domyślnie 10 sekund).
+     * Czeka na dane przez czas określony przez timeout odczytu łącza (domyślnie 10 sekund).
      *
      * @return Odebrana wiadomość jako String, lub null w przypadku błędu lub timeoutu
      */
@@ -120,47 +398,331 @@ public class ClientConnection implements AutoCloseable {
             return null;
         }
 
-        if (reader == null) {
-            logger.error("Reader jest null");
-            return null;
+        while (true) {
+            MessageFraming currentFraming = framing;
+            if (currentFraming == null) {
+                logger.error("Reader jest null");
+                return null;
+            }
+
+            try {
+                logger.debug("Oczekuję na wiadomość...");
+                String frame = currentFraming.read();
+                ClientEvents.MessageReceived event = new ClientEvents.MessageReceived();
+                event.begin();
+                String response = decompress(frame);
+                logger.debug("Odebrano wiadomość: " + response);
+
+                if (response == null) {
+                    // Serwer zamknął strumień
+                    if (canReconnect() && reconnect()) {
+                        continue;
+                    }
+                    return null;
+                }
+
+                event.commit(response);
+                lastInboundNanos = System.nanoTime();
+                if (heartbeatTask != null && response.equals("PONG")) {
+                    recordPong();
+                    continue;
+                }
+
+                if (response.startsWith(SESSION_TOKEN_PREFIX)) {
+                    resumeToken = response.substring(SESSION_TOKEN_PREFIX.length()).trim();
+                    logger.info("Otrzymano token wznowienia sesji");
+                    continue;
+                }
+                return response;
+            } catch (SocketTimeoutException e) {
+                logger.error("Timeout oczekiwania na odpowiedź");
+                return null;
+            } catch (IOException e) {
+                logger.error(e, "Błąd odbierania wiadomości");
+                if (canReconnect() && reconnect()) {
+                    continue;
+                }
+                disconnect();
+                return null;
+            }
         }
+    }
 
+    /**
+     * Dekompresuje odebrany komunikat, jeśli kompresja jest aktywna.
+     * Uszkodzony strumień kompresji zgłaszany jest jak błąd połączenia,
+     * ponieważ kolejnych komunikatów nie da się już poprawnie odczytać.
+     *
+     * @param message odebrany komunikat lub null
+     * @return komunikat po dekompresji
+     * @throws IOException jeśli strumień kompresji jest uszkodzony
+     */
+    private String decompress(String message) throws IOException {
+        PayloadCompressor currentCompressor = compressor;
+        if (message == null || currentCompressor == null) {
+            return message;
+        }
         try {
-            logger.debug("Oczekuję na wiadomość...");
-            String response = reader.readLine();
-            logger.debug("Odebrano wiadomość: " + response);
-            return response;
-        } catch (SocketTimeoutException e) {
-            logger.error("Timeout oczekiwania na odpowiedź");
-            return null;
+            return currentCompressor.decompress(message);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            throw new IOException("Utracono synchronizację strumienia kompresji", e);
+        }
+    }
+
+    /**
+     * Sprawdza, czy po zerwaniu połączenia można podjąć próbę jego wznowienia.
+     *
+     * @return true jeśli tryb automatycznego wznawiania jest włączony i znany jest token sesji
+     */
+    private boolean canReconnect() {
+        return autoReconnect && connected && resumeToken != null;
+    }
+
+    /**
+     * Wznawia zerwane połączenie, ponawiając próby z wykładniczym opóźnieniem i losowym rozrzutem.
+     * Po nawiązaniu połączenia wysyła {@code RESUME <token>} i oczekuje na {@code RESUME_OK}.
+     * Serwer może w odpowiedzi przekazać nowy token ({@code RESUME_OK <token>}).
+     * Po niepowodzeniu wszystkich prób połączenie zostaje zamknięte.
+     *
+     * @return true jeśli sesja została wznowiona, false w przeciwnym razie
+     */
+    public boolean reconnect() {
+        if (resumeToken == null) {
+            logger.warning("Brak tokenu sesji - nie można wznowić połączenia");
+            return false;
+        }
+
+        long lostAt = System.currentTimeMillis();
+        logger.warning("Utracono połączenie z " + currentTransport().describe() + ", rozpoczynam wznawianie");
+        reconnecting = true;
+        try {
+            return reconnectLoop(lostAt);
+        } finally {
+            reconnecting = false;
+        }
+    }
+
+    /**
+     * Ponawia próby wznowienia sesji aż do sukcesu lub wyczerpania limitu prób.
+     *
+     * @param lostAt czas wykrycia zerwania połączenia (System.currentTimeMillis)
+     * @return true jeśli sesja została wznowiona
+     */
+    private boolean reconnectLoop(long lostAt) {
+        closeLink();
+
+        for (int attempt = 1; attempt <= maxReconnectAttempts; attempt++) {
+            long delay = computeBackoffDelay(attempt);
+            for (ReconnectListener listener : reconnectListeners) {
+                listener.onReconnecting(attempt, delay);
+            }
+            logger.info("Próba wznowienia " + attempt + "/" + maxReconnectAttempts + " za " + delay + "ms");
+
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+
+            if (!connected) {
+                // Połączenie zostało zamknięte przez użytkownika w trakcie wznawiania
+                logger.info("Wznawianie przerwane - połączenie zamknięte");
+                return false;
+            }
+
+            if (openLink() && resumeSession()) {
+                pendingPings.clear();
+                lastInboundNanos = System.nanoTime();
+                long downtime = System.currentTimeMillis() - lostAt;
+                logger.info("Sesja wznowiona po " + downtime + "ms (próba " + attempt + ")");
+                for (ReconnectListener listener : reconnectListeners) {
+                    listener.onReconnected(downtime);
+                }
+                return true;
+            }
+            closeLink();
+        }
+
+        logger.error("Nie udało się wznowić połączenia");
+        for (ReconnectListener listener : reconnectListeners) {
+            listener.onReconnectFailed();
+        }
+        disconnect();
+        return false;
+    }
+
+    /**
+     * Wysyła token wznowienia i oczekuje na potwierdzenie serwera.
+     *
+     * @return true jeśli serwer zaakceptował token
+     */
+    private boolean resumeSession() {
+        try {
+            synchronized (writeLock) {
+                framing.write("RESUME " + resumeToken);
+            }
+
+            Transport.Link currentLink = link;
+            int originalTimeout = currentLink.getReadTimeout();
+            currentLink.setReadTimeout(resumeTimeoutMs);
+            try {
+                String response = framing.read();
+                if (response != null && response.startsWith("RESUME_OK")) {
+                    String newToken = response.substring("RESUME_OK".length()).trim();
+                    if (!newToken.isEmpty()) {
+                        resumeToken = newToken;
+                    }
+                    // Wznowiona sesja zachowuje wynegocjowany wcześniej tryb podziału komunikatów
+                    applyFeatures();
+                    return true;
+                }
+                logger.error("Serwer odrzucił wznowienie sesji: " + response);
+                if (response != null && response.startsWith("RESUME_ERROR")) {
+                    // Token nieważny - kolejne próby nie mają sensu
+                    resumeToken = null;
+                }
+                return false;
+            } finally {
+                if (currentLink.isOpen()) {
+                    currentLink.setReadTimeout(originalTimeout);
+                }
+            }
         } catch (IOException e) {
-            logger.error(e, "Błąd odbierania wiadomości");
-            disconnect();
-            return null;
+            logger.error(e, "Błąd wznawiania sesji");
+            return false;
         }
     }
 
+    /**
+     * Uruchamia heartbeat z bieżącym odstępem ({@link #setHeartbeatInterval(long, long)}).
+     * PING-i wysyłane są przez wspólny harmonogram ({@link ClientScheduler}), więc nie blokują wątku odbierającego.
+     * Odpowiedzi PONG są przechwytywane w {@link #receiveMessage()} i nie trafiają do kontrolerów.
+     * Martwe połączenie wykrywane jest najpóźniej po czasie limitu powiększonym o jeden odstęp.
+     */
+    public synchronized void startHeartbeat() {
+        if (heartbeatTask != null) {
+            return;
+        }
+        pendingPings.clear();
+        lastInboundNanos = System.nanoTime();
+        heartbeatTask = ClientScheduler.getInstance().scheduleAtFixedRate(this, "heartbeat",
+                heartbeatIntervalMs, heartbeatIntervalMs, this::heartbeatTick);
+
+        ClientMetrics metrics = ClientMetrics.getInstance();
+        metrics.registerHistogram("net.rtt", rttHistogram);
+        metrics.registerGauge("net.heartbeat.pending", pendingPings::size);
+        logger.info("Heartbeat uruchomiony (odstęp " + heartbeatIntervalMs + "ms, limit " + heartbeatTimeoutMs + "ms)");
+    }
+
+    /**
+     * Zatrzymuje heartbeat.
+     */
+    public synchronized void stopHeartbeat() {
+        if (heartbeatTask != null) {
+            ClientScheduler.getInstance().cancel(heartbeatTask);
+            heartbeatTask = null;
+            logger.debug("Heartbeat zatrzymany");
+        }
+        pendingPings.clear();
+    }
+
+    /**
+     * Pojedynczy cykl heartbeatu: sprawdza czas ciszy serwera i wysyła kolejny PING.
+     * Jeśli serwer milczy dłużej niż limit, zamyka łącze, co budzi wątek odbierający
+     * i uruchamia wznawianie połączenia (lub rozłączenie).
+     */
+    private void heartbeatTick() {
+        try {
+            if (!connected || reconnecting) {
+                return;
+            }
+
+            long silenceMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastInboundNanos);
+            if (silenceMs > heartbeatTimeoutMs) {
+                logger.error("Brak odpowiedzi serwera od " + silenceMs + "ms - połączenie uznane za martwe");
+                ClientMetrics.getInstance().increment("net.heartbeat.dead");
+                for (HeartbeatListener listener : heartbeatListeners) {
+                    listener.onConnectionDead(silenceMs);
+                }
+                pendingPings.clear();
+                lastInboundNanos = System.nanoTime();
+                Transport.Link currentLink = link;
+                if (currentLink != null) {
+                    currentLink.close();
+                }
+                return;
+            }
+
+            if (pendingPings.size() >= MAX_PENDING_PINGS) {
+                pendingPings.pollFirst();
+            }
+            pendingPings.offerLast(System.nanoTime());
+            if (!sendMessage("PING")) {
+                pendingPings.pollLast();
+            }
+            ClientMetrics.getInstance().increment("net.heartbeat.sent");
+        } catch (Exception e) {
+            logger.error(e, "Błąd heartbeatu");
+        }
+    }
+
+    /**
+     * Rejestruje odpowiedź PONG, parując ją z najstarszym oczekującym PING-iem.
+     */
+    private void recordPong() {
+        Long sentAt = pendingPings.pollFirst();
+        if (sentAt == null) {
+            logger.debug("PONG bez oczekującego PING - pomijam");
+            return;
+        }
+        long rtt = System.nanoTime() - sentAt;
+        rttHistogram.record(rtt);
+        LatencyHistogram.Snapshot stats = rttHistogram.snapshot();
+        logger.debug("RTT: " + (rtt / 1_000_000) + "ms, " + stats);
+        for (HeartbeatListener listener : heartbeatListeners) {
+            listener.onRttSample(rtt, stats);
+        }
+    }
+
+    /**
+     * Wylicza opóźnienie kolejnej próby wznowienia: wykładniczy wzrost ograniczony z góry,
+     * z losowym rozrzutem w zakresie [połowa, całość], aby klienci nie łączyli się jednocześnie.
+     *
+     * @param attempt numer próby (od 1)
+     * @return opóźnienie w milisekundach
+     */
+    long computeBackoffDelay(int attempt) {
+        long exp = reconnectBaseDelayMs << Math.min(attempt - 1, 20);
+        long cap = Math.min(reconnectMaxDelayMs, exp);
+        long half = cap / 2;
+        return half + ThreadLocalRandom.current().nextLong(cap - half + 1);
+    }
+
     /**
      * Odbiera wiadomość od serwera z określonym timeoutem.
-     * Tymczasowo zmienia timeout socketa na podaną wartość.
+     * Tymczasowo zmienia timeout odczytu łącza na podaną wartość.
      *
      * @param timeoutMs Timeout w milisekundach
      * @return Odebrana wiadomość jako String, lub null w przypadku błędu lub timeoutu
      */
     public String receiveMessageWithTimeout(int timeoutMs) {
-        if (!connected || socket == null) {
-            logger.error("Nie można odebrać - brak połączenia lub socket jest null");
+        Transport.Link currentLink = link;
+        if (!connected || currentLink == null) {
+            logger.error("Nie można odebrać - brak połączenia lub łącze jest null");
             return null;
         }
 
         try {
             logger.debug("Ustawiam timeout na " + timeoutMs + "ms");
-            int originalTimeout = socket.getSoTimeout();
-            socket.setSoTimeout(timeoutMs);
+            int originalTimeout = currentLink.getReadTimeout();
+            currentLink.setReadTimeout(timeoutMs);
             String response = receiveMessage();
-            socket.setSoTimeout(originalTimeout);
+            if (currentLink.isOpen()) {
+                currentLink.setReadTimeout(originalTimeout);
+            }
             return response;
-        } catch (SocketException e) {
+        } catch (IOException e) {
             logger.error(e, "Błąd ustawiania timeoutu");
             return null;
         }
@@ -168,7 +730,7 @@ public class ClientConnection implements AutoCloseable {
 
     /**
      * Wysyła wiadomość do serwera i czeka na odpowiedź.
-     * Używa domyślnego timeoutu socketa (10 sekund).
+     * Używa domyślnego timeoutu odczytu łącza (10 sekund).
      *
      * @param message Wiadomość do wysłania
      * @return Odpowiedź serwera jako String, lub null w przypadku błędu
@@ -241,25 +803,27 @@ public class ClientConnection implements AutoCloseable {
      * Przydatne do usuwania zaległych wiadomości przed rozpoczęciem nowej sekwencji komunikacji.
      */
     public void clearInputBuffer() {
-        if (!connected || reader == null) {
+        Transport.Link currentLink = link;
+        if (!connected || framing == null || currentLink == null) {
             return;
         }
 
         try {
             // Ustaw bardzo krótki timeout na czyszczenie bufora
-            int originalTimeout = socket.getSoTimeout();
-            socket.setSoTimeout(100);
+            int originalTimeout = currentLink.getReadTimeout();
+            currentLink.setReadTimeout(100);
 
             int messagesCleared = 0;
             while (true) {
-                String message = reader.readLine();
+                // Pomijane komunikaty też muszą przejść przez dekompresję, aby zachować stan strumienia
+                String message = decompress(framing.read());
                 if (message == null) break;
                 logger.debug("Czyszczenie bufora - pomijam: " + message);
                 messagesCleared++;
             }
 
             // Przywróć normalny timeout
-            socket.setSoTimeout(originalTimeout);
+            currentLink.setReadTimeout(originalTimeout);
 
             if (messagesCleared > 0) {
                 logger.info("Wyczyszczono " + messagesCleared + " wiadomości z bufora");
@@ -275,42 +839,51 @@ public class ClientConnection implements AutoCloseable {
 
     /**
      * Sprawdza, czy połączenie z serwerem jest aktywne.
-     * Weryfikuje flagę connected oraz stan socketa.
+     * Weryfikuje flagę connected oraz stan łącza.
      *
      * @return true jeśli połączenie jest aktywne, false w przeciwnym razie
      */
     public boolean isConnected() {
-        boolean isConnected = connected && socket != null && !socket.isClosed() && socket.isConnected();
+        Transport.Link currentLink = link;
+        boolean isConnected = connected && currentLink != null && currentLink.isOpen();
         logger.debug("Sprawdzam połączenie - wynik: " + isConnected);
         return isConnected;
     }
 
     /**
      * Zamyka połączenie z serwerem.
-     * Zamyka wszystkie zasoby: writer, reader i socket.
+     * Zamyka wszystkie zasoby: łącze z serwerem.
      * Ustawia flagę connected na false.
      */
     public void disconnect() {
         logger.info("Rozłączam...");
         connected = false;
+        resumeToken = null;
+        features = Collections.emptySet();
+        stopHeartbeat();
+        closeLink();
+        logger.info("Rozłączono pomyślnie");
+    }
 
+    /**
+     * Zamyka łącze bez zmiany stanu sesji.
+     * Używane przy rozłączeniu oraz pomiędzy próbami wznowienia.
+     */
+    private void closeLink() {
         try {
-            if (writer != null) {
-                writer.close();
-                writer = null;
-                logger.debug("Writer zamknięty");
+            framing = null;
+            PayloadCompressor currentCompressor = compressor;
+            compressor = null;
+            if (currentCompressor != null) {
+                // Trwająca dekompresja w wątku odbierającym kończy się przed zwolnieniem zasobów
+                currentCompressor.close();
             }
-            if (reader != null) {
-                reader.close();
-                reader = null;
-                logger.debug("Reader zamknięty");
+            Transport.Link currentLink = link;
+            link = null;
+            if (currentLink != null && currentLink.isOpen()) {
+                currentLink.close();
+                logger.debug("Łącze zamknięte");
             }
-            if (socket != null && !socket.isClosed()) {
-                socket.close();
-                socket = null;
-                logger.debug("Socket zamknięty");
-            }
-            logger.info("Rozłączono pomyślnie");
         } catch (IOException e) {
             logger.error(e, "Błąd podczas zamykania połączenia");
         }
@@ -372,6 +945,120 @@ public class ClientConnection implements AutoCloseable {
         this.debug = debug;
     }
 
+    /**
+     * Włącza lub wyłącza automatyczne wznawianie zerwanego połączenia.
+     * Wznowienie wymaga tokenu sesji otrzymanego wcześniej od serwera.
+     *
+     * @param autoReconnect true aby włączyć wznawianie połączenia
+     */
+    public void setAutoReconnect(boolean autoReconnect) {
+        logger.debug("Ustawiono automatyczne wznawianie: " + autoReconnect);
+        this.autoReconnect = autoReconnect;
+    }
+
+    /**
+     * Sprawdza, czy automatyczne wznawianie połączenia jest włączone.
+     *
+     * @return true jeśli wznawianie jest włączone
+     */
+    public boolean isAutoReconnect() {
+        return autoReconnect;
+    }
+
+    /**
+     * Ustawia parametry ponawiania prób wznowienia połączenia.
+     *
+     * @param maxAttempts maksymalna liczba prób
+     * @param baseDelayMs opóźnienie pierwszej próby w milisekundach
+     * @param maxDelayMs maksymalne opóźnienie pomiędzy próbami w milisekundach
+     */
+    public void setReconnectPolicy(int maxAttempts, long baseDelayMs, long maxDelayMs) {
+        logger.debug("Ustawiono politykę wznawiania: prób=" + maxAttempts +
+                ", bazowe=" + baseDelayMs + "ms, maks=" + maxDelayMs + "ms");
+        this.maxReconnectAttempts = maxAttempts;
+        this.reconnectBaseDelayMs = baseDelayMs;
+        this.reconnectMaxDelayMs = maxDelayMs;
+    }
+
+    /**
+     * Zwraca bieżący token wznowienia sesji.
+     *
+     * @return token sesji lub null, jeśli serwer go nie wydał
+     */
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    /**
+     * Dodaje słuchacza zdarzeń wznawiania połączenia.
+     *
+     * @param listener słuchacz do dodania
+     */
+    public void addReconnectListener(ReconnectListener listener) {
+        reconnectListeners.add(listener);
+    }
+
+    /**
+     * Usuwa słuchacza zdarzeń wznawiania połączenia.
+     *
+     * @param listener słuchacz do usunięcia
+     */
+    public void removeReconnectListener(ReconnectListener listener) {
+        reconnectListeners.remove(listener);
+    }
+
+    /**
+     * Ustawia odstęp heartbeatu oraz czas ciszy, po którym połączenie uznawane jest za martwe.
+     * Zmiana obowiązuje od następnego uruchomienia heartbeatu.
+     *
+     * @param intervalMs odstęp pomiędzy PING-ami w milisekundach
+     * @param timeoutMs limit ciszy serwera w milisekundach (co najmniej dwa odstępy)
+     */
+    public void setHeartbeatInterval(long intervalMs, long timeoutMs) {
+        if (intervalMs <= 0 || timeoutMs < 2 * intervalMs) {
+            throw new IllegalArgumentException("Nieprawidłowe parametry heartbeatu: " + intervalMs + "/" + timeoutMs);
+        }
+        logger.debug("Ustawiono heartbeat: odstęp=" + intervalMs + "ms, limit=" + timeoutMs + "ms");
+        this.heartbeatIntervalMs = intervalMs;
+        this.heartbeatTimeoutMs = timeoutMs;
+    }
+
+    /**
+     * Sprawdza, czy heartbeat jest uruchomiony.
+     *
+     * @return true jeśli heartbeat działa
+     */
+    public boolean isHeartbeatRunning() {
+        return heartbeatTask != null;
+    }
+
+    /**
+     * Zwraca statystyki RTT zebrane przez heartbeat.
+     *
+     * @return migawka histogramu RTT (min, p50, p99)
+     */
+    public LatencyHistogram.Snapshot getRttStats() {
+        return rttHistogram.snapshot();
+    }
+
+    /**
+     * Dodaje słuchacza zdarzeń heartbeatu.
+     *
+     * @param listener słuchacz do dodania
+     */
+    public void addHeartbeatListener(HeartbeatListener listener) {
+        heartbeatListeners.add(listener);
+    }
+
+    /**
+     * Usuwa słuchacza zdarzeń heartbeatu.
+     *
+     * @param listener słuchacz do usunięcia
+     */
+    public void removeHeartbeatListener(HeartbeatListener listener) {
+        heartbeatListeners.remove(listener);
+    }
+
     /**
      * Zwraca aktualnie ustawiony adres hosta.
      *
@@ -402,6 +1089,7 @@ public class ClientConnection implements AutoCloseable {
     /**
      * Testuje połączenie z serwerem wysyłając komendę "PING".
      * Oczekuje odpowiedzi "PONG" w ciągu 3 sekund.
+     * Gdy działa heartbeat, zamiast blokującego PING sprawdza czas ostatniej odpowiedzi serwera.
      *
      * @return true jeśli serwer odpowiada prawidłowo, false w przeciwnym razie
      */
@@ -410,6 +1098,13 @@ public class ClientConnection implements AutoCloseable {
             return false;
         }
 
+        if (isHeartbeatRunning()) {
+            long silenceMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastInboundNanos);
+            boolean result = silenceMs <= heartbeatTimeoutMs;
+            logger.debug("Test połączenia (heartbeat): " + result);
+            return result;
+        }
+
         try {
             logger.debug("Testowanie połączenia...");
             String originalResponse = sendAndReceiveWithTimeout("PING", 3000);
@@ -429,10 +1124,8 @@ public class ClientConnection implements AutoCloseable {
      * @return Zdalny adres serwera jako String, lub null jeśli brak połączenia
      */
     public String getRemoteAddress() {
-        if (socket != null && socket.isConnected()) {
-            return socket.getInetAddress().getHostAddress() + ":" + socket.getPort();
-        }
-        return null;
+        Transport.Link currentLink = link;
+        return currentLink != null ? currentLink.getRemoteAddress() : null;
     }
 
     /**
@@ -442,9 +1135,7 @@ public class ClientConnection implements AutoCloseable {
      * @return Lokalny adres klienta jako String, lub null jeśli brak połączenia
      */
     public String getLocalAddress() {
-        if (socket != null) {
-            return socket.getLocalAddress().getHostAddress() + ":" + socket.getLocalPort();
-        }
-        return null;
+        Transport.Link currentLink = link;
+        return currentLink != null ? currentLink.getLocalAddress() : null;
     }
 }
\ No newline at end of file
@@ -0,0 +1,170 @@
+package org.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Zdarzenia Java Flight Recorder emitowane przez klienta w miejscach krytycznych dla wydajności:
+ * odbiór i obsługa komunikatów protokołu, przebudowa ręki, tworzenie widoków kart
+ * i przełączanie scen. Pozwalają przypisać czas i alokacje do konkretnych komend
+ * i operacji interfejsu w nagraniu JFR, bez dodatkowych narzędzi:
+ * <pre>
+ *     java -XX:StartFlightRecording=filename=uno.jfr,settings=profile ...
+ *     jfr print --categories UNO uno.jfr
+ * </pre>
+ *
+ * <p>Zdarzenia wypełniane są tylko wtedy, gdy {@code shouldCommit()} zwraca true;
+ * przy wyłączonym nagrywaniu koszt sprowadza się do utworzenia pustego obiektu,
+ * który kompilator JIT zwykle usuwa. Zdarzenia o dużej częstotliwości nie zapisują stosu.</p>
+ */
+public final class ClientEvents {
+
+    /** Maksymalna długość nazwy komendy zapisywanej w zdarzeniu. */
+    private static final int MAX_COMMAND_LENGTH = 32;
+
+    private ClientEvents() {
+    }
+
+    /**
+     * Zwraca komendę protokołu, czyli pierwsze słowo komunikatu (np. {@code PLAY_RESULT}).
+     *
+     * @param message komunikat serwera
+     * @return komenda lub pusty tekst dla pustego komunikatu
+     */
+    static String command(String message) {
+        if (message == null) {
+            return "";
+        }
+        int start = 0;
+        while (start < message.length() && Character.isWhitespace(message.charAt(start))) {
+            start++;
+        }
+        int end = start;
+        while (end < message.length() && end - start < MAX_COMMAND_LENGTH
+                && !Character.isWhitespace(message.charAt(end))) {
+            end++;
+        }
+        return message.substring(start, end);
+    }
+
+    /**
+     * Odebranie komunikatu w {@link ClientConnection} (odczyt ramki nie jest wliczany,
+     * czas zdarzenia obejmuje dekompresję).
+     */
+    @Name("org.example.MessageReceived")
+    @Label("Message Received")
+    @Category({"UNO", "Protocol"})
+    @Description("Komunikat odebrany od serwera")
+    @StackTrace(false)
+    public static final class MessageReceived extends Event {
+        @Label("Command")
+        public String command;
+
+        @Label("Size")
+        @Description("Długość komunikatu w znakach")
+        public int size;
+
+        /**
+         * Kończy pomiar i zapisuje zdarzenie, jeśli nagrywanie jest włączone.
+         *
+         * @param message odebrany komunikat
+         */
+        public void commit(String message) {
+            if (shouldCommit()) {
+                command = command(message);
+                size = message.length();
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Obsługa komunikatu: zastosowanie w {@link GameStateStore} lub obsługa w kontrolerze.
+     */
+    @Name("org.example.MessageDispatched")
+    @Label("Message Dispatched")
+    @Category({"UNO", "Protocol"})
+    @Description("Obsługa komunikatu serwera")
+    @StackTrace(false)
+    public static final class MessageDispatched extends Event {
+        @Label("Command")
+        public String command;
+
+        @Label("Size")
+        @Description("Długość komunikatu w znakach")
+        public int size;
+
+        @Label("Handler")
+        @Description("Klasa obsługująca komunikat")
+        public String handler;
+
+        /**
+         * Kończy pomiar i zapisuje zdarzenie, jeśli nagrywanie jest włączone.
+         *
+         * @param message obsłużony komunikat
+         * @param handlerName nazwa klasy obsługującej komunikat
+         */
+        public void commit(String message, String handlerName) {
+            if (shouldCommit()) {
+                command = command(message);
+                size = message.length();
+                handler = handlerName;
+                commit();
+            }
+        }
+    }
+
+    /**
+     * Przebudowa ręki gracza przez {@link TableRenderer}.
+     */
+    @Name("org.example.HandRebuild")
+    @Label("Hand Rebuild")
+    @Category({"UNO", "Rendering"})
+    @Description("Wyświetlenie ręki gracza")
+    public static final class HandRebuild extends Event {
+        @Label("Cards")
+        public int cards;
+
+        @Label("Renderer")
+        public String renderer;
+    }
+
+    /**
+     * Utworzenie widoku karty ({@link Card#getView()} lub {@link Card#getBackView()}).
+     */
+    @Name("org.example.CardViewCreated")
+    @Label("Card View Created")
+    @Category({"UNO", "Rendering"})
+    @Description("Utworzenie widoku karty")
+    @StackTrace(false)
+    public static final class CardViewCreated extends Event {
+        @Label("Card")
+        public String card;
+
+        @Label("Back")
+        @Description("Czy utworzono widok rewersu")
+        public boolean back;
+    }
+
+    /**
+     * Przełączenie sceny przez {@link SceneNavigator}.
+     */
+    @Name("org.example.SceneSwitch")
+    @Label("Scene Switch")
+    @Category({"UNO", "Navigation"})
+    @Description("Przełączenie sceny")
+    public static final class SceneSwitch extends Event {
+        @Label("From")
+        public String from;
+
+        @Label("To")
+        public String to;
+
+        @Label("From Cache")
+        public boolean fromCache;
+    }
+}
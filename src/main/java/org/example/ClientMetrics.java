@@ -0,0 +1,137 @@
+package org.example;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Rejestr metryk klienta (liczniki, wskaźniki i histogramy).
+ * Udostępnia wspólne miejsce, do którego komponenty zgłaszają swoje statystyki,
+ * a interfejs użytkownika i logi odczytują je jako jedną migawkę.
+ * Implementuje wzorzec Singleton.
+ */
+public class ClientMetrics {
+
+    private static ClientMetrics instance;
+    private static final Logger logger = Logger.getInstance();
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<?>> gauges = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Prywatny konstruktor - wzorzec Singleton
+     */
+    private ClientMetrics() {
+    }
+
+    /**
+     * Zwraca instancję ClientMetrics (Singleton)
+     */
+    public static ClientMetrics getInstance() {
+        if (instance == null) {
+            synchronized (ClientMetrics.class) {
+                if (instance == null) {
+                    instance = new ClientMetrics();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Zwiększa licznik o 1.
+     *
+     * @param name nazwa licznika
+     */
+    public void increment(String name) {
+        add(name, 1);
+    }
+
+    /**
+     * Zwiększa licznik o podaną wartość.
+     *
+     * @param name nazwa licznika
+     * @param delta wartość do dodania
+     */
+    public void add(String name, long delta) {
+        counters.computeIfAbsent(name, k -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * Zwraca bieżącą wartość licznika.
+     *
+     * @param name nazwa licznika
+     * @return wartość licznika lub 0, jeśli nie istnieje
+     */
+    public long getCounter(String name) {
+        LongAdder adder = counters.get(name);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    /**
+     * Rejestruje wskaźnik, którego wartość odczytywana jest przy tworzeniu migawki.
+     * Ponowna rejestracja pod tą samą nazwą zastępuje poprzedni wskaźnik.
+     *
+     * @param name nazwa wskaźnika
+     * @param supplier dostawca bieżącej wartości
+     */
+    public void registerGauge(String name, Supplier<?> supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * Zwraca histogram o podanej nazwie, tworząc go przy pierwszym użyciu.
+     *
+     * @param name nazwa histogramu
+     * @return histogram
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, k -> new LatencyHistogram());
+    }
+
+    /**
+     * Rejestruje istniejący histogram pod podaną nazwą.
+     *
+     * @param name nazwa histogramu
+     * @param histogram histogram do zarejestrowania
+     */
+    public void registerHistogram(String name, LatencyHistogram histogram) {
+        histograms.put(name, histogram);
+    }
+
+    /**
+     * Tworzy migawkę wszystkich metryk posortowaną po nazwie.
+     * Histogramy rozwijane są do wartości min/p50/p99/count w milisekundach.
+     *
+     * @return mapa nazwa metryki -> wartość
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new TreeMap<>();
+        counters.forEach((name, adder) -> result.put(name, adder.sum()));
+        gauges.forEach((name, supplier) -> {
+            try {
+                result.put(name, supplier.get());
+            } catch (Exception e) {
+                result.put(name, "ERR");
+            }
+        });
+        histograms.forEach((name, histogram) -> {
+            LatencyHistogram.Snapshot s = histogram.snapshot();
+            result.put(name + ".count", s.getCount());
+            result.put(name + ".min_ms", s.getMin() / 1e6);
+            result.put(name + ".p50_ms", s.getP50() / 1e6);
+            result.put(name + ".p99_ms", s.getP99() / 1e6);
+        });
+        return result;
+    }
+
+    /**
+     * Zapisuje bieżącą migawkę metryk do logów.
+     */
+    public void logSnapshot() {
+        logger.info("Metryki klienta: " + snapshot());
+    }
+}
@@ -0,0 +1,249 @@
+package org.example;
+
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wspólny harmonogram zadań opóźnionych i okresowych klienta.
+ * Wszystkie zadania wykonywane są przez jedną pulę wątków demonów, więc nie utrzymują
+ * JVM przy życiu i nie tworzą nowego wątku przy każdym wywołaniu (jak {@code java.util.Timer}).
+ *
+ * <p>Każde zadanie ma właściciela (np. kontroler sceny) i nazwę. Przy opuszczaniu sceny
+ * wszystkie zadania jej kontrolera anuluje {@link #cancelAll(Object)}, a
+ * {@link #describePendingTasks()} pokazuje zadania oczekujące na wykonanie.</p>
+ *
+ * <p>Zadania nie powinny blokować - pula ma tylko dwa wątki.
+ * Zadania dotyczące interfejsu należy zgłaszać przez {@link #scheduleOnFx(Object, String, long, Runnable)}.</p>
+ *
+ * Implementuje wzorzec Singleton.
+ */
+public class ClientScheduler {
+
+    private static ClientScheduler instance;
+    private static final Logger logger = Logger.getInstance();
+
+    private static final int POOL_SIZE = 2;
+
+    /**
+     * Zadanie zarejestrowane w harmonogramie.
+     */
+    private static final class Task {
+        final long id;
+        final Object owner;
+        final String name;
+        final long periodMs;
+        volatile long dueNanos;
+        volatile boolean cancelled = false;
+        volatile ScheduledFuture<?> future;
+
+        Task(long id, Object owner, String name, long delayMs, long periodMs) {
+            this.id = id;
+            this.owner = owner;
+            this.name = name;
+            this.periodMs = periodMs;
+            this.dueNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMs);
+        }
+    }
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final Map<Long, Task> tasks = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong();
+
+    /**
+     * Prywatny konstruktor - wzorzec Singleton
+     */
+    private ClientScheduler() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ScheduledThreadPoolExecutor(POOL_SIZE, r -> {
+            Thread t = new Thread(r, "uno-scheduler-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        ClientMetrics.getInstance().registerGauge("scheduler.pending", tasks::size);
+    }
+
+    /**
+     * Zwraca instancję ClientScheduler (Singleton)
+     */
+    public static ClientScheduler getInstance() {
+        if (instance == null) {
+            synchronized (ClientScheduler.class) {
+                if (instance == null) {
+                    instance = new ClientScheduler();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Planuje jednorazowe wykonanie zadania w wątku harmonogramu.
+     *
+     * @param owner właściciel zadania (np. kontroler sceny)
+     * @param name nazwa zadania widoczna w {@link #describePendingTasks()}
+     * @param delayMs opóźnienie w milisekundach
+     * @param action zadanie do wykonania
+     * @return uchwyt umożliwiający anulowanie zadania
+     */
+    public ScheduledFuture<?> schedule(Object owner, String name, long delayMs, Runnable action) {
+        Task task = register(owner, name, delayMs, 0);
+        task.future = executor.schedule(() -> runOnce(task, action), delayMs, TimeUnit.MILLISECONDS);
+        return task.future;
+    }
+
+    /**
+     * Planuje jednorazowe wykonanie zadania w wątku JavaFX.
+     * Zadanie anulowane po przekazaniu do wątku JavaFX, ale przed wykonaniem, nie zostanie wykonane.
+     *
+     * @param owner właściciel zadania (np. kontroler sceny)
+     * @param name nazwa zadania widoczna w {@link #describePendingTasks()}
+     * @param delayMs opóźnienie w milisekundach
+     * @param action zadanie do wykonania w wątku JavaFX
+     * @return uchwyt umożliwiający anulowanie zadania
+     */
+    public ScheduledFuture<?> scheduleOnFx(Object owner, String name, long delayMs, Runnable action) {
+        Task task = register(owner, name, delayMs, 0);
+        task.future = executor.schedule(() -> Platform.runLater(() -> runOnce(task, action)),
+                delayMs, TimeUnit.MILLISECONDS);
+        return task.future;
+    }
+
+    /**
+     * Planuje okresowe wykonywanie zadania w wątku harmonogramu.
+     *
+     * @param owner właściciel zadania
+     * @param name nazwa zadania widoczna w {@link #describePendingTasks()}
+     * @param initialDelayMs opóźnienie pierwszego wykonania w milisekundach
+     * @param periodMs odstęp pomiędzy wykonaniami w milisekundach
+     * @param action zadanie do wykonania
+     * @return uchwyt umożliwiający zatrzymanie zadania
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(Object owner, String name, long initialDelayMs, long periodMs,
+                                                  Runnable action) {
+        Task task = register(owner, name, initialDelayMs, periodMs);
+        task.future = executor.scheduleAtFixedRate(() -> {
+            if (task.cancelled) {
+                return;
+            }
+            task.dueNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(periodMs);
+            try {
+                action.run();
+            } catch (Exception e) {
+                // Wyjątek zatrzymałby zadanie okresowe - logujemy i kontynuujemy
+                logger.error(e, "Błąd zadania okresowego: " + name);
+            }
+        }, initialDelayMs, periodMs, TimeUnit.MILLISECONDS);
+        return task.future;
+    }
+
+    /**
+     * Anuluje zadanie zwrócone przez jedną z metod planujących.
+     *
+     * @param future uchwyt zadania (może być null)
+     */
+    public void cancel(ScheduledFuture<?> future) {
+        if (future == null) {
+            return;
+        }
+        for (Task task : tasks.values()) {
+            if (task.future == future) {
+                cancelTask(task);
+                return;
+            }
+        }
+        future.cancel(false);
+    }
+
+    /**
+     * Anuluje wszystkie zadania danego właściciela, np. przy opuszczaniu sceny.
+     *
+     * @param owner właściciel zadań
+     * @return liczba anulowanych zadań
+     */
+    public int cancelAll(Object owner) {
+        int count = 0;
+        for (Task task : tasks.values()) {
+            if (task.owner == owner) {
+                cancelTask(task);
+                count++;
+            }
+        }
+        if (count > 0) {
+            logger.debug("Anulowano " + count + " zadań właściciela " + owner.getClass().getSimpleName());
+        }
+        return count;
+    }
+
+    /**
+     * Zwraca liczbę zadań oczekujących na wykonanie (w tym okresowych).
+     *
+     * @return liczba zaplanowanych zadań
+     */
+    public int getPendingCount() {
+        return tasks.size();
+    }
+
+    /**
+     * Zwraca opis zadań oczekujących na wykonanie, posortowanych według terminu.
+     *
+     * @return lista opisów w formacie "właściciel/nazwa za X ms [co Y ms]"
+     */
+    public List<String> describePendingTasks() {
+        List<Task> pending = new ArrayList<>(tasks.values());
+        pending.sort(Comparator.comparingLong(t -> t.dueNanos));
+        long now = System.nanoTime();
+        List<String> result = new ArrayList<>(pending.size());
+        for (Task task : pending) {
+            result.add(task.owner.getClass().getSimpleName() + "/" + task.name
+                    + " za " + Math.max(0, TimeUnit.NANOSECONDS.toMillis(task.dueNanos - now)) + " ms"
+                    + (task.periodMs > 0 ? " (co " + task.periodMs + " ms)" : ""));
+        }
+        return result;
+    }
+
+    /**
+     * Zapisuje do logu listę zadań oczekujących na wykonanie.
+     */
+    public void logPendingTasks() {
+        List<String> pending = describePendingTasks();
+        logger.info("Zaplanowane zadania (" + pending.size() + "): " + pending);
+    }
+
+    private Task register(Object owner, String name, long delayMs, long periodMs) {
+        Task task = new Task(nextId.incrementAndGet(), owner, name, delayMs, periodMs);
+        tasks.put(task.id, task);
+        return task;
+    }
+
+    private void runOnce(Task task, Runnable action) {
+        tasks.remove(task.id);
+        if (task.cancelled) {
+            return;
+        }
+        try {
+            action.run();
+        } catch (Exception e) {
+            logger.error(e, "Błąd zadania: " + task.name);
+        }
+    }
+
+    private void cancelTask(Task task) {
+        task.cancelled = true;
+        tasks.remove(task.id);
+        ScheduledFuture<?> future = task.future;
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+}
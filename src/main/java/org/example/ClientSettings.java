@@ -0,0 +1,171 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+
+/**
+ * Trwałe ustawienia klienta zapisywane w pliku właściwości.
+ * Domyślnie {@code uno-client.properties} w katalogu roboczym (jak katalog {@code logs});
+ * ścieżkę można zmienić właściwością systemową {@code -Duno.settings=...}.
+ * Każda zmiana jest od razu zapisywana.
+ *
+ * Implementuje wzorzec Singleton.
+ */
+public class ClientSettings {
+
+    private static ClientSettings instance;
+    private static final Logger logger = Logger.getInstance();
+
+    /** Czy stół gry jest rysowany na jednym płótnie zamiast węzłami sceny. */
+    public static final String CANVAS_TABLE = "table.canvas";
+
+    /** Profil renderowania ({@link RenderProfile}). */
+    public static final String RENDER_PROFILE = "render.profile";
+
+    /** Czy nakładka wydajności (F3) jest widoczna w scenie gry. */
+    public static final String OVERLAY_VISIBLE = "overlay.visible";
+
+    /** Czy próbki wydajności są zapisywane do pliku ({@link MetricsRecorder}). */
+    public static final String METRICS_FILE = "metrics.file";
+
+    private final Path file;
+    private final Properties properties = new Properties();
+
+    /**
+     * Prywatny konstruktor - wzorzec Singleton
+     */
+    private ClientSettings() {
+        file = Paths.get(System.getProperty("uno.settings", "uno-client.properties"));
+        load();
+    }
+
+    /**
+     * Zwraca instancję ClientSettings (Singleton)
+     */
+    public static ClientSettings getInstance() {
+        if (instance == null) {
+            synchronized (ClientSettings.class) {
+                if (instance == null) {
+                    instance = new ClientSettings();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Zwraca wartość logiczną ustawienia.
+     *
+     * @param key klucz ustawienia
+     * @param defaultValue wartość, gdy ustawienie nie jest zapisane
+     * @return wartość ustawienia
+     */
+    public synchronized boolean getBoolean(String key, boolean defaultValue) {
+        String value = properties.getProperty(key);
+        return value != null ? Boolean.parseBoolean(value.trim()) : defaultValue;
+    }
+
+    /**
+     * Zmienia wartość logiczną ustawienia i zapisuje plik.
+     *
+     * @param key klucz ustawienia
+     * @param value nowa wartość
+     */
+    public synchronized void setBoolean(String key, boolean value) {
+        properties.setProperty(key, Boolean.toString(value));
+        save();
+    }
+
+    /**
+     * Zwraca tekstową wartość ustawienia.
+     *
+     * @param key klucz ustawienia
+     * @param defaultValue wartość, gdy ustawienie nie jest zapisane
+     * @return wartość ustawienia
+     */
+    public synchronized String getString(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue);
+    }
+
+    /**
+     * Zmienia tekstową wartość ustawienia i zapisuje plik.
+     *
+     * @param key klucz ustawienia
+     * @param value nowa wartość
+     */
+    public synchronized void setString(String key, String value) {
+        properties.setProperty(key, value);
+        save();
+    }
+
+    /**
+     * Czy stół gry jest rysowany na płótnie ({@link CanvasTableRenderer}).
+     *
+     * @return true dla płótna, false dla węzłów sceny ({@link NodeTableRenderer})
+     */
+    public boolean isCanvasTable() {
+        return getBoolean(CANVAS_TABLE, false);
+    }
+
+    /**
+     * Wybiera sposób rysowania stołu. Zmiana obowiązuje od następnej gry.
+     *
+     * @param canvas true dla płótna, false dla węzłów sceny
+     */
+    public void setCanvasTable(boolean canvas) {
+        setBoolean(CANVAS_TABLE, canvas);
+        logger.info("Stół gry rysowany " + (canvas ? "na płótnie" : "węzłami sceny"));
+    }
+
+    /**
+     * Zwraca zapisany profil renderowania. Profil obowiązujący w bieżącym uruchomieniu
+     * zwraca {@link RenderProfile#active()}.
+     *
+     * @return zapisany profil ({@link RenderProfile#STANDARD}, jeśli brak lub nieznany)
+     */
+    public RenderProfile getRenderProfile() {
+        String value = getString(RENDER_PROFILE, RenderProfile.STANDARD.name());
+        try {
+            return RenderProfile.valueOf(value.trim());
+        } catch (IllegalArgumentException e) {
+            logger.warning("Nieznany profil renderowania: " + value);
+            return RenderProfile.STANDARD;
+        }
+    }
+
+    /**
+     * Zapisuje profil renderowania. Zmiana obowiązuje od następnego uruchomienia.
+     *
+     * @param profile nowy profil
+     */
+    public void setRenderProfile(RenderProfile profile) {
+        setString(RENDER_PROFILE, profile.name());
+        logger.info("Profil renderowania " + profile + " - obowiązuje po ponownym uruchomieniu");
+    }
+
+    private void load() {
+        if (!Files.exists(file)) {
+            return;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+            logger.info("Wczytano ustawienia z " + file.toAbsolutePath());
+        } catch (IOException e) {
+            logger.error(e, "Błąd wczytywania ustawień z " + file);
+        }
+    }
+
+    private void save() {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            properties.store(writer, "Ustawienia klienta UNO");
+        } catch (IOException e) {
+            logger.error(e, "Błąd zapisu ustawień do " + file);
+        }
+    }
+}
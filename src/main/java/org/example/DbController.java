@@ -1,18 +1,14 @@
 package org.example;
 
+import javafx.application.Platform;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
-import javafx.stage.Stage;
 
 import java.io.IOException;
 
@@ -21,8 +17,10 @@ import java.io.IOException;
  * Odpowiada za pobieranie danych z serwera, wyświetlanie ich w tabeli
  * oraz zarządzanie połączeniem sieciowym z serwerem rankingu.
  *
+ * <p>Widok rankingu jest przechowywany przez {@link SceneNavigator}, dlatego dane
+ * pobierane są przy każdej aktywacji widoku, a nie przy jego załadowaniu.</p>
  */
-public class DbController {
+public class DbController implements SceneLifecycle {
     private static final Logger logger = Logger.getInstance();
 
     @FXML
@@ -35,11 +33,14 @@ public class DbController {
     private TableColumn<PlayerScore, Integer> winsColumn;
 
     private ObservableList<PlayerScore> scoreData = FXCollections.observableArrayList();
-    private ClientConnection clientConnection;
+    private volatile ClientConnection clientConnection;
+
+    /** Numer ostatniego żądania rankingu; zmieniany tylko w wątku JavaFX. */
+    private long loadRequest = 0;
 
     /**
      * Inicjalizuje kontroler po załadowaniu widoku FXML.
-     * Konfiguruje wiązania kolumn tabeli i rozpoczyna proces ładowania danych.
+     * Konfiguruje wiązania kolumn tabeli; dane ładowane są w {@link #activate()}.
      * Automatycznie wywoływany przez JavaFX.
      */
     @FXML
@@ -50,67 +51,113 @@ public class DbController {
         winsColumn.setCellValueFactory(new PropertyValueFactory<>("wins"));
         scoreTableView.setItems(scoreData);
 
+        logger.info("DbController zainicjalizowany");
+    }
+
+    /**
+     * Pobiera aktualny ranking przy każdym wyświetleniu widoku, bez blokowania wątku JavaFX.
+     */
+    @Override
+    public void activate() {
         connectAndLoadData();
+    }
 
-        logger.info("DbController zainicjalizowany");
+    /**
+     * Czyści dane tabeli. Połączenie z serwerem rankingu zamykane jest
+     * po każdym pobraniu danych.
+     */
+    @Override
+    public void dispose() {
+        // Odpowiedź na trwające żądanie nie trafi już do tabeli
+        loadRequest++;
+        scoreData.clear();
     }
 
     /**
-     * Nawiązuje połączenie z serwerem i ładuje dane rankingu.
-     * W przypadku błędu połączenia lub przetwarzania danych,
-     * ładowane są przykładowe dane lokalne.
+     * Pobiera ranking w tle i wyświetla go w tabeli po otrzymaniu odpowiedzi.
+     * Wynik starszego żądania (np. po opuszczeniu widoku) jest pomijany.
      */
     private void connectAndLoadData() {
-        try {
-            logger.info("Ładowanie danych rankingu...");
-            clientConnection = new ClientConnection();
+        long request = ++loadRequest;
+        logger.info("Ładowanie danych rankingu...");
+        Thread loader = new Thread(() -> {
+            Runnable update = fetchRanking();
+            Platform.runLater(() -> {
+                if (request == loadRequest) {
+                    update.run();
+                } else {
+                    logger.debug("Pomijam nieaktualną odpowiedź rankingu");
+                }
+            });
+        }, "uno-ranking");
+        loader.setDaemon(true);
+        loader.start();
+    }
 
+    /**
+     * Nawiązuje połączenie z serwerem i pobiera dane rankingu. Wywoływana poza wątkiem JavaFX.
+     * W przypadku błędu połączenia lub przetwarzania danych, ładowane są przykładowe dane lokalne.
+     *
+     * @return aktualizacja tabeli do wykonania w wątku JavaFX
+     */
+    private Runnable fetchRanking() {
+        ClientConnection connection = new ClientConnection();
+        clientConnection = connection;
+        try {
             // Próba połączenia z serwerem
             logger.info("Próba połączenia z serwerem...");
-            if (clientConnection.connect()) {
+            if (connection.connect()) {
                 logger.info("Połączono z serwerem. Wysyłam TOP5...");
 
                 // Wysyłamy żądanie TOP5
-                if (clientConnection.sendMessage("TOP5")) {
+                if (connection.sendMessage("TOP5")) {
                     logger.info("TOP5 wysłano. Oczekuję odpowiedzi...");
 
                     // Odbieramy odpowiedź z serwera
-                    String response = clientConnection.receiveMessage();
+                    String response = connection.receiveMessage();
                     logger.info("Otrzymana odpowiedź: " + response);
 
                     if (response != null && !response.isEmpty()) {
                         if (response.startsWith("TOP5")) {
-                            processServerResponse(response);
-                            logger.info("Dane z serwera załadowane pomyślnie.");
+                            return () -> {
+                                processServerResponse(response);
+                                logger.info("Dane z serwera załadowane pomyślnie.");
+                            };
                         } else if (response.startsWith("ERROR")) {
                             logger.error("Serwer zwrócił błąd: " + response);
-                            showAlert("Błąd serwera", "Serwer zwrócił błąd: " + response);
-                            loadSampleData();
+                            return () -> {
+                                showAlert("Błąd serwera", "Serwer zwrócił błąd: " + response);
+                                loadSampleData();
+                            };
                         } else {
                             logger.warning("Nieznana odpowiedź serwera: " + response);
-                            loadSampleData();
+                            return this::loadSampleData;
                         }
                     } else {
                         logger.error("Pusta odpowiedź serwera");
-                        loadSampleData();
+                        return this::loadSampleData;
                     }
                 } else {
                     logger.error("Nie udało się wysłać żądania TOP5");
-                    showAlert("Błąd komunikacji", "Nie udało się wysłać żądania do serwera");
-                    loadSampleData();
+                    return () -> {
+                        showAlert("Błąd komunikacji", "Nie udało się wysłać żądania do serwera");
+                        loadSampleData();
+                    };
                 }
             } else {
                 logger.error("Nie udało się połączyć z serwerem");
-                showAlert("Brak połączenia", "Nie można połączyć się z serwerem rankingu. Sprawdź, czy serwer jest uruchomiony.");
-                loadSampleData();
+                return () -> {
+                    showAlert("Brak połączenia", "Nie można połączyć się z serwerem rankingu. Sprawdź, czy serwer jest uruchomiony.");
+                    loadSampleData();
+                };
             }
         } catch (Exception e) {
             logger.error(e, "Błąd podczas ładowania danych");
-            loadSampleData();
+            return this::loadSampleData;
         } finally {
             // Zawsze zamykamy połączenie
-            if (clientConnection != null && clientConnection.isConnected()) {
-                clientConnection.disconnect();
+            if (connection.isConnected()) {
+                connection.disconnect();
                 logger.info("Połączenie z serwerem rankingu zamknięte");
             }
         }
@@ -248,17 +295,7 @@ public class DbController {
             logger.debug("Połączenie z serwerem rankingu zamknięte");
         }
 
-        Stage stage;
-        Scene scene;
-        Parent root;
-        root = FXMLLoader.load(getClass().getResource("/main_menu.fxml"));
-        stage = (Stage)((Node)event.getSource()).getScene().getWindow();
-        scene = new Scene(root);
-        scene.getStylesheets().add(getClass().getResource("/style.css").toExternalForm());
-        stage.setScene(scene);
-        stage.setFullScreenExitHint("");
-        stage.setFullScreen(true);
-        stage.show();
+        SceneNavigator.getInstance().navigate(SceneNavigator.stageOf(event), "/main_menu.fxml", "/style.css");
 
         logger.info("Przełączono do głównego menu");
     }
@@ -272,7 +309,6 @@ public class DbController {
     private void refreshData(ActionEvent event) {
         logger.info("Odświeżam dane...");
         connectAndLoadData();
-        logger.info("Dane odświeżone");
     }
 
     /**
@@ -0,0 +1,229 @@
+package org.example;
+
+import javafx.application.Platform;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Wykrywa zablokowanie wątku JavaFX (np. blokujące I/O w procedurach obsługi zdarzeń).
+ * Co {@value #PING_INTERVAL_MS} ms wysyła do wątku JavaFX {@code Platform.runLater}
+ * i sprawdza, czy odpowiedź nadeszła. Gdy odpowiedź spóźnia się ponad próg
+ * (domyślnie {@value #DEFAULT_THRESHOLD_MS} ms, właściwość {@code -Duno.stallThresholdMs}),
+ * pobiera stos wątku JavaFX przy każdym kolejnym sprawdzeniu aż do odblokowania.
+ *
+ * <p>Po odblokowaniu zapisuje do logu czas zablokowania, ramkę blokującą (najczęstsza
+ * ramka kodu aplikacji w pobranych stosach) i początek stosu. Liczba zablokowań trafia
+ * do licznika {@code fx.stalls}, czasy do histogramu {@code fx.stall}, a najgorsze miejsca
+ * (według łącznego czasu) do wskaźnika {@code fx.stall.worst}.</p>
+ *
+ * <p>Okna modalne otwierane przez {@code showAndWait} nie są zablokowaniem - zagnieżdżona
+ * pętla zdarzeń nadal wykonuje zadania {@code Platform.runLater}.</p>
+ *
+ * Implementuje wzorzec Singleton.
+ */
+public class FxStallWatchdog {
+
+    private static FxStallWatchdog instance;
+    private static final Logger logger = Logger.getInstance();
+
+    /** Odstęp między sprawdzeniami wątku JavaFX. */
+    static final long PING_INTERVAL_MS = 100;
+
+    /** Domyślny próg zablokowania. */
+    static final long DEFAULT_THRESHOLD_MS = 250;
+
+    /** Liczba ramek stosu zapisywanych do logu przy zablokowaniu. */
+    private static final int LOGGED_FRAMES = 12;
+
+    private final long thresholdNanos = Long.getLong("uno.stallThresholdMs", DEFAULT_THRESHOLD_MS) * 1_000_000;
+    private final ClientMetrics metrics = ClientMetrics.getInstance();
+    private final LatencyHistogram stallTimes = metrics.histogram("fx.stall");
+    private final Map<String, Offender> offenders = new ConcurrentHashMap<>();
+
+    private volatile Thread fxThread;
+    private ScheduledFuture<?> task;
+
+    // Stan bieżącego sprawdzenia (chroniony monitorem obiektu)
+    private long pingSentNanos;
+    private boolean stalled;
+    private StackTraceElement[] firstStack;
+    private final Map<String, Integer> stallFrames = new HashMap<>();
+
+    /**
+     * Prywatny konstruktor - wzorzec Singleton
+     */
+    private FxStallWatchdog() {
+        metrics.registerGauge("fx.stall.worst", () -> String.join("; ", getWorstOffenders(3)));
+    }
+
+    /**
+     * Zwraca instancję FxStallWatchdog (Singleton)
+     */
+    public static FxStallWatchdog getInstance() {
+        if (instance == null) {
+            synchronized (FxStallWatchdog.class) {
+                if (instance == null) {
+                    instance = new FxStallWatchdog();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Uruchamia sprawdzanie wątku JavaFX. Kolejne wywołania nie mają efektu.
+     */
+    public synchronized void start() {
+        if (task != null) {
+            return;
+        }
+        task = ClientScheduler.getInstance().scheduleAtFixedRate(this, "watchdog wątku JavaFX",
+                PING_INTERVAL_MS, PING_INTERVAL_MS, this::check);
+        logger.info("Watchdog wątku JavaFX uruchomiony, próg " + thresholdNanos / 1_000_000 + " ms");
+    }
+
+    /**
+     * Zatrzymuje sprawdzanie wątku JavaFX.
+     */
+    public synchronized void stop() {
+        ClientScheduler.getInstance().cancel(task);
+        task = null;
+        pingSentNanos = 0;
+        stalled = false;
+        stallFrames.clear();
+    }
+
+    /**
+     * Zwraca miejsca blokujące wątek JavaFX, od największego łącznego czasu zablokowania.
+     *
+     * @param limit maksymalna liczba pozycji
+     * @return opisy w formacie "ramka: liczba×, suma ms, max ms"
+     */
+    public List<String> getWorstOffenders(int limit) {
+        List<Offender> sorted = new ArrayList<>(offenders.values());
+        sorted.sort(Comparator.comparingLong((Offender o) -> o.totalNanos).reversed());
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < Math.min(limit, sorted.size()); i++) {
+            result.add(sorted.get(i).toString());
+        }
+        return result;
+    }
+
+    /**
+     * Zapisuje do logu podsumowanie zablokowań wątku JavaFX.
+     */
+    public void logSummary() {
+        LatencyHistogram.Snapshot stats = stallTimes.snapshot();
+        if (stats.getCount() == 0) {
+            logger.info("Wątek JavaFX nie był blokowany");
+            return;
+        }
+        logger.info("Zablokowania wątku JavaFX: " + stats.getCount() + ", " + stats);
+        for (String offender : getWorstOffenders(10)) {
+            logger.info("  " + offender);
+        }
+    }
+
+    /**
+     * Sprawdzenie wykonywane co {@value #PING_INTERVAL_MS} ms przez {@link ClientScheduler}.
+     */
+    private synchronized void check() {
+        if (pingSentNanos == 0) {
+            long token = System.nanoTime();
+            pingSentNanos = token;
+            Platform.runLater(() -> acknowledge(token));
+            return;
+        }
+        Thread thread = fxThread;
+        if (System.nanoTime() - pingSentNanos >= thresholdNanos && thread != null) {
+            StackTraceElement[] stack = thread.getStackTrace();
+            if (!stalled) {
+                stalled = true;
+                firstStack = stack;
+            }
+            stallFrames.merge(blockingFrame(stack), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Odpowiedź wątku JavaFX na sprawdzenie.
+     */
+    private synchronized void acknowledge(long token) {
+        if (token != pingSentNanos) {
+            return;
+        }
+        fxThread = Thread.currentThread();
+        long duration = System.nanoTime() - token;
+        pingSentNanos = 0;
+        if (stalled || duration >= thresholdNanos) {
+            report(duration);
+        }
+        stalled = false;
+        firstStack = null;
+        stallFrames.clear();
+    }
+
+    private void report(long durationNanos) {
+        String frame = stallFrames.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse("nieznana ramka");
+        stallTimes.record(durationNanos);
+        metrics.increment("fx.stalls");
+        offenders.computeIfAbsent(frame, Offender::new).add(durationNanos);
+
+        StringBuilder message = new StringBuilder();
+        message.append("Wątek JavaFX zablokowany przez ").append(durationNanos / 1_000_000)
+                .append(" ms w ").append(frame);
+        if (firstStack != null) {
+            for (int i = 0; i < Math.min(LOGGED_FRAMES, firstStack.length); i++) {
+                message.append("\n    at ").append(firstStack[i]);
+            }
+        }
+        logger.warning(message.toString());
+    }
+
+    /**
+     * Zwraca ramkę odpowiedzialną za zablokowanie: pierwszą ramkę kodu aplikacji,
+     * a gdy jej brak - szczyt stosu.
+     */
+    private static String blockingFrame(StackTraceElement[] stack) {
+        for (StackTraceElement element : stack) {
+            if (element.getClassName().startsWith("org.example.")) {
+                return element.toString();
+            }
+        }
+        return stack.length > 0 ? stack[0].toString() : "nieznana ramka";
+    }
+
+    /**
+     * Statystyki zablokowań przypisanych do jednej ramki.
+     */
+    private static final class Offender {
+        final String frame;
+        long count;
+        long totalNanos;
+        long maxNanos;
+
+        Offender(String frame) {
+            this.frame = frame;
+        }
+
+        synchronized void add(long nanos) {
+            count++;
+            totalNanos += nanos;
+            maxNanos = Math.max(maxNanos, nanos);
+        }
+
+        @Override
+        public synchronized String toString() {
+            return frame + ": " + count + "×, suma " + totalNanos / 1_000_000 + " ms, max " + maxNanos / 1_000_000 + " ms";
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Przyrostowa aktualizacja stanu gry w protokole delta ({@code DELTA/1}).
+ * Zamiast pełnego PLAY_RESULT serwer wysyła tylko zmiany, oznaczone numerem sekwencyjnym:
+ *
+ * <pre>
+ * DELTA &lt;seq&gt; &lt;op&gt;[|&lt;op&gt;...]
+ *
+ * HAND+ karta1,karta2   - karty dodane do ręki gracza
+ * HAND- karta1,karta2   - karty usunięte z ręki gracza
+ * COUNT gracz +n|-n     - zmiana liczby kart przeciwnika
+ * TURN gracz            - zmiana tury
+ * TOP karta             - nowa wierzchnia karta
+ * PLAYED gracz karta    - informacja o zagranej karcie
+ * </pre>
+ *
+ * Karty mogą być zapisane tekstowo lub zwięźle ({@link CardCodec}).
+ *
+ * Klasa nie zależy od JavaFX i może być używana poza interfejsem użytkownika.
+ */
+public class GameDelta {
+
+    /** Wersja protokołu delta zgłaszana serwerowi przy INIT_GAME. */
+    public static final String PROTOCOL_VERSION = "DELTA/1";
+
+    /** Rodzaje operacji przyrostowych. */
+    public enum Type { HAND_ADD, HAND_REMOVE, COUNT, TURN, TOP, PLAYED }
+
+    /**
+     * Pojedyncza operacja przyrostowa.
+     */
+    public static final class Op {
+        private final Type type;
+        private final String player;
+        private final List<String> cards;
+        private final int countDelta;
+
+        private Op(Type type, String player, List<String> cards, int countDelta) {
+            this.type = type;
+            this.player = player;
+            this.cards = cards;
+            this.countDelta = countDelta;
+        }
+
+        /** @return rodzaj operacji */
+        public Type getType() { return type; }
+
+        /** @return gracz, którego dotyczy operacja (COUNT, TURN, PLAYED) lub null */
+        public String getPlayer() { return player; }
+
+        /** @return karty, których dotyczy operacja (HAND+, HAND-, TOP, PLAYED) */
+        public List<String> getCards() { return cards; }
+
+        /** @return zmiana liczby kart przeciwnika (COUNT) */
+        public int getCountDelta() { return countDelta; }
+
+        @Override
+        public String toString() {
+            return type + (player != null ? " " + player : "") +
+                    (cards.isEmpty() ? "" : " " + cards) + (type == Type.COUNT ? " " + countDelta : "");
+        }
+    }
+
+    private final long sequence;
+    private final List<Op> ops;
+
+    private GameDelta(long sequence, List<Op> ops) {
+        this.sequence = sequence;
+        this.ops = Collections.unmodifiableList(ops);
+    }
+
+    /**
+     * Parsuje treść komunikatu DELTA (bez prefiksu "DELTA ").
+     *
+     * @param data dane w formacie "seq op[|op...]"
+     * @return sparsowana aktualizacja
+     * @throws IllegalArgumentException jeśli format jest nieprawidłowy
+     */
+    public static GameDelta parse(String data) {
+        String[] head = data.trim().split(" ", 2);
+        if (head.length != 2) {
+            throw new IllegalArgumentException("Nieprawidłowy format DELTA: " + data);
+        }
+
+        long sequence;
+        try {
+            sequence = Long.parseLong(head[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Nieprawidłowy numer sekwencyjny DELTA: " + head[0]);
+        }
+
+        List<Op> ops = new ArrayList<>();
+        for (String opStr : head[1].split("\\|")) {
+            opStr = opStr.trim();
+            if (!opStr.isEmpty()) {
+                ops.add(parseOp(opStr));
+            }
+        }
+        return new GameDelta(sequence, ops);
+    }
+
+    /**
+     * Parsuje pojedynczą operację.
+     */
+    private static Op parseOp(String opStr) {
+        String[] parts = opStr.split(" ");
+        switch (parts[0]) {
+            case "HAND+":
+                return new Op(Type.HAND_ADD, null, splitCards(parts, 1), 0);
+            case "HAND-":
+                return new Op(Type.HAND_REMOVE, null, splitCards(parts, 1), 0);
+            case "COUNT":
+                requireArgs(parts, 3, opStr);
+                try {
+                    return new Op(Type.COUNT, parts[1], Collections.emptyList(), Integer.parseInt(parts[2]));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Nieprawidłowa zmiana liczby kart: " + opStr);
+                }
+            case "TURN":
+                requireArgs(parts, 2, opStr);
+                return new Op(Type.TURN, parts[1], Collections.emptyList(), 0);
+            case "TOP":
+                requireArgs(parts, 2, opStr);
+                return new Op(Type.TOP, null, List.of(CardCodec.decodeCard(parts[1])), 0);
+            case "PLAYED":
+                requireArgs(parts, 3, opStr);
+                return new Op(Type.PLAYED, parts[1], List.of(CardCodec.decodeCard(parts[2])), 0);
+            default:
+                throw new IllegalArgumentException("Nieznana operacja DELTA: " + opStr);
+        }
+    }
+
+    private static void requireArgs(String[] parts, int count, String opStr) {
+        if (parts.length < count) {
+            throw new IllegalArgumentException("Za mało argumentów operacji DELTA: " + opStr);
+        }
+    }
+
+    private static List<String> splitCards(String[] parts, int index) {
+        if (parts.length <= index) {
+            return Collections.emptyList();
+        }
+        return CardCodec.decodeList(parts[index]);
+    }
+
+    /** @return numer sekwencyjny aktualizacji */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /** @return lista operacji w kolejności zastosowania */
+    public List<Op> getOps() {
+        return ops;
+    }
+}
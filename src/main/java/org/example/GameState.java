@@ -0,0 +1,100 @@
+package org.example;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Niezmienna migawka stanu gry widzianego przez klienta.
+ * Każda zmiana stanu w {@link GameStateStore} tworzy nową migawkę z kolejnym numerem wersji,
+ * dzięki czemu migawkę można bezpiecznie przekazywać pomiędzy wątkami.
+ *
+ * <p>Karty zapisane są tekstowo w formacie "kolor:wartość". Przeciwnicy przechowywani
+ * są w kolejności miejsc przy stole, w jakiej podał ich serwer.</p>
+ *
+ * Klasa nie zależy od JavaFX i może być używana poza interfejsem użytkownika.
+ */
+public final class GameState {
+
+    /** Elementy stanu, których zmiany można obserwować osobno. */
+    public enum Field { TOP_CARD, TURN, HAND, OPPONENTS }
+
+    /** Stan przed rozpoczęciem gry. */
+    public static final GameState EMPTY = new GameState(0, null, null, List.of(), Map.of());
+
+    private final long version;
+    private final String topCard;
+    private final String currentPlayer;
+    private final List<String> hand;
+    private final Map<String, Integer> opponents;
+
+    /**
+     * Tworzy migawkę stanu. Kolekcje są kopiowane.
+     *
+     * @param version numer wersji stanu
+     * @param topCard wierzchnia karta lub null
+     * @param currentPlayer gracz wykonujący turę lub null
+     * @param hand karty w ręce gracza
+     * @param opponents liczba kart przeciwników w kolejności miejsc
+     */
+    GameState(long version, String topCard, String currentPlayer, List<String> hand, Map<String, Integer> opponents) {
+        this.version = version;
+        this.topCard = topCard;
+        this.currentPlayer = currentPlayer;
+        this.hand = List.copyOf(hand);
+        this.opponents = Collections.unmodifiableMap(new LinkedHashMap<>(opponents));
+    }
+
+    /** @return numer wersji stanu (rośnie przy każdej zmianie) */
+    public long getVersion() { return version; }
+
+    /** @return wierzchnia karta w formacie "kolor:wartość" lub null przed rozpoczęciem gry */
+    public String getTopCard() { return topCard; }
+
+    /** @return gracz wykonujący turę lub null przed rozpoczęciem gry */
+    public String getCurrentPlayer() { return currentPlayer; }
+
+    /** @return niemodyfikowalna lista kart w ręce gracza */
+    public List<String> getHand() { return hand; }
+
+    /** @return niemodyfikowalna mapa gracz -&gt; liczba kart, w kolejności miejsc przy stole */
+    public Map<String, Integer> getOpponents() { return opponents; }
+
+    /**
+     * Sprawdza, czy tura należy do podanego gracza.
+     *
+     * @param player nazwa gracza
+     * @return true jeśli gracz wykonuje bieżącą turę
+     */
+    public boolean isTurnOf(String player) {
+        return player != null && player.equals(currentPlayer);
+    }
+
+    /**
+     * Wyznacza elementy stanu, które różnią się od innej migawki.
+     *
+     * @param other migawka do porównania
+     * @return zbiór zmienionych elementów (pusty, jeśli stany są równe)
+     */
+    public Set<Field> diff(GameState other) {
+        EnumSet<Field> changed = EnumSet.noneOf(Field.class);
+        if (!Objects.equals(topCard, other.topCard)) changed.add(Field.TOP_CARD);
+        if (!Objects.equals(currentPlayer, other.currentPlayer)) changed.add(Field.TURN);
+        if (!hand.equals(other.hand)) changed.add(Field.HAND);
+        // Kolejność miejsc też jest częścią stanu - porównanie z uwzględnieniem kolejności
+        if (!List.copyOf(opponents.entrySet()).equals(List.copyOf(other.opponents.entrySet()))) {
+            changed.add(Field.OPPONENTS);
+        }
+        return changed;
+    }
+
+    @Override
+    public String toString() {
+        return "GameState{v" + version + ", top=" + topCard + ", turn=" + currentPlayer +
+                ", hand=" + hand.size() + ", opponents=" + opponents + "}";
+    }
+}
@@ -0,0 +1,655 @@
+package org.example;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Bezpieczny wątkowo magazyn stanu gry po stronie klienta.
+ * Stosuje komunikaty protokołu zmieniające stan (INIT_GAME, PLAY_RESULT, HAND, TOP_CARD,
+ * PLAYERS, TURN, DREW, DELTA, SNAPSHOT, STATE) w wątku, który je odebrał, i publikuje
+ * niezmienne, wersjonowane migawki {@link GameState}.
+ *
+ * <p>Słuchacze otrzymują poprzednią i bieżącą migawkę wraz ze zbiorem zmienionych
+ * elementów, więc interfejs odświeża tylko to, co faktycznie się zmieniło.
+ * Słuchacze wywoływani są w kolejności zmian, ale dopiero po zwolnieniu blokady magazynu,
+ * więc mogą wysyłać komunikaty do serwera bez blokowania wątków stosujących zmiany.
+ * Jeśli inny wątek właśnie dostarcza zdarzenia, dostarcza też zdarzenia zgłoszone
+ * w międzyczasie. Słuchacze nie powinni blokować (interfejs powinien przekazać pracę
+ * do wątku JavaFX).</p>
+ *
+ * <p>Magazyn pozwala też na optymistyczne zagranie ({@link #predictPlay(String, String)}):
+ * przewidywany stan jest publikowany od razu, a potwierdzony stan serwera przechowywany
+ * osobno. Odpowiedź serwera potwierdza przewidywanie albo je wycofuje.</p>
+ *
+ * <p>Magazyn obsługuje też numerację aktualizacji przyrostowych ({@link GameDelta}):
+ * przy luce w numeracji zgłasza potrzebę pobrania pełnego stanu przez
+ * {@link Listener#onResyncRequired()}.</p>
+ *
+ * Klasa nie zależy od JavaFX - może być używana przez boty i testy bez interfejsu.
+ */
+public class GameStateStore {
+
+    /**
+     * Słuchacz zmian stanu gry.
+     */
+    public interface Listener {
+        /**
+         * Wywoływana po każdej zmianie stanu.
+         *
+         * @param previous poprzednia migawka
+         * @param current bieżąca migawka
+         * @param changed zmienione elementy stanu (nigdy pusty)
+         */
+        void onStateChanged(GameState previous, GameState current, Set<GameState.Field> changed);
+
+        /**
+         * Wywoływana, gdy gracz zagrał kartę (PLAY_RESULT, PLAYED lub operacja DELTA).
+         *
+         * @param player gracz, który zagrał kartę
+         * @param card zagrana karta w formacie "kolor:wartość"
+         */
+        default void onCardPlayed(String player, String card) {}
+
+        /**
+         * Wywoływana, gdy gracz dobrał kartę (DREW).
+         *
+         * @param card dobrana karta w formacie "kolor:wartość"
+         */
+        default void onCardDrawn(String card) {}
+
+        /**
+         * Wywoływana, gdy stan mógł się rozjechać ze stanem serwera i należy wysłać
+         * żądanie {@code SNAPSHOT}.
+         */
+        default void onResyncRequired() {}
+
+        /**
+         * Wywoływana po zastosowaniu pełnego stanu (STATE lub SNAPSHOT).
+         */
+        default void onResynchronized() {}
+
+        /**
+         * Wywoływana, gdy serwer rozstrzygnął optymistyczne zagranie.
+         *
+         * @param card przewidziana karta
+         * @param confirmed true jeśli serwer potwierdził zagranie, false jeśli przewidywanie
+         *                  zostało wycofane (ERROR lub inny wynik zagrania)
+         */
+        default void onPredictionResolved(String card, boolean confirmed) {}
+    }
+
+    /**
+     * Oczekujące optymistyczne zagranie karty.
+     */
+    private static final class Prediction {
+        final String player;
+        final String card;
+        final long madeNanos = System.nanoTime();
+
+        Prediction(String player, String card) {
+            this.player = player;
+            this.card = card;
+        }
+    }
+
+    /** Czas, po którym nierozstrzygnięte przewidywanie jest porzucane. */
+    private static final long PREDICTION_EXPIRY_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final Logger logger = Logger.getInstance();
+    private final ClientMetrics metrics = ClientMetrics.getInstance();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    /** Stan publikowany słuchaczom (z uwzględnieniem przewidywania). */
+    private volatile GameState state = GameState.EMPTY;
+
+    /** Ostatni stan potwierdzony przez serwer. */
+    private GameState confirmed = GameState.EMPTY;
+
+    /** Oczekujące optymistyczne zagranie lub null. */
+    private Prediction prediction;
+
+    /** Czy serwer potwierdził przyrostowy protokół aktualizacji (DELTA/1). */
+    private boolean deltaMode = false;
+
+    /** Numer sekwencyjny oczekiwanej następnej aktualizacji DELTA. */
+    private long expectedDeltaSeq = 0;
+
+    /** Czy po wykryciu luki oczekujemy na pełny stan (SNAPSHOT). */
+    private boolean awaitingSnapshot = false;
+
+    /** Zdarzenia dla słuchaczy zgłoszone pod blokadą, czekające na dostarczenie. */
+    private final ArrayDeque<Consumer<Listener>> pendingEvents = new ArrayDeque<>();
+
+    /** Czy któryś wątek dostarcza właśnie zdarzenia słuchaczom. */
+    private boolean delivering = false;
+
+    /**
+     * Zwraca bieżącą migawkę stanu gry. Metoda nie blokuje.
+     *
+     * @return bieżący stan gry
+     */
+    public GameState getState() {
+        return state;
+    }
+
+    /**
+     * Dodaje słuchacza zmian stanu.
+     *
+     * @param listener słuchacz
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Usuwa słuchacza zmian stanu.
+     *
+     * @param listener słuchacz
+     */
+    public void removeListener(Listener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Sprawdza, czy aktywny jest przyrostowy protokół aktualizacji.
+     *
+     * @return true po otrzymaniu DELTA_ON lub pierwszej aktualizacji DELTA
+     */
+    public synchronized boolean isDeltaMode() {
+        return deltaMode;
+    }
+
+    /**
+     * Stosuje komunikat serwera, jeśli zmienia on stan gry.
+     *
+     * @param message pojedynczy komunikat serwera
+     * @return true jeśli komunikat został obsłużony przez magazyn,
+     *         false jeśli nie dotyczy stanu gry (np. WINNER, ERROR)
+     */
+    public boolean apply(String message) {
+        boolean handled;
+        synchronized (this) {
+            handled = applyLocked(message);
+        }
+        deliverEvents();
+        return handled;
+    }
+
+    private boolean applyLocked(String message) {
+        String trimmed = message.trim();
+        int space = trimmed.indexOf(' ');
+        String command = space < 0 ? trimmed : trimmed.substring(0, space);
+        String data = space < 0 ? "" : trimmed.substring(space + 1);
+
+        try {
+            switch (command) {
+                case "INIT_GAME":
+                    dropPrediction();
+                    applyFullState(data, "INIT_GAME");
+                    return true;
+                case "STATE":
+                    dropPrediction();
+                    applyFullState(data, "STATE");
+                    notifyResynchronized();
+                    return true;
+                case "SNAPSHOT":
+                    applySnapshot(data);
+                    return true;
+                case "PLAY_RESULT":
+                    applyPlayResult(data);
+                    return true;
+                case "HAND":
+                    commit(confirmed.getTopCard(), confirmed.getCurrentPlayer(), CardCodec.decodeList(data), confirmed.getOpponents());
+                    return true;
+                case "TOP_CARD":
+                    commit(CardCodec.decodeCard(data), confirmed.getCurrentPlayer(), confirmed.getHand(), confirmed.getOpponents());
+                    return true;
+                case "PLAYERS":
+                    commit(confirmed.getTopCard(), confirmed.getCurrentPlayer(), confirmed.getHand(), parseOpponents(data));
+                    return true;
+                case "TURN":
+                    commit(confirmed.getTopCard(), data, confirmed.getHand(), confirmed.getOpponents());
+                    return true;
+                case "DREW":
+                    applyDrawn(data);
+                    return true;
+                case "PLAYED":
+                    applyPlayed(data);
+                    return true;
+                case "DELTA_ON":
+                    logger.info("Serwer potwierdził protokół przyrostowy: " + trimmed);
+                    enableDeltaMode(data);
+                    return true;
+                case "DELTA":
+                    applyDelta(data);
+                    return true;
+                default:
+                    return false;
+            }
+        } catch (IllegalArgumentException e) {
+            logger.error("Błędny komunikat stanu gry " + command + ": " + e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Optymistycznie zagrywa kartę: publikuje stan, w którym karta leży już na stole
+     * i nie ma jej w ręce, nie czekając na odpowiedź serwera. Stan potwierdzony
+     * przez serwer pozostaje bez zmian do czasu rozstrzygnięcia.
+     *
+     * @param player gracz zagrywający kartę (główny gracz)
+     * @param card karta w formacie "kolor:wartość"
+     * @return true jeśli przewidywanie zostało zastosowane; false jeśli inne zagranie
+     *         czeka na rozstrzygnięcie lub karty nie ma w ręce
+     */
+    public boolean predictPlay(String player, String card) {
+        boolean predicted;
+        synchronized (this) {
+            predicted = predictPlayLocked(player, card);
+        }
+        deliverEvents();
+        return predicted;
+    }
+
+    private boolean predictPlayLocked(String player, String card) {
+        if (prediction != null && System.nanoTime() - prediction.madeNanos > PREDICTION_EXPIRY_NANOS) {
+            // Serwer nie rozstrzygnął zagrania (np. odpowiedział tylko stanem) - nie blokuj kolejnych
+            metrics.increment("predict.expired");
+            prediction = null;
+            publish(confirmed);
+        }
+        if (prediction != null || !confirmed.getHand().contains(card)) {
+            return false;
+        }
+        prediction = new Prediction(player, card);
+        metrics.increment("predict.made");
+        publish(confirmed);
+        return true;
+    }
+
+    /**
+     * Wycofuje oczekujące przewidywanie po odrzuceniu ruchu przez serwer (ERROR).
+     *
+     * @return true jeśli było oczekujące przewidywanie
+     */
+    public boolean rejectPrediction() {
+        synchronized (this) {
+            if (prediction == null) {
+                return false;
+            }
+            metrics.increment("predict.rejected");
+            resolvePrediction(false, false, true);
+        }
+        deliverEvents();
+        return true;
+    }
+
+    /**
+     * Sprawdza, czy optymistyczne zagranie czeka na rozstrzygnięcie.
+     *
+     * @return true jeśli przewidywanie jest aktywne
+     */
+    public synchronized boolean hasPendingPrediction() {
+        return prediction != null;
+    }
+
+    /**
+     * Prosi o pełny stan gry, np. po wykryciu luki w numeracji DELTA.
+     * Kolejne żądania są pomijane, dopóki pełny stan nie zostanie zastosowany.
+     */
+    public void requestSnapshot() {
+        synchronized (this) {
+            requestSnapshotLocked();
+        }
+        deliverEvents();
+    }
+
+    private void requestSnapshotLocked() {
+        if (awaitingSnapshot) {
+            return;
+        }
+        awaitingSnapshot = true;
+        metrics.increment("proto.snapshot.requested");
+        emit(Listener::onResyncRequired);
+    }
+
+    /**
+     * Kasuje oczekujące żądanie pełnego stanu, np. po wznowieniu połączenia,
+     * gdy poprzednie żądanie mogło zostać utracone.
+     */
+    public synchronized void clearSnapshotRequest() {
+        awaitingSnapshot = false;
+    }
+
+    /**
+     * Stosuje pełny stan w formacie "wierzchnia_karta aktualny_gracz przeciwnicy ręka".
+     */
+    private void applyFullState(String data, String command) {
+        String[] parts = data.split(" ", 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("oczekiwano 4 pól: " + data);
+        }
+        commit(CardCodec.decodeCard(parts[0]), parts[1], CardCodec.decodeList(parts[3]), parseOpponents(parts[2]));
+        logger.debug(command + " zastosowany: " + state);
+    }
+
+    /**
+     * Stosuje pełny stan wysłany na żądanie w trybie przyrostowym ("seq stan").
+     */
+    private void applySnapshot(String data) {
+        dropPrediction();
+        String[] parts = data.split(" ", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("oczekiwano numeru sekwencyjnego i stanu: " + data);
+        }
+        long sequence;
+        try {
+            sequence = Long.parseLong(parts[0]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("nieprawidłowy numer sekwencyjny: " + parts[0]);
+        }
+        applyFullState(parts[1], "SNAPSHOT");
+        expectedDeltaSeq = sequence + 1;
+        awaitingSnapshot = false;
+        notifyResynchronized();
+    }
+
+    /**
+     * Stosuje wynik zagrania: "gracz karta wierzchnia_karta aktualny_gracz przeciwnicy ręka".
+     */
+    private void applyPlayResult(String data) {
+        String[] parts = data.split(" ", 6);
+        if (parts.length != 6) {
+            throw new IllegalArgumentException("oczekiwano 6 pól: " + data);
+        }
+        String card = CardCodec.decodeCard(parts[1]);
+        // Pełny stan z PLAY_RESULT zastępuje przewidywanie
+        checkPrediction(parts[0], card, true);
+        commit(CardCodec.decodeCard(parts[2]), parts[3], CardCodec.decodeList(parts[5]), parseOpponents(parts[4]));
+        notifyCardPlayed(parts[0], card);
+    }
+
+    private void applyDrawn(String data) {
+        String card = CardCodec.decodeCard(data.trim());
+        List<String> hand = new ArrayList<>(confirmed.getHand());
+        hand.add(card);
+        commit(confirmed.getTopCard(), confirmed.getCurrentPlayer(), hand, confirmed.getOpponents());
+        emit(listener -> listener.onCardDrawn(card));
+    }
+
+    private void applyPlayed(String data) {
+        String[] parts = data.trim().split(" ");
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("oczekiwano gracza i karty: " + data);
+        }
+        String card = CardCodec.decodeCard(parts[1]);
+        // Sam PLAYED nie niesie stanu - potwierdzone przewidywanie staje się stanem potwierdzonym
+        checkPrediction(parts[0], card, false);
+        notifyCardPlayed(parts[0], card);
+    }
+
+    private void enableDeltaMode(String seqStr) {
+        deltaMode = true;
+        awaitingSnapshot = false;
+        try {
+            expectedDeltaSeq = seqStr.isEmpty() ? 0 : Long.parseLong(seqStr.trim());
+        } catch (NumberFormatException e) {
+            logger.warning("Nieprawidłowy numer sekwencyjny DELTA_ON: " + seqStr);
+            expectedDeltaSeq = 0;
+        }
+    }
+
+    /**
+     * Stosuje aktualizację przyrostową. Przy luce w numeracji prosi o pełny stan
+     * i pomija kolejne aktualizacje aż do jego otrzymania. Duplikaty są ignorowane.
+     * Wszystkie operacje jednej aktualizacji tworzą jedną nową wersję stanu.
+     */
+    private void applyDelta(String data) {
+        GameDelta delta;
+        try {
+            delta = GameDelta.parse(data);
+        } catch (IllegalArgumentException e) {
+            logger.error("Błędna aktualizacja DELTA: " + e.getMessage());
+            requestSnapshotLocked();
+            return;
+        }
+
+        if (!deltaMode) {
+            logger.warning("Otrzymano DELTA bez DELTA_ON - przyjmuję numerację serwera");
+            enableDeltaMode(String.valueOf(delta.getSequence()));
+        }
+        if (awaitingSnapshot) {
+            logger.debug("Oczekiwanie na SNAPSHOT, pomijam DELTA " + delta.getSequence());
+            return;
+        }
+        if (delta.getSequence() < expectedDeltaSeq) {
+            logger.debug("Duplikat DELTA " + delta.getSequence() + ", pomijam");
+            return;
+        }
+        if (delta.getSequence() > expectedDeltaSeq) {
+            logger.warning("Luka w aktualizacjach: oczekiwano " + expectedDeltaSeq +
+                    ", otrzymano " + delta.getSequence());
+            metrics.increment("proto.delta.gaps");
+            requestSnapshotLocked();
+            return;
+        }
+
+        String topCard = confirmed.getTopCard();
+        String currentPlayer = confirmed.getCurrentPlayer();
+        List<String> hand = new ArrayList<>(confirmed.getHand());
+        Map<String, Integer> opponents = new LinkedHashMap<>(confirmed.getOpponents());
+        List<GameDelta.Op> played = new ArrayList<>();
+
+        for (GameDelta.Op op : delta.getOps()) {
+            logger.debug("Stosuję DELTA: " + op);
+            switch (op.getType()) {
+                case HAND_ADD:
+                    hand.addAll(op.getCards());
+                    break;
+                case HAND_REMOVE:
+                    for (String card : op.getCards()) {
+                        hand.remove(card);
+                    }
+                    break;
+                case COUNT:
+                    opponents.merge(op.getPlayer(), op.getCountDelta(), Integer::sum);
+                    break;
+                case TURN:
+                    currentPlayer = op.getPlayer();
+                    break;
+                case TOP:
+                    topCard = op.getCards().get(0);
+                    break;
+                case PLAYED:
+                    played.add(op);
+                    break;
+            }
+        }
+
+        // Aktualizacja niesie też HAND- i TOP dla zagranej karty - zastępuje przewidywanie
+        for (GameDelta.Op op : played) {
+            checkPrediction(op.getPlayer(), op.getCards().get(0), true);
+        }
+        commit(topCard, currentPlayer, hand, opponents);
+        for (GameDelta.Op op : played) {
+            notifyCardPlayed(op.getPlayer(), op.getCards().get(0));
+        }
+        expectedDeltaSeq++;
+        metrics.increment("proto.delta.applied");
+    }
+
+    /**
+     * Zapisuje nowy stan potwierdzony przez serwer i publikuje go
+     * (z nałożonym przewidywaniem, jeśli jakieś czeka na rozstrzygnięcie).
+     */
+    private void commit(String topCard, String currentPlayer, List<String> hand, Map<String, Integer> opponents) {
+        confirmed = new GameState(confirmed.getVersion() + 1, topCard, currentPlayer, hand, opponents);
+        publish(confirmed);
+    }
+
+    /**
+     * Publikuje stan, jeśli różni się od opublikowanego, i powiadamia słuchaczy.
+     *
+     * @param base stan potwierdzony, na który nakładane jest oczekujące przewidywanie
+     */
+    private void publish(GameState base) {
+        String topCard = base.getTopCard();
+        List<String> hand = base.getHand();
+        if (prediction != null && hand.contains(prediction.card)) {
+            topCard = prediction.card;
+            hand = new ArrayList<>(hand);
+            hand.remove(prediction.card);
+        }
+
+        GameState previous = state;
+        GameState candidate = new GameState(previous.getVersion() + 1, topCard, base.getCurrentPlayer(),
+                hand, base.getOpponents());
+        Set<GameState.Field> changed = candidate.diff(previous);
+        if (changed.isEmpty()) {
+            return;
+        }
+        state = candidate;
+        metrics.increment("state.versions");
+        emit(listener -> listener.onStateChanged(previous, candidate, changed));
+    }
+
+    /**
+     * Rozstrzyga przewidywanie na podstawie zagrania zgłoszonego przez serwer.
+     * Zagrania innych graczy nie rozstrzygają przewidywania.
+     *
+     * @param player gracz, który zagrał kartę według serwera
+     * @param card karta zagrana według serwera
+     * @param stateFollows czy komunikat serwera niesie też nowy stan, który zostanie
+     *                     zastosowany zaraz potem (przewidywanie nie jest wtedy wliczane
+     *                     do stanu ani osobno publikowane)
+     */
+    private void checkPrediction(String player, String card, boolean stateFollows) {
+        if (prediction == null || !prediction.player.equals(player)) {
+            return;
+        }
+        boolean match = prediction.card.equals(card);
+        if (match) {
+            metrics.increment("predict.confirmed");
+            // Czas, przez który interfejs czekałby na odpowiedź serwera bez przewidywania
+            metrics.histogram("predict.saved").record(System.nanoTime() - prediction.madeNanos);
+        } else {
+            metrics.increment("predict.conflict");
+            logger.warning("Serwer zgłosił inne zagranie (" + card + ") niż przewidywane (" + prediction.card + ")");
+        }
+        resolvePrediction(match, match && !stateFollows, !stateFollows);
+    }
+
+    /**
+     * Kończy przewidywanie i powiadamia słuchaczy.
+     *
+     * @param confirmedByServer czy serwer potwierdził zagranie
+     * @param keep czy wliczyć przewidywanie do stanu potwierdzonego
+     * @param publishNow czy opublikować stan od razu (false, gdy zaraz nastąpi zmiana stanu)
+     */
+    private void resolvePrediction(boolean confirmedByServer, boolean keep, boolean publishNow) {
+        Prediction resolved = prediction;
+        if (keep) {
+            List<String> hand = new ArrayList<>(confirmed.getHand());
+            hand.remove(resolved.card);
+            confirmed = new GameState(confirmed.getVersion() + 1, resolved.card, confirmed.getCurrentPlayer(),
+                    hand, confirmed.getOpponents());
+        }
+        prediction = null;
+        if (publishNow) {
+            // Przy wycofaniu publikowany jest stan potwierdzony, co przywraca kartę do ręki
+            publish(confirmed);
+        }
+        emit(listener -> listener.onPredictionResolved(resolved.card, confirmedByServer));
+    }
+
+    /**
+     * Porzuca przewidywanie bez rozstrzygania, gdy serwer przysyła pełny stan gry.
+     */
+    private void dropPrediction() {
+        if (prediction != null) {
+            metrics.increment("predict.superseded");
+            prediction = null;
+        }
+    }
+
+    private void notifyCardPlayed(String player, String card) {
+        emit(listener -> listener.onCardPlayed(player, card));
+    }
+
+    private void notifyResynchronized() {
+        emit(Listener::onResynchronized);
+    }
+
+    /**
+     * Zgłasza zdarzenie dla słuchaczy (tylko pod blokadą magazynu).
+     * Zdarzenie zostanie dostarczone przez {@link #deliverEvents()} po zwolnieniu blokady.
+     */
+    private void emit(Consumer<Listener> event) {
+        pendingEvents.addLast(event);
+    }
+
+    /**
+     * Dostarcza słuchaczom zgłoszone zdarzenia w kolejności zgłoszenia, bez blokady magazynu.
+     * Zdarzenia dostarcza naraz tylko jeden wątek - jeśli inny wątek już to robi,
+     * dostarczy również zdarzenia zgłoszone przez bieżący wątek.
+     */
+    private void deliverEvents() {
+        synchronized (this) {
+            if (delivering) {
+                return;
+            }
+            delivering = true;
+        }
+        boolean drained = false;
+        try {
+            while (true) {
+                Consumer<Listener> event;
+                synchronized (this) {
+                    event = pendingEvents.pollFirst();
+                    if (event == null) {
+                        delivering = false;
+                        drained = true;
+                        return;
+                    }
+                }
+                for (Listener listener : listeners) {
+                    event.accept(listener);
+                }
+            }
+        } finally {
+            if (!drained) {
+                // Wyjątek słuchacza - pozostałe zdarzenia dostarczy następne wywołanie
+                synchronized (this) {
+                    delivering = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * Parsuje listę przeciwników w formacie "gracz1:liczba_kart,gracz2:liczba_kart,...",
+     * zachowując kolejność miejsc przy stole.
+     *
+     * @param playersStr ciąg z informacjami o graczach
+     * @return mapa nazwa gracza -&gt; liczba kart
+     */
+    public static Map<String, Integer> parseOpponents(String playersStr) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (String player : playersStr.split(",")) {
+            if (!player.isEmpty()) {
+                String[] parts = player.split(":");
+                if (parts.length == 2) {
+                    result.put(parts[0], Integer.parseInt(parts[1]));
+                }
+            }
+        }
+        return result;
+    }
+}
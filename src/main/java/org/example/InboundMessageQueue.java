@@ -0,0 +1,220 @@
+package org.example;
+
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Ograniczona kolejka komunikatów serwera oczekujących na przetworzenie w wątku JavaFX.
+ *
+ * <p>Komunikaty zmieniające stan gry stosuje od razu {@link GameStateStore} w wątku
+ * odbierającym, więc trafiają tu tylko komunikaty obsługiwane przez kontroler
+ * ({@code WINNER}, {@code CHOOSE_COLOR}, {@code ERROR} itp.). Są one przetwarzane
+ * w kolejności przyjęcia, z wyjątkiem komunikatów wymagających reakcji gracza
+ * ({@code CHOOSE_COLOR}, {@code WINNER}), które trafiają do osobnej, uprzywilejowanej
+ * kolejki i wyprzedzają zwykłe komunikaty.</p>
+ *
+ * <p>Gdy kolejka jest pełna, wątek odbierający czeka (co spowalnia odczyt z gniazda
+ * i przenosi presję na serwer). Jeśli miejsce nie zwolni się w wyznaczonym czasie,
+ * komunikat jest odrzucany, a kolejka zgłasza przepełnienie ({@link #takeOverflow()}),
+ * po którym należy pobrać pełny stan gry.</p>
+ */
+public class InboundMessageQueue {
+
+    /** Domyślna pojemność kolejki. */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /** Domyślny czas oczekiwania na wolne miejsce (w milisekundach). */
+    public static final long DEFAULT_OFFER_TIMEOUT_MS = 500;
+
+    private static final Set<String> PRIORITY = Set.of("CHOOSE_COLOR", "WINNER");
+
+    /**
+     * Komunikat w kolejce wraz z czasem wstawienia.
+     */
+    private static final class Entry {
+        final String message;
+        final long enqueuedNanos;
+
+        Entry(String message) {
+            this.message = message;
+            this.enqueuedNanos = System.nanoTime();
+        }
+    }
+
+    private final ClientMetrics metrics = ClientMetrics.getInstance();
+    private final LatencyHistogram waitTimes = metrics.histogram("inbound.queue.wait");
+
+    private final ArrayDeque<Entry> normal = new ArrayDeque<>();
+    private final ArrayDeque<Entry> priority = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notFull = lock.newCondition();
+    private final int capacity;
+    private final long offerTimeoutNanos;
+
+    private int maxDepth = 0;
+    private boolean overflow = false;
+
+    /**
+     * Tworzy kolejkę z domyślną pojemnością i czasem oczekiwania.
+     */
+    public InboundMessageQueue() {
+        this(DEFAULT_CAPACITY, DEFAULT_OFFER_TIMEOUT_MS);
+    }
+
+    /**
+     * Tworzy kolejkę o podanej pojemności.
+     *
+     * @param capacity maksymalna liczba komunikatów w kolejce
+     * @param offerTimeoutMs maksymalny czas oczekiwania na wolne miejsce przed odrzuceniem komunikatu
+     */
+    public InboundMessageQueue(int capacity, long offerTimeoutMs) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Pojemność kolejki musi być dodatnia: " + capacity);
+        }
+        this.capacity = capacity;
+        this.offerTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(offerTimeoutMs);
+        metrics.registerGauge("inbound.queue.depth", this::size);
+        metrics.registerGauge("inbound.queue.max_depth", this::getMaxDepth);
+    }
+
+    /**
+     * Dodaje komunikat na koniec kolejki (zwykłej lub uprzywilejowanej).
+     * Przy pełnej kolejce czeka na wolne miejsce; po upływie limitu odrzuca komunikat.
+     *
+     * @param message komunikat serwera
+     * @return true jeśli komunikat został przyjęty, false jeśli został odrzucony
+     * @throws InterruptedException jeśli wątek został przerwany podczas oczekiwania
+     */
+    public boolean offer(String message) throws InterruptedException {
+        String command = commandOf(message);
+        ArrayDeque<Entry> lane = PRIORITY.contains(command) ? priority : normal;
+
+        lock.lock();
+        try {
+            long remaining = offerTimeoutNanos;
+            if (sizeLocked() >= capacity) {
+                metrics.increment("inbound.queue.blocked");
+            }
+            while (sizeLocked() >= capacity) {
+                if (remaining <= 0) {
+                    overflow = true;
+                    metrics.increment("inbound.queue.dropped");
+                    Logger.getInstance().warning("Kolejka komunikatów pełna, odrzucam: " + command);
+                    return false;
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+
+            lane.addLast(new Entry(message));
+            maxDepth = Math.max(maxDepth, sizeLocked());
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Pobiera kolejny komunikat do przetworzenia bez blokowania.
+     * Komunikaty uprzywilejowane są zwracane przed zwykłymi.
+     *
+     * @return komunikat lub null, jeśli kolejka jest pusta
+     */
+    public String poll() {
+        Entry entry;
+        lock.lock();
+        try {
+            entry = priority.pollFirst();
+            if (entry != null && !normal.isEmpty()) {
+                metrics.increment("inbound.queue.overtaken");
+            } else if (entry == null) {
+                entry = normal.pollFirst();
+            }
+            if (entry == null) {
+                return null;
+            }
+            notFull.signal();
+        } finally {
+            lock.unlock();
+        }
+
+        waitTimes.record(System.nanoTime() - entry.enqueuedNanos);
+        return entry.message;
+    }
+
+    /**
+     * Sprawdza i kasuje znacznik przepełnienia. Po odrzuceniu komunikatu stan
+     * wyświetlany przez klienta może być niepełny i należy pobrać go od serwera.
+     *
+     * @return true jeśli od ostatniego wywołania odrzucono jakiś komunikat
+     */
+    public boolean takeOverflow() {
+        lock.lock();
+        try {
+            boolean result = overflow;
+            overflow = false;
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Zwraca liczbę komunikatów w kolejce.
+     *
+     * @return bieżąca głębokość kolejki
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return sizeLocked();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Zwraca największą zaobserwowaną głębokość kolejki.
+     *
+     * @return maksymalna liczba komunikatów jednocześnie oczekujących w kolejce
+     */
+    public int getMaxDepth() {
+        lock.lock();
+        try {
+            return maxDepth;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Usuwa wszystkie komunikaty i budzi oczekujący wątek odbierający.
+     */
+    public void clear() {
+        lock.lock();
+        try {
+            normal.clear();
+            priority.clear();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Wyznacza nazwę komendy (tekst do pierwszej spacji).
+     *
+     * @param message komunikat serwera
+     * @return nazwa komendy
+     */
+    static String commandOf(String message) {
+        int space = message.indexOf(' ');
+        return space < 0 ? message : message.substring(0, space);
+    }
+
+    private int sizeLocked() {
+        return normal.size() + priority.size();
+    }
+}
@@ -0,0 +1,143 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Histogram czasów (np. RTT) oparty na buforze cyklicznym ostatnich próbek.
+ * Przechowuje ograniczoną liczbę najnowszych pomiarów, dzięki czemu percentyle
+ * odzwierciedlają bieżący stan, a zużycie pamięci jest stałe.
+ * Klasa jest bezpieczna wątkowo.
+ */
+public class LatencyHistogram {
+    private final long[] samples;
+    private int next = 0;
+    private int size = 0;
+    private long totalCount = 0;
+    private long minEver = Long.MAX_VALUE;
+
+    /**
+     * Tworzy histogram z domyślną pojemnością 1024 próbek.
+     */
+    public LatencyHistogram() {
+        this(1024);
+    }
+
+    /**
+     * Tworzy histogram przechowujący podaną liczbę najnowszych próbek.
+     *
+     * @param capacity maksymalna liczba przechowywanych próbek
+     */
+    public LatencyHistogram(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Pojemność histogramu musi być dodatnia: " + capacity);
+        }
+        this.samples = new long[capacity];
+    }
+
+    /**
+     * Dodaje próbkę do histogramu.
+     *
+     * @param valueNanos zmierzona wartość w nanosekundach
+     */
+    public synchronized void record(long valueNanos) {
+        samples[next] = valueNanos;
+        next = (next + 1) % samples.length;
+        if (size < samples.length) {
+            size++;
+        }
+        totalCount++;
+        if (valueNanos < minEver) {
+            minEver = valueNanos;
+        }
+    }
+
+    /**
+     * Usuwa wszystkie zapisane próbki.
+     */
+    public synchronized void reset() {
+        next = 0;
+        size = 0;
+        totalCount = 0;
+        minEver = Long.MAX_VALUE;
+    }
+
+    /**
+     * Zwraca niezmienną migawkę statystyk z bieżących próbek.
+     *
+     * @return migawka statystyk histogramu
+     */
+    public Snapshot snapshot() {
+        long[] copy;
+        long count;
+        long min;
+        synchronized (this) {
+            copy = Arrays.copyOf(samples, size);
+            count = totalCount;
+            min = minEver;
+        }
+        if (copy.length == 0) {
+            return new Snapshot(0, 0, 0, 0, 0, 0);
+        }
+        Arrays.sort(copy);
+        return new Snapshot(count, min, percentile(copy, 0.50), percentile(copy, 0.99),
+                percentile(copy, 0.999), copy[copy.length - 1]);
+    }
+
+    /**
+     * Wyznacza percentyl z posortowanej tablicy metodą najbliższej rangi.
+     */
+    private static long percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    /**
+     * Niezmienna migawka statystyk histogramu. Wartości w nanosekundach.
+     */
+    public static final class Snapshot {
+        private final long count;
+        private final long min;
+        private final long p50;
+        private final long p99;
+        private final long p999;
+        private final long max;
+
+        Snapshot(long count, long min, long p50, long p99, long p999, long max) {
+            this.count = count;
+            this.min = min;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.p999 = p999;
+            this.max = max;
+        }
+
+        /** @return łączna liczba zarejestrowanych próbek */
+        public long getCount() { return count; }
+
+        /** @return najmniejsza zarejestrowana wartość */
+        public long getMin() { return min; }
+
+        /** @return mediana z bieżących próbek */
+        public long getP50() { return p50; }
+
+        /** @return 99. percentyl z bieżących próbek */
+        public long getP99() { return p99; }
+
+        /** @return 99,9. percentyl z bieżących próbek */
+        public long getP999() { return p999; }
+
+        /** @return największa wartość z bieżących próbek */
+        public long getMax() { return max; }
+
+        /**
+         * Zwraca skrócony opis statystyk w milisekundach.
+         *
+         * @return opis w formacie "min/p50/p99 ms"
+         */
+        @Override
+        public String toString() {
+            return String.format("min=%.1fms p50=%.1fms p99=%.1fms (n=%d)",
+                    min / 1e6, p50 / 1e6, p99 / 1e6, count);
+        }
+    }
+}
@@ -3,18 +3,15 @@ package org.example;
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
-import javafx.stage.Stage;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
-public class LobbyController {
+public class LobbyController implements SceneLifecycle {
     @FXML
     private ListView<String> userListView;
     @FXML
@@ -28,6 +25,8 @@ public class LobbyController {
     private String nickname;
     private Thread messageReceiver;
     private volatile boolean running = false;
+    // Połączenie przekazane do kontrolera gry - nie jest zamykane przy zwalnianiu lobby
+    private boolean connectionHandedOff = false;
 
     @FXML
     public void initialize() {
@@ -40,14 +39,18 @@ public class LobbyController {
         this.nickname = nickname;
 
         if (clientConnection != null && clientConnection.isConnected()) {
+            clientConnection.startHeartbeat();
             startMessageReceiver();
         } else {
             showError("Brak połączenia z serwerem");
-            try {
-                goBackToMainMenu();
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            // Scena lobby nie jest jeszcze wyświetlona - powrót po zakończeniu bieżącego przełączania
+            Platform.runLater(() -> {
+                try {
+                    goBackToMainMenu();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            });
         }
     }
 
@@ -61,6 +64,9 @@ public class LobbyController {
             while (running && clientConnection != null && clientConnection.isConnected()) {
                 String message = clientConnection.receiveMessage();
                 if (message == null) {
+                    if (!running) {
+                        break; // Lobby zwolnione - połączenie zamknięte celowo
+                    }
                     // Połączenie zostało zamknięte
                     Platform.runLater(() -> {
                         showError("Utracono połączenie z serwerem");
@@ -72,15 +78,21 @@ public class LobbyController {
                     });
                     break;
                 }
+                if (message.startsWith("START_GAME")) {
+                    // Dalsze komunikaty odbiera kontroler gry
+                    running = false;
+                }
                 Platform.runLater(() -> handleServerMessage(message));
             }
             running = false;
-        });
+        }, "uno-lobby-receiver");
         messageReceiver.setDaemon(true);
         messageReceiver.start();
     }
 
     private void handleServerMessage(String message) {
+        ClientEvents.MessageDispatched event = new ClientEvents.MessageDispatched();
+        event.begin();
         System.out.println("Otrzymano od serwera: " + message);
 
         if (message.startsWith("USERLIST ")) {
@@ -109,38 +121,51 @@ public class LobbyController {
         } else if (message.startsWith("ERROR")) {
             showError(message);
         }
+        event.commit(message, "LobbyController");
     }
 
     private void updateUserList(String usersStr) {
+        List<String> users = parseUserList(usersStr);
         Platform.runLater(() -> {
-            userList.clear();
-            if (usersStr == null || usersStr.trim().isEmpty()) {
-                return;
-            }
+            userList.setAll(users);
+            updateReadyButtonState();
+        });
+    }
 
-            String[] users = usersStr.split(",");
-            for (String userEntry : users) {
-                if (!userEntry.isEmpty()) {
-                    // Format: "username:READY" lub "username:NOT_READY"
-                    String[] parts = userEntry.split(":");
-                    if (parts.length == 2) {
-                        String username = parts[0].trim();
-                        String status = parts[1].trim();
+    /**
+     * Parsuje listę graczy lobby w formacie "gracz1:READY,gracz2:NOT_READY,..."
+     * na wpisy listy, w których gotowi gracze oznaczeni są znakiem "✓ ".
+     *
+     * @param usersStr lista graczy z komunikatu USERLIST (może być null)
+     * @return wpisy listy graczy w kolejności z komunikatu
+     */
+    public static List<String> parseUserList(String usersStr) {
+        List<String> result = new ArrayList<>();
+        if (usersStr == null || usersStr.trim().isEmpty()) {
+            return result;
+        }
 
-                        if (status.equals("READY")) {
-                            userList.add("✓ " + username);
-                        } else {
-                            userList.add(username);
-                        }
+        String[] users = usersStr.split(",");
+        for (String userEntry : users) {
+            if (!userEntry.isEmpty()) {
+                // Format: "username:READY" lub "username:NOT_READY"
+                String[] parts = userEntry.split(":");
+                if (parts.length == 2) {
+                    String username = parts[0].trim();
+                    String status = parts[1].trim();
+
+                    if (status.equals("READY")) {
+                        result.add("✓ " + username);
                     } else {
-                        // Dla kompatybilności z poprzednimi wersjami
-                        userList.add(userEntry);
+                        result.add(username);
                     }
+                } else {
+                    // Dla kompatybilności z poprzednimi wersjami
+                    result.add(userEntry);
                 }
             }
-
-            updateReadyButtonState();
-        });
+        }
+        return result;
     }
 
     private void updateUserStatus(String user, boolean ready) {
@@ -216,54 +241,40 @@ public class LobbyController {
 
     @FXML
     private void handleExitButton(ActionEvent event) throws IOException {
-        running = false;
-
         if (clientConnection != null) {
             if (isReady) {
                 clientConnection.sendMessage("UNREADY " + nickname);
             }
             clientConnection.sendMessage("EXIT " + nickname);
-            clientConnection.disconnect();
-        }
-
-        if (messageReceiver != null) {
-            messageReceiver.interrupt();
         }
 
+        // Połączenie i wątek odbierający zamyka dispose() wywołane przez nawigator
         goBackToMainMenu();
     }
 
     private void goBackToMainMenu() throws IOException {
-        Stage stage = (Stage) userListView.getScene().getWindow();
-        Parent root = FXMLLoader.load(getClass().getResource("/main_menu.fxml"));
-        Scene scene = new Scene(root);
-        scene.getStylesheets().add(getClass().getResource("/style.css").toExternalForm());
-        stage.setScene(scene);
-        stage.setFullScreenExitHint("");
-        stage.setFullScreen(true);
-        stage.show();
+        SceneNavigator.getInstance().navigate(SceneNavigator.stageOf(userListView), "/main_menu.fxml", "/style.css");
     }
 
     private void switch_to_game() throws IOException {
-        running = false;
+        connectionHandedOff = true;
+        SceneNavigator.getInstance().showGame(SceneNavigator.stageOf(userListView), clientConnection, nickname);
+    }
 
+    /**
+     * Zatrzymuje wątek odbierający. Połączenie jest zamykane, chyba że zostało
+     * przekazane do kontrolera gry.
+     */
+    @Override
+    public void dispose() {
+        running = false;
         if (messageReceiver != null) {
             messageReceiver.interrupt();
+            messageReceiver = null;
+        }
+        if (clientConnection != null && !connectionHandedOff) {
+            clientConnection.disconnect();
         }
-
-        Stage stage = (Stage) userListView.getScene().getWindow();
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/uno_game.fxml"));
-        Parent root = loader.load();
-
-        UnoController gameController = loader.getController();
-        gameController.setupConnection(clientConnection, nickname);
-
-        Scene scene = new Scene(root);
-        scene.getStylesheets().add(getClass().getResource("/style.css").toExternalForm());
-        stage.setScene(scene);
-        stage.setFullScreenExitHint("");
-        stage.setFullScreen(true);
-        stage.show();
     }
 
     private void showError(String message) {
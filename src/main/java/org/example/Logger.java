@@ -20,6 +20,9 @@ public class Logger {
     private final SimpleDateFormat dateFormat;
     private final ReentrantLock lock;
 
+    /** Czy zapisywać wiadomości DEBUG (właściwość {@code -Duno.log.debug}, domyślnie włączone). */
+    private volatile boolean debugEnabled = Boolean.parseBoolean(System.getProperty("uno.log.debug", "true"));
+
     // Poziomy logowania
     public static final String INFO = "INFO";
     public static final String WARNING = "WARNING";
@@ -80,6 +83,9 @@ public class Logger {
      * @param message wiadomość do zalogowania
      */
     public void log(String level, String message) {
+        if (!debugEnabled && DEBUG.equals(level)) {
+            return;
+        }
         lock.lock();
         try {
             String timestamp = dateFormat.format(new Date());
@@ -138,6 +144,24 @@ public class Logger {
         log(DEBUG, message);
     }
 
+    /**
+     * Włącza lub wyłącza zapisywanie wiadomości debug
+     *
+     * @param enabled true, aby zapisywać wiadomości debug
+     */
+    public void setDebugEnabled(boolean enabled) {
+        debugEnabled = enabled;
+    }
+
+    /**
+     * Sprawdza, czy wiadomości debug są zapisywane
+     *
+     * @return true jeśli wiadomości debug są zapisywane
+     */
+    public boolean isDebugEnabled() {
+        return debugEnabled;
+    }
+
     /**
      * Formatuje i loguje wyjątek
      *
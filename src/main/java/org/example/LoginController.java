@@ -7,18 +7,13 @@
 package org.example;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Node;
-import javafx.scene.Parent;
 import javafx.application.Platform;
-import javafx.scene.Scene;
 import javafx.scene.control.TextField;
 import javafx.scene.control.TextFormatter;
 import javafx.scene.control.Button;
 import javafx.scene.control.PasswordField;
 import javafx.scene.control.Label;
 import javafx.event.ActionEvent;
-import javafx.stage.Stage;
 import java.io.IOException;
 import java.util.function.UnaryOperator;
 
@@ -60,6 +55,11 @@ public class LoginController {
      */
     private ClientConnection clientConnection;
 
+    /**
+     * Czy trwa logowanie w tle (blokuje ponowne kliknięcie przycisku).
+     */
+    private volatile boolean loginInProgress;
+
     /**
      * Serwis odpowiedzialny za uwierzytelnianie użytkowników.
      */
@@ -104,16 +104,21 @@ public class LoginController {
 
     /**
      * Obsługuje kliknięcie przycisku "Graj".
-     * Wykonuje walidację danych logowania, nawiązuje połączenie z serwerem,
-     * wysyła dane uwierzytelniające i oczekuje na odpowiedź serwera.
+     * Wykonuje walidację danych logowania, a następnie w osobnym wątku nawiązuje połączenie
+     * z serwerem, negocjuje funkcje protokołu, wysyła dane uwierzytelniające i oczekuje
+     * na odpowiedź serwera, aby nie blokować wątku JavaFX.
      *
      * @param event zdarzenie akcji przycisku
-     * @throws IOException w przypadku błędu ładowania widoku lobby
      */
     @FXML
-    private void handlePlayButton(ActionEvent event) throws IOException {
+    private void handlePlayButton(ActionEvent event) {
         logger.info("=== ROZPOCZĘCIE LOGOWANIA ===");
 
+        if (loginInProgress) {
+            logger.debug("Logowanie już trwa - pomijam kliknięcie");
+            return;
+        }
+
         savedLoginText = loginTextField.getText().trim();
         savedPassword = passwordField.getText();
 
@@ -152,41 +157,73 @@ public class LoginController {
             clientConnection.disconnect();
         }
 
-        clientConnection = new ClientConnection();
-        logger.info("Łączę z serwerem (localhost:2137)...");
+        ClientConnection connection = new ClientConnection();
+        clientConnection = connection;
+        loginInProgress = true;
+        Thread loginThread = new Thread(() -> {
+            try {
+                login(connection, savedLoginText, hashedPassword, event);
+            } finally {
+                loginInProgress = false;
+            }
+        }, "uno-login");
+        loginThread.setDaemon(true);
+        loginThread.start();
+    }
 
-        boolean connected = clientConnection.connect();
+    /**
+     * Łączy z serwerem, negocjuje funkcje protokołu i loguje użytkownika (poza wątkiem JavaFX).
+     * Komunikat LOGIN wysyłany jest dopiero po rozstrzygnięciu negocjacji - serwer może
+     * już używać wynegocjowanego trybu podziału komunikatów i kompresji.
+     *
+     * @param connection nowe połączenie z serwerem
+     * @param nick login użytkownika
+     * @param hashedPassword hash hasła
+     * @param event zdarzenie akcji przycisku (do przejścia do lobby)
+     */
+    private void login(ClientConnection connection, String nick, String hashedPassword, ActionEvent event) {
+        logger.info("Łączę z serwerem (" + connection.getHost() + ":" + connection.getPort() + ")...");
+
+        boolean connected = connection.connect();
         logger.info("Status połączenia: " + connected);
 
         if (!connected) {
             logger.error("Nie udało się połączyć z serwerem");
-            showError("Nie udało się połączyć z serwerem");
-            clientConnection = null;
+            failLogin(connection, "Nie udało się połączyć z serwerem");
             return;
         }
 
-        String loginData = "LOGIN " + savedLoginText + ":" + hashedPassword;
-        logger.info("Wysyłam do serwera: " + savedLoginText);
+        if (connection.negotiateFeatures(CardCodec.FEATURE, BinaryFraming.FEATURE, PayloadCompressor.FEATURE) == null) {
+            logger.error("Nie udało się wysłać propozycji funkcji protokołu");
+            failLogin(connection, "Nie udało się połączyć z serwerem");
+            return;
+        }
 
-        boolean sent = clientConnection.sendMessage(loginData);
+        String loginData = "LOGIN " + nick + ":" + hashedPassword;
+        logger.info("Wysyłam do serwera: " + nick);
+
+        boolean sent = connection.sendMessage(loginData);
         logger.info("Status wysyłania: " + sent);
 
         if (!sent) {
             logger.error("Nie udało się wysłać danych logowania");
-            showError("Nie udało się wysłać danych logowania");
-            clientConnection.disconnect();
-            clientConnection = null;
+            failLogin(connection, "Nie udało się wysłać danych logowania");
             return;
         }
 
         // Odbieraj wiadomości w pętli aż do otrzymania LOGIN_SUCCESS
         long startTime = System.currentTimeMillis();
         long timeout = 100000;
-        boolean loginProcessed = false;
         logger.info("Oczekiwanie na odpowiedź serwera (timeout: " + timeout + "ms)");
 
-        while (!loginProcessed && (System.currentTimeMillis() - startTime) < timeout) {
-            String serverResponse = clientConnection.receiveMessageWithTimeout(1000);
+        while ((System.currentTimeMillis() - startTime) < timeout) {
+            if (!connection.isConnected()) {
+                // Połączenie zamknięte (np. powrót do menu w trakcie logowania)
+                failLogin(connection, "Utracono połączenie z serwerem");
+                return;
+            }
+
+            String serverResponse = connection.receiveMessageWithTimeout(1000);
 
             if (serverResponse == null) {
                 continue; // Kontynuuj oczekiwanie
@@ -195,8 +232,9 @@ public class LoginController {
             logger.debug("Otrzymana odpowiedź: " + serverResponse);
 
             if (serverResponse.startsWith("LOGIN_SUCCESS")) {
-                logger.info("Logowanie pomyślne dla użytkownika: " + savedLoginText);
-                loginProcessed = true;
+                logger.info("Logowanie pomyślne dla użytkownika: " + nick);
+                // Po zalogowaniu zerwane połączenie wznawiamy tokenem sesji (SESSION_TOKEN)
+                connection.setAutoReconnect(true);
                 // Przechodzimy do lobby
                 Platform.runLater(() -> {
                     try {
@@ -206,30 +244,36 @@ public class LoginController {
                         showError("Błąd przejścia do lobby: " + e.getMessage());
                     }
                 });
-                break;
+                return;
             } else if (serverResponse.startsWith("LOGIN_ERROR")) {
                 String errorMessage = serverResponse.substring(11);
                 logger.error("Błąd logowania: " + errorMessage);
-                showError("Błąd logowania: " + errorMessage);
-                clientConnection.disconnect();
-                clientConnection = null;
-                loginProcessed = true;
-                break;
+                failLogin(connection, "Błąd logowania: " + errorMessage);
+                return;
             } else {
                 // Ignoruj inne wiadomości (USERLIST, USER_JOINED itp.)
                 logger.debug("Ignoruję wiadomość podczas logowania: " + serverResponse);
-                continue;
             }
         }
 
-        if (!loginProcessed) {
-            logger.error("Brak odpowiedzi od serwera (timeout)");
-            showError("Brak odpowiedzi od serwera (timeout)");
-            if (clientConnection != null) {
-                clientConnection.disconnect();
+        logger.error("Brak odpowiedzi od serwera (timeout)");
+        failLogin(connection, "Brak odpowiedzi od serwera (timeout)");
+    }
+
+    /**
+     * Zamyka nieudane połączenie i wyświetla błąd w wątku JavaFX.
+     *
+     * @param connection połączenie, którego dotyczyło logowanie
+     * @param message treść komunikatu błędu
+     */
+    private void failLogin(ClientConnection connection, String message) {
+        connection.disconnect();
+        Platform.runLater(() -> {
+            if (clientConnection == connection) {
                 clientConnection = null;
             }
-        }
+            showError(message);
+        });
     }
 
     /**
@@ -297,17 +341,7 @@ public class LoginController {
             logger.debug("Połączenie z serwerem zamknięte");
         }
 
-        Stage stage;
-        Scene scene;
-        Parent root;
-        root = FXMLLoader.load(getClass().getResource("/main_menu.fxml"));
-        stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        scene = new Scene(root);
-        scene.getStylesheets().add(getClass().getResource("/style.css").toExternalForm());
-        stage.setScene(scene);
-        stage.setFullScreenExitHint("");
-        stage.setFullScreen(true);
-        stage.show();
+        SceneNavigator.getInstance().navigate(SceneNavigator.stageOf(event), "/main_menu.fxml", "/style.css");
 
         logger.info("Przełączono do głównego menu");
     }
@@ -330,20 +364,7 @@ public class LoginController {
             return;
         }
 
-        Stage stage;
-        Scene scene;
-        FXMLLoader loader = new FXMLLoader(getClass().getResource("/lobby.fxml"));
-        Parent root = loader.load();
-        LobbyController lobbyController = loader.getController();
-
-        lobbyController.setupConnection(clientConnection, savedLoginText);
-
-        stage = (Stage) ((Node) event.getSource()).getScene().getWindow();
-        scene = new Scene(root);
-        scene.getStylesheets().add(getClass().getResource("/style_log_join.css").toExternalForm());
-        stage.setScene(scene);
-        stage.setFullScreen(true);
-        stage.show();
+        SceneNavigator.getInstance().showLobby(SceneNavigator.stageOf(event), clientConnection, savedLoginText);
 
         logger.info("Przejście do lobby zakończone sukcesem dla użytkownika: " + savedLoginText);
     }
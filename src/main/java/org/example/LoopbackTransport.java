@@ -0,0 +1,216 @@
+package org.example;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Transport w pamięci procesu: każde {@link #open()} tworzy parę połączonych łączy,
+ * z których jedno dostaje klient, a drugie serwer (przez {@code acceptor}).
+ * Komunikaty przekazywane są jako te same obiekty {@link String} - bez kodowania,
+ * kopiowania do buforów i podziału na ramki - więc klient i serwer wymieniają je
+ * z szybkością pamięci przez to samo API, z którego korzystają kontrolery.
+ *
+ * <p>Każdy zapis to jeden komunikat ({@link MessageFraming#preservesBoundaries()}).
+ * Kolejka każdego kierunku ma ograniczoną pojemność - pełna kolejka blokuje zapis,
+ * tak jak pełny bufor gniazda. Zamknięcie dowolnej strony zamyka całe łącze.</p>
+ */
+public class LoopbackTransport implements Transport {
+
+    /** Domyślna liczba komunikatów oczekujących w jednym kierunku. */
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final Consumer<Pipe> acceptor;
+    private final int capacity;
+    private final AtomicLong opened = new AtomicLong();
+
+    /**
+     * @param acceptor odbiorca serwerowej strony każdego nowego łącza; wywoływany w wątku
+     *                 otwierającym połączenie, więc obsługę łącza powinien przekazać do własnego wątku
+     */
+    public LoopbackTransport(Consumer<Pipe> acceptor) {
+        this(acceptor, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param acceptor odbiorca serwerowej strony każdego nowego łącza
+     * @param capacity pojemność kolejki jednego kierunku
+     */
+    public LoopbackTransport(Consumer<Pipe> acceptor, int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Pojemność łącza musi być dodatnia: " + capacity);
+        }
+        this.acceptor = acceptor;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public Link open() throws IOException {
+        long id = opened.incrementAndGet();
+        Pipe client = new Pipe("loopback-client-" + id, capacity);
+        Pipe server = new Pipe("loopback-server-" + id, capacity);
+        client.peer = server;
+        server.peer = client;
+        acceptor.accept(server);
+        if (!client.isOpen()) {
+            throw new IOException("Serwer odrzucił połączenie");
+        }
+        return client;
+    }
+
+    @Override
+    public String describe() {
+        return "loopback";
+    }
+
+    /**
+     * Jedna strona łącza w pamięci: odczytuje z własnej kolejki, zapisuje do kolejki drugiej strony.
+     */
+    public static final class Pipe implements Link, MessageFraming {
+
+        /** Znacznik końca strumienia (porównywany przez tożsamość). */
+        private static final String END = new String("END");
+
+        private final String name;
+        private final BlockingQueue<String> inbound;
+        private final AtomicLong reads = new AtomicLong();
+        private final AtomicLong taken = new AtomicLong();
+        private volatile Pipe peer;
+        private volatile boolean open = true;
+        private volatile int readTimeoutMs;
+
+        Pipe(String name, int capacity) {
+            this.name = name;
+            this.inbound = new LinkedBlockingQueue<>(capacity);
+        }
+
+        @Override
+        public String read() throws IOException {
+            reads.incrementAndGet();
+            String message;
+            try {
+                int timeout = readTimeoutMs;
+                message = timeout == 0 ? inbound.take() : inbound.poll(timeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Przerwano odczyt z " + name);
+            }
+            if (message == null) {
+                throw new SocketTimeoutException("Read timed out");
+            }
+            if (message == END) {
+                // Kolejne odczyty również mają zobaczyć koniec strumienia
+                inbound.offer(END);
+                return null;
+            }
+            taken.incrementAndGet();
+            return message;
+        }
+
+        @Override
+        public void write(String message) throws IOException {
+            Pipe target = peer;
+            if (!open || !target.open) {
+                throw new IOException("Łącze " + name + " jest zamknięte");
+            }
+            try {
+                target.inbound.put(message);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Przerwano zapis do " + target.name);
+            }
+        }
+
+        @Override
+        public String getName() {
+            return "loopback";
+        }
+
+        @Override
+        public boolean preservesBoundaries() {
+            return true;
+        }
+
+        /**
+         * Sprawdza, czy odczytująca strona czeka na komunikat przy pustej kolejce,
+         * tzn. obsłużyła wszystkie wcześniej odebrane komunikaty i wróciła po kolejny.
+         * Pozwala testom i benchmarkom czekać na obsłużenie komunikatów bez opóźnień na zapas.
+         *
+         * @return true jeśli wszystkie komunikaty zostały odebrane, a odbiorca czeka na następny
+         */
+        public boolean isReaderWaiting() {
+            return inbound.isEmpty() && reads.get() > taken.get();
+        }
+
+        /**
+         * @return druga strona łącza
+         */
+        public Pipe peer() {
+            return peer;
+        }
+
+        @Override
+        public MessageFraming framing() {
+            return this;
+        }
+
+        @Override
+        public MessageFraming upgradeFraming(MessageFraming current) {
+            // Komunikaty są przekazywane w całości - ramki binarne niczego nie zmieniają
+            return current;
+        }
+
+        @Override
+        public int getReadTimeout() throws IOException {
+            return readTimeoutMs;
+        }
+
+        @Override
+        public void setReadTimeout(int timeoutMs) throws IOException {
+            if (timeoutMs < 0) {
+                throw new IllegalArgumentException("Ujemny limit czasu: " + timeoutMs);
+            }
+            readTimeoutMs = timeoutMs;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public String getRemoteAddress() {
+            return peer.name;
+        }
+
+        @Override
+        public String getLocalAddress() {
+            return name;
+        }
+
+        @Override
+        public void close() {
+            closeSide();
+            Pipe target = peer;
+            if (target != null) {
+                target.closeSide();
+            }
+        }
+
+        private void closeSide() {
+            if (open) {
+                open = false;
+                // Przy pełnej kolejce nieodebrane komunikaty są odrzucane, aby czekający odczyt się obudził
+                if (!inbound.offer(END)) {
+                    inbound.clear();
+                    inbound.offer(END);
+                }
+            }
+        }
+    }
+}
@@ -1,11 +1,11 @@
 package org.example;
 
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
+import javafx.application.Platform;
 import javafx.stage.Stage;
 
+import java.util.concurrent.ScheduledFuture;
+
 /**
  * Główna klasa aplikacji JavaFX rozszerzająca klasę {@link javafx.application.Application}.
  * <p>
@@ -25,46 +25,57 @@ import javafx.stage.Stage;
 public class Main extends Application {
     private static final Logger logger = Logger.getInstance();
 
+    /** Maksymalny czas wyświetlania ekranu startowego (w milisekundach). */
+    private static final long STARTUP_TIMEOUT_MS = 10_000;
+
+    /** Czy główne menu zostało już wyświetlone (tylko wątek JavaFX). */
+    private boolean menuShown = false;
+
     /**
      * Główna metoda startowa JavaFX, inicjująca interfejs użytkownika.
      * <p>
-     * Ładuje plik FXML z zasobów, tworzy scenę o rozmiarze 1920x1080 pikseli,
-     * dodaje arkusze stylów CSS, konfiguruje tytuł okna i ustawia tryb pełnoekranowy.
+     * Wyświetla ekran startowy z postępem wczytywania zasobów ({@link AssetCache}),
+     * a po ich wczytaniu główne menu przez {@link SceneNavigator} (wspólna scena okna,
+     * tryb pełnoekranowy) i zleca wstępne ładowanie pozostałych widoków bezstanowych.
      * </p>
      *
      * @param primaryStage główne okno (scena) aplikacji JavaFX.
      * @throws Exception jeśli wystąpi błąd podczas ładowania pliku FXML, CSS
      *                   lub inny błąd związany z inicjalizacją interfejsu.
      * @see javafx.stage.Stage
-     * @see javafx.scene.Scene
-     * @see javafx.fxml.FXMLLoader
+     * @see SceneNavigator
      */
     @Override
     public void start(Stage primaryStage) throws Exception {
         logger.info("=== URUCHAMIANIE APLIKACJI UNO ===");
 
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/main_menu.fxml"));
-            logger.debug("Ładowanie pliku FXML: /main_menu.fxml");
+            primaryStage.setTitle("FXML Example");
 
-            Parent root = loader.load();
-            SceneController controller = loader.getController();
-            logger.debug("Kontroler SceneController załadowany");
+            // Wykrywanie blokującej pracy w wątku JavaFX (np. I/O w procedurach obsługi zdarzeń)
+            FxStallWatchdog.getInstance().start();
 
-            Scene scene = new Scene(root, 1920, 1080);
-            logger.debug("Scena utworzona (1920x1080)");
+            // Wspólna scena okna - kolejne widoki podmieniają tylko jej korzeń
+            SceneNavigator navigator = SceneNavigator.getInstance();
+            SplashController splash = navigator.navigate(primaryStage, "/splash.fxml", "/style.css");
+            logger.debug("Ekran startowy wyświetlony");
 
-            scene.getStylesheets().add(getClass().getResource("/style.css").toExternalForm());
-            logger.debug("Style CSS załadowane");
-
-            primaryStage.setTitle("FXML Example");
-            primaryStage.setScene(scene);
-            primaryStage.setFullScreenExitHint("");
-            primaryStage.setFullScreen(true);
-            primaryStage.show();
+            // Zasoby dekodowane w tle; menu pojawia się najpóźniej po upływie limitu
+            ScheduledFuture<?> timeout = ClientScheduler.getInstance().scheduleOnFx(this, "limit wczytywania zasobów",
+                    STARTUP_TIMEOUT_MS, () -> {
+                        logger.warning("Wczytywanie zasobów przekroczyło " + STARTUP_TIMEOUT_MS + " ms");
+                        showMainMenu(primaryStage);
+                    });
+            AssetCache.getInstance().preload(AssetCache.STARTUP_ASSETS, splash::showProgress, () -> {
+                ClientScheduler.getInstance().cancel(timeout);
+                // Tekstury gotowe - obrazy kart renderowane raz, jeszcze pod ekranem startowym
+                if (!menuShown) {
+                    CardAtlas.getInstance().prepareAll();
+                }
+                showMainMenu(primaryStage);
+            });
 
             logger.info("Aplikacja uruchomiona pomyślnie");
-            logger.info("Tryb pełnoekranowy włączony");
 
         } catch (Exception e) {
             logger.error(e, "Błąd podczas uruchamiania aplikacji");
@@ -72,6 +83,29 @@ public class Main extends Application {
         }
     }
 
+    /**
+     * Zastępuje ekran startowy głównym menu (tylko raz) i zleca wstępne ładowanie
+     * pozostałych widoków bezstanowych. Strona autorów, z dużymi zdjęciami, ładowana jest
+     * dopiero przy pierwszym wejściu.
+     *
+     * @param stage główne okno aplikacji
+     */
+    private void showMainMenu(Stage stage) {
+        if (menuShown) {
+            return;
+        }
+        menuShown = true;
+        try {
+            SceneNavigator navigator = SceneNavigator.getInstance();
+            navigator.navigate(stage, "/main_menu.fxml", "/style.css");
+            logger.info("Główne menu załadowane, tryb pełnoekranowy włączony");
+            navigator.preload("/settings.fxml", "/tab_wyn.fxml");
+        } catch (Exception e) {
+            logger.error(e, "Błąd podczas wyświetlania głównego menu");
+            Platform.exit();
+        }
+    }
+
     /**
      * Główna metoda uruchomieniowa aplikacji.
      * <p>
@@ -87,6 +121,13 @@ public class Main extends Application {
         logger.info("Data uruchomienia: " + new java.util.Date());
 
         try {
+            // Częstotliwość klatek JavaFX ustalana jest przy starcie narzędzi graficznych
+            RenderProfile profile = RenderProfile.active();
+            if (System.getProperty("javafx.animation.pulse") == null) {
+                System.setProperty("javafx.animation.pulse", Integer.toString(profile.getPulseRate()));
+            }
+            logger.info("Profil renderowania: " + profile + ", klatki/s: " + System.getProperty("javafx.animation.pulse"));
+
             logger.info("Uruchamianie JavaFX Application...");
             launch(args);
         } catch (Exception e) {
@@ -105,6 +146,9 @@ public class Main extends Application {
         logger.info("=== ZAMYKANIE APLIKACJI ===");
         logger.info("Zamykanie zasobów...");
 
+        FxStallWatchdog.getInstance().stop();
+        FxStallWatchdog.getInstance().logSummary();
+
         // Zamknij logger
         Logger.getInstance().shutdown();
 
@@ -0,0 +1,51 @@
+package org.example;
+
+import java.io.IOException;
+
+/**
+ * Sposób podziału strumienia bajtów na komunikaty protokołu.
+ * {@link ClientConnection} korzysta z jednej implementacji naraz - domyślnie
+ * {@link TextFraming}, a po wynegocjowaniu funkcji {@value BinaryFraming#FEATURE}
+ * z {@link BinaryFraming}. Przy przełączeniu trybu bajty odczytane z wyprzedzeniem
+ * przez {@link TextFraming} przekazywane są do nowego trybu, więc żadne dane nie giną.
+ *
+ * <p>Implementacje nie są bezpieczne wątkowo: odczyt powinien odbywać się z jednego wątku,
+ * a zapisy należy synchronizować po stronie wywołującego.</p>
+ */
+public interface MessageFraming {
+
+    /**
+     * Odczytuje jeden komunikat w sposób blokujący.
+     * Przerwanie odczytu timeoutem gniazda nie gubi częściowo odczytanych danych -
+     * kolejne wywołanie kontynuuje od miejsca przerwania.
+     *
+     * @return komunikat lub null, jeśli strumień został zamknięty
+     * @throws IOException w przypadku błędu odczytu lub nieprawidłowej ramki
+     */
+    String read() throws IOException;
+
+    /**
+     * Zapisuje i wysyła (flush) jeden komunikat.
+     *
+     * @param message komunikat do wysłania
+     * @throws IOException w przypadku błędu zapisu
+     */
+    void write(String message) throws IOException;
+
+    /**
+     * Zwraca nazwę trybu podziału (do logów i metryk).
+     *
+     * @return nazwa trybu
+     */
+    String getName();
+
+    /**
+     * Sprawdza, czy każdy odczytany komunikat jest kompletny i pojedynczy, więc nie wymaga
+     * dzielenia po znakach nowej linii ani średnikach.
+     *
+     * @return true dla trybów zachowujących granice komunikatów
+     */
+    default boolean preservesBoundaries() {
+        return false;
+    }
+}
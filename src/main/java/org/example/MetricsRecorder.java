@@ -0,0 +1,141 @@
+package org.example;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Zapisuje próbki {@link PerformanceMonitor} do pliku CSV w katalogu {@code logs/metrics},
+ * aby porównywać sesje i wersje klienta. Każda sesja gry ma własny plik; plik większy niż
+ * {@value #MAX_FILE_BYTES} bajtów jest zamykany i zapis trwa w kolejnej części.
+ * Przechowywanych jest co najwyżej {@value #MAX_FILES} najnowszych plików.
+ *
+ * <p>Nagłówek pliku (wiersze zaczynające się od {@code #}) opisuje wersję klienta, Javy,
+ * profil renderowania i sposób rysowania stołu.</p>
+ */
+public class MetricsRecorder implements Consumer<PerformanceMonitor.Sample> {
+    private static final Logger logger = Logger.getInstance();
+
+    /** Katalog plików metryk. */
+    public static final String DIRECTORY = "logs/metrics";
+
+    /** Maksymalna liczba przechowywanych plików metryk. */
+    static final int MAX_FILES = 20;
+
+    /** Rozmiar, po którym zapis przechodzi do kolejnej części pliku. */
+    static final long MAX_FILE_BYTES = 1024 * 1024;
+
+    private static final String COLUMNS = "timestamp,fps,pulse_p50_ms,pulse_p99_ms,pulse_max_ms,"
+            + "runlater_p50_ms,runlater_p99_ms,nodes,heap_used_mb,heap_max_mb,rtt_p50_ms,rtt_p99_ms";
+
+    private final String session = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+    private PrintWriter writer;
+    private File file;
+    private int part = 1;
+    private long written;
+    private boolean failed;
+
+    /**
+     * Dopisuje próbkę do pliku bieżącej sesji, otwierając go przy pierwszej próbce.
+     *
+     * @param sample próbka wydajności
+     */
+    @Override
+    public void accept(PerformanceMonitor.Sample sample) {
+        if (failed) {
+            return;
+        }
+        if (writer == null || written > MAX_FILE_BYTES) {
+            if (writer != null) {
+                writer.close();
+                part++;
+            }
+            if (!open()) {
+                return;
+            }
+        }
+        String line = String.format(Locale.ROOT, "%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f,%d,%d,%d,%s,%s",
+                sample.getTimestampMs(), sample.getFps(),
+                ms(sample.getPulse().getP50()), ms(sample.getPulse().getP99()), ms(sample.getPulse().getMax()),
+                ms(sample.getRunLater().getP50()), ms(sample.getRunLater().getP99()),
+                sample.getNodes(), sample.getHeapUsed() / (1024 * 1024),
+                sample.getHeapMax() > 0 ? sample.getHeapMax() / (1024 * 1024) : -1,
+                rtt(sample, true), rtt(sample, false));
+        writer.println(line);
+        written += line.length() + 1;
+    }
+
+    /**
+     * Zamyka plik bieżącej sesji.
+     */
+    public void close() {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+            logger.info("Zapisano metryki sesji: " + file.getPath());
+        }
+    }
+
+    private boolean open() {
+        File dir = new File(DIRECTORY);
+        if (!dir.exists() && !dir.mkdirs()) {
+            logger.warning("Nie można utworzyć katalogu metryk: " + dir.getAbsolutePath());
+            failed = true;
+            return false;
+        }
+        removeOldFiles(dir);
+        String name = "uno-metrics_" + session + (part > 1 ? "_" + part : "") + ".csv";
+        file = new File(dir, name);
+        try {
+            writer = new PrintWriter(new FileWriter(file, true), true);
+        } catch (IOException e) {
+            logger.error(e, "Błąd otwierania pliku metryk " + file.getPath());
+            failed = true;
+            return false;
+        }
+        String version = Main.class.getPackage().getImplementationVersion();
+        writer.println("# UNO client " + (version != null ? version : "dev")
+                + ", Java " + System.getProperty("java.version")
+                + ", profil " + RenderProfile.active()
+                + ", stół " + (ClientSettings.getInstance().isCanvasTable() ? "canvas" : "nodes"));
+        writer.println(COLUMNS);
+        written = 0;
+        logger.info("Metryki wydajności zapisywane do " + file.getPath());
+        return true;
+    }
+
+    /**
+     * Usuwa najstarsze pliki metryk, zostawiając miejsce na nowy plik.
+     */
+    private static void removeOldFiles(File dir) {
+        File[] files = dir.listFiles((d, name) -> name.startsWith("uno-metrics_") && name.endsWith(".csv"));
+        if (files == null || files.length < MAX_FILES) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i <= files.length - MAX_FILES; i++) {
+            if (!files[i].delete()) {
+                logger.warning("Nie można usunąć starego pliku metryk: " + files[i].getPath());
+            }
+        }
+    }
+
+    private static String rtt(PerformanceMonitor.Sample sample, boolean p50) {
+        LatencyHistogram.Snapshot rtt = sample.getRtt();
+        if (rtt == null || rtt.getCount() == 0) {
+            return "";
+        }
+        return String.format(Locale.ROOT, "%.1f", ms(p50 ? rtt.getP50() : rtt.getP99()));
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,171 @@
+package org.example;
+
+import javafx.scene.CacheHint;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.StackPane;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Wyświetlanie stołu węzłami sceny: każda karta to osobny {@link ImageView}
+ * w kontenerach z {@code uno_game.fxml}. Tura wskazywana jest wyłącznie etykietami kontrolera.
+ * W profilu {@link RenderProfile#LOW_SPEC} kontenery kart są buforowane jako bitmapy.
+ */
+public class NodeTableRenderer implements TableRenderer {
+    private static final Logger logger = Logger.getInstance();
+
+    private final HBox handBox;
+    private final HBox[] opponentBoxes;
+    private final StackPane table;
+    private final Consumer<Card> onPlay;
+
+    /** Karty w ręce, w kolejności wyświetlania. */
+    private final List<Card> cards = new ArrayList<>();
+
+    private HandState handState = HandState.INACTIVE;
+
+    /**
+     * @param handBox kontener ręki gracza
+     * @param opponentBoxes kontenery rewersów przeciwników dla miejsc 1..3
+     * @param table kontener wierzchniej karty
+     * @param onPlay akcja po kliknięciu karty, którą można zagrać
+     */
+    public NodeTableRenderer(HBox handBox, HBox[] opponentBoxes, StackPane table, Consumer<Card> onPlay) {
+        this.handBox = handBox;
+        this.opponentBoxes = opponentBoxes;
+        this.table = table;
+        this.onPlay = onPlay;
+
+        if (RenderProfile.active().isNodeCacheEnabled()) {
+            // Grupy kart zmieniają się tylko przy ruchach - rysowane z bitmapy zamiast z węzłów
+            for (Pane box : allBoxes()) {
+                box.setCache(true);
+                box.setCacheHint(CacheHint.SPEED);
+            }
+        }
+    }
+
+    /**
+     * Wyświetla rękę gracza. Widoki kart, które pozostały w ręce, są używane ponownie;
+     * tworzone są tylko widoki nowych kart.
+     */
+    @Override
+    public int showHand(List<String> hand) {
+        Map<String, Deque<Card>> reusable = new HashMap<>();
+        for (Card card : cards) {
+            reusable.computeIfAbsent(card.toString(), k -> new ArrayDeque<>()).add(card);
+        }
+
+        List<Card> shown = new ArrayList<>(hand.size());
+        List<ImageView> views = new ArrayList<>(hand.size());
+        for (String cardStr : hand) {
+            Deque<Card> pool = reusable.get(cardStr);
+            Card card = pool != null ? pool.pollFirst() : null;
+            if (card == null) {
+                try {
+                    card = Card.fromString(cardStr);
+                } catch (Exception e) {
+                    logger.error("Błąd parsowania karty: " + cardStr);
+                    logger.error(e, "Szczegóły błędu");
+                    continue;
+                }
+            }
+            configure(card);
+            shown.add(card);
+            views.add(card.getView());
+        }
+
+        cards.clear();
+        cards.addAll(shown);
+        handBox.getChildren().setAll(views);
+        return cards.size();
+    }
+
+    @Override
+    public void setHandState(HandState state) {
+        handState = state;
+        for (Card card : cards) {
+            configure(card);
+        }
+    }
+
+    @Override
+    public void showTopCard(Card card) {
+        if (card == null) {
+            table.getChildren().clear();
+        } else {
+            table.getChildren().setAll(card.getView());
+        }
+    }
+
+    /**
+     * Dopasowuje liczbę rewersów kart przeciwników, nie przebudowując pozostałych.
+     */
+    @Override
+    public void showOpponents(int[] counts) {
+        for (int i = 0; i < opponentBoxes.length; i++) {
+            int count = i < counts.length ? counts[i] : 0;
+            HBox box = opponentBoxes[i];
+            while (box.getChildren().size() > count) {
+                box.getChildren().remove(box.getChildren().size() - 1);
+            }
+            while (box.getChildren().size() < count) {
+                box.getChildren().add(CardAtlas.createView(CardAtlas.getInstance().back()));
+            }
+        }
+    }
+
+    @Override
+    public void showTurn(int seat) {
+        // Tura wyświetlana jest przez etykiety kontrolera
+    }
+
+    @Override
+    public void dispose() {
+        // Widoki kart trzymają procedury obsługi kliknięć wskazujące na kontroler
+        cards.clear();
+        for (Pane box : allBoxes()) {
+            box.getChildren().clear();
+        }
+    }
+
+    private Pane[] allBoxes() {
+        Pane[] boxes = new Pane[opponentBoxes.length + 2];
+        boxes[0] = handBox;
+        boxes[1] = table;
+        System.arraycopy(opponentBoxes, 0, boxes, 2, opponentBoxes.length);
+        return boxes;
+    }
+
+    /**
+     * Ustawia interaktywność widoku karty w ręce zgodnie ze stanem ręki.
+     */
+    private void configure(Card card) {
+        ImageView view = card.getView();
+        switch (handState) {
+            case PLAYABLE:
+                view.setDisable(false);
+                view.setStyle("-fx-opacity: 1.0; -fx-cursor: hand;");
+                view.setOnMouseClicked(e -> onPlay.accept(card));
+                break;
+            case LOCKED:
+                view.setDisable(true);
+                view.setStyle("-fx-opacity: 0.5; -fx-cursor: default;");
+                view.setOnMouseClicked(null);
+                break;
+            default:
+                view.setDisable(true);
+                view.setStyle("-fx-opacity: 0.7; -fx-cursor: default;");
+                view.setOnMouseClicked(null);
+                break;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package org.example;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Kompresja dużych komunikatów w ramach jednego połączenia, używana po wynegocjowaniu
+ * funkcji {@value #FEATURE}. Obie strony utrzymują ciągły strumień deflate
+ * (opróżniany SYNC_FLUSH po każdym komunikacie), zainicjowany wspólnym słownikiem
+ * najczęstszych fragmentów protokołu. Dzięki temu nazwy graczy i powtarzające się
+ * ręce są kompresowane coraz lepiej w trakcie gry.
+ *
+ * <p>Kompresowane są tylko komunikaty od progu {@link #getThreshold()} bajtów.
+ * Skompresowany komunikat ma postać {@code Z <base64>}. Komunikaty nieskompresowane
+ * nie zmieniają stanu strumienia, więc mogą być dowolnie przeplatane.</p>
+ *
+ * <p>Kompresja i dekompresja mają osobny stan; {@link #compress(String)} należy wywoływać
+ * z jednego wątku naraz (zapis), a {@link #decompress(String)} z wątku odbierającego.
+ * {@link #close()} można wywołać z dowolnego wątku - późniejsze wywołania kończą się
+ * {@link IllegalStateException}.</p>
+ */
+public class PayloadCompressor {
+
+    /** Nazwa funkcji protokołu zgłaszanej w negocjacji FEATURES. */
+    public static final String FEATURE = "DEFLATE";
+
+    /** Prefiks komunikatu skompresowanego. */
+    public static final String PREFIX = "Z ";
+
+    /** Domyślny próg kompresji w bajtach. */
+    public static final int DEFAULT_THRESHOLD = 256;
+
+    /**
+     * Wspólny słownik obu stron. Deflate najlepiej wykorzystuje końcówkę słownika,
+     * dlatego najczęstsze fragmenty (karty) znajdują się na końcu.
+     */
+    private static final byte[] DICTIONARY = buildDictionary();
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final Inflater inflater = new Inflater();
+    private final byte[] chunk = new byte[4096];
+    private final int threshold;
+    private final AtomicLong savedBytes = new AtomicLong();
+    private final ClientMetrics metrics = ClientMetrics.getInstance();
+    private volatile boolean closed = false;
+
+    /**
+     * Tworzy kompresor z domyślnym progiem.
+     */
+    public PayloadCompressor() {
+        this(DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Tworzy kompresor z podanym progiem.
+     *
+     * @param threshold minimalny rozmiar komunikatu (w bajtach UTF-8) podlegającego kompresji
+     */
+    public PayloadCompressor(int threshold) {
+        this.threshold = threshold;
+        deflater.setDictionary(DICTIONARY);
+    }
+
+    private static byte[] buildDictionary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("USERLIST READY UNREADY START_GAME INIT_GAME WINNER GAME_ENDED CHOOSE_COLOR WILD_COLOR ");
+        sb.append("DELTA SNAPSHOT STATE PLAYED DREW TURN TOP_CARD PLAYERS HAND PLAY_RESULT ");
+        for (int i = 0; i < CardCodec.faceCount(); i++) {
+            sb.append(CardCodec.faceOf(i)).append(',');
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Kompresuje komunikat, jeśli przekracza próg.
+     *
+     * @param message komunikat do wysłania
+     * @return komunikat w postaci "Z base64" lub oryginalny komunikat poniżej progu
+     */
+    public String compress(String message) {
+        byte[] raw = message.getBytes(StandardCharsets.UTF_8);
+        if (raw.length < threshold) {
+            return message;
+        }
+
+        long cpuStart = cpuTime();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+        synchronized (deflater) {
+            ensureOpen();
+            deflater.setInput(raw);
+            int n;
+            do {
+                n = deflater.deflate(chunk, 0, chunk.length, Deflater.SYNC_FLUSH);
+                out.write(chunk, 0, n);
+            } while (n == chunk.length || !deflater.needsInput());
+        }
+        String wire = PREFIX + Base64.getEncoder().encodeToString(out.toByteArray());
+
+        metrics.add("net.deflate.cpu_ns", cpuTime() - cpuStart);
+        metrics.increment("net.deflate.out.messages");
+        metrics.add("net.deflate.out.raw_bytes", raw.length);
+        metrics.add("net.deflate.out.wire_bytes", wire.length());
+        savedBytes.addAndGet(raw.length - wire.length());
+        return wire;
+    }
+
+    /**
+     * Dekompresuje komunikat, jeśli jest skompresowany.
+     *
+     * @param message odebrany komunikat
+     * @return komunikat po dekompresji lub oryginalny komunikat, jeśli nie był skompresowany
+     * @throws IllegalStateException jeśli dane są uszkodzone (strumień traci synchronizację)
+     */
+    public String decompress(String message) {
+        if (!isCompressed(message)) {
+            return message;
+        }
+
+        long cpuStart = cpuTime();
+        byte[] compressed = Base64.getDecoder().decode(message.substring(PREFIX.length()));
+        ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+        synchronized (inflater) {
+            ensureOpen();
+            inflater.setInput(compressed);
+            try {
+                while (true) {
+                    int n = inflater.inflate(chunk);
+                    if (n == 0) {
+                        if (inflater.needsDictionary()) {
+                            inflater.setDictionary(DICTIONARY);
+                            continue;
+                        }
+                        if (inflater.needsInput() || inflater.finished()) {
+                            break;
+                        }
+                    }
+                    out.write(chunk, 0, n);
+                }
+            } catch (DataFormatException e) {
+                throw new IllegalStateException("Uszkodzony skompresowany komunikat", e);
+            }
+        }
+
+        byte[] raw = out.toByteArray();
+        metrics.add("net.deflate.cpu_ns", cpuTime() - cpuStart);
+        metrics.increment("net.deflate.in.messages");
+        metrics.add("net.deflate.in.raw_bytes", raw.length);
+        metrics.add("net.deflate.in.wire_bytes", message.length());
+        savedBytes.addAndGet(raw.length - message.length());
+        return new String(raw, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Sprawdza, czy komunikat jest skompresowany.
+     *
+     * @param message komunikat
+     * @return true jeśli komunikat ma prefiks kompresji
+     */
+    public static boolean isCompressed(String message) {
+        return message.startsWith(PREFIX);
+    }
+
+    /**
+     * Zwraca próg kompresji.
+     *
+     * @return minimalny rozmiar komunikatu podlegającego kompresji w bajtach
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Zwraca liczbę bajtów zaoszczędzonych przez ten kompresor w obu kierunkach.
+     *
+     * @return różnica pomiędzy rozmiarem komunikatów przed i po kompresji
+     */
+    public long getSavedBytes() {
+        return savedBytes.get();
+    }
+
+    /**
+     * Zwalnia zasoby natywne kompresora. Czeka na zakończenie trwającej kompresji
+     * lub dekompresji; kolejne wywołania są ignorowane.
+     */
+    public void close() {
+        closed = true;
+        synchronized (deflater) {
+            deflater.end();
+        }
+        synchronized (inflater) {
+            inflater.end();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Kompresor został zamknięty");
+        }
+    }
+
+    private static long cpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+}
@@ -0,0 +1,236 @@
+package org.example;
+
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Pomiar płynności interfejsu w scenie gry. Co sekundę tworzy {@link Sample} z:
+ * liczbą klatek (impulsów JavaFX) na sekundę, czasem impulsu (CSS, układ i słuchacze
+ * po układzie, np. rysowanie płótna stołu), opóźnieniem kolejki {@code Platform.runLater},
+ * liczbą węzłów sceny, zajętością sterty i czasem odpowiedzi serwera (RTT).
+ *
+ * <p>Percentyle w próbce dotyczą ostatniej sekundy; wartości skumulowane trafiają do
+ * histogramów {@code fx.pulse} i {@code fx.runlater} w {@link ClientMetrics}.
+ * Klatki nie są wymuszane - bez zmian w scenie JavaFX nie wykonuje impulsów i FPS spada do zera.</p>
+ *
+ * <p>Metody {@link #start(Scene)} i {@link #stop()} wywoływane są w wątku JavaFX.</p>
+ */
+public class PerformanceMonitor {
+    private static final Logger logger = Logger.getInstance();
+
+    /** Odstęp między próbkami. */
+    private static final long SAMPLE_PERIOD_MS = 1000;
+
+    /** Odstęp między pomiarami opóźnienia {@code Platform.runLater}. */
+    private static final long PROBE_PERIOD_MS = 250;
+
+    private final ClientMetrics metrics = ClientMetrics.getInstance();
+    private final LatencyHistogram pulseTotal = metrics.histogram("fx.pulse");
+    private final LatencyHistogram runLaterTotal = metrics.histogram("fx.runlater");
+    private final LatencyHistogram pulseWindow = new LatencyHistogram(1024);
+    private final LatencyHistogram runLaterWindow = new LatencyHistogram(64);
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final Supplier<LatencyHistogram.Snapshot> rtt;
+    private final List<Consumer<Sample>> listeners = new CopyOnWriteArrayList<>();
+
+    private Scene scene;
+    private long pulseStart;
+    private int pulses;
+    private long windowStart;
+
+    private final Runnable preLayout = () -> pulseStart = System.nanoTime();
+
+    private final Runnable postLayout = () -> {
+        if (pulseStart != 0) {
+            long elapsed = System.nanoTime() - pulseStart;
+            pulseWindow.record(elapsed);
+            pulseTotal.record(elapsed);
+            pulseStart = 0;
+        }
+        pulses++;
+    };
+
+    /**
+     * @param rtt źródło statystyk czasu odpowiedzi serwera (może zwracać null bez połączenia)
+     */
+    public PerformanceMonitor(Supplier<LatencyHistogram.Snapshot> rtt) {
+        this.rtt = rtt;
+    }
+
+    /**
+     * Dodaje odbiorcę próbek. Odbiorcy wywoływani są w wątku JavaFX.
+     *
+     * @param listener odbiorca próbek
+     */
+    public void addListener(Consumer<Sample> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Rozpoczyna pomiar w podanej scenie. Wcześniejszy pomiar jest zatrzymywany.
+     *
+     * @param newScene scena gry
+     */
+    public void start(Scene newScene) {
+        stop();
+        if (newScene == null) {
+            return;
+        }
+        scene = newScene;
+        scene.addPreLayoutPulseListener(preLayout);
+        scene.addPostLayoutPulseListener(postLayout);
+        pulses = 0;
+        pulseWindow.reset();
+        runLaterWindow.reset();
+        windowStart = System.nanoTime();
+
+        ClientScheduler scheduler = ClientScheduler.getInstance();
+        scheduler.scheduleAtFixedRate(this, "sonda Platform.runLater", PROBE_PERIOD_MS, PROBE_PERIOD_MS, () -> {
+            long posted = System.nanoTime();
+            Platform.runLater(() -> {
+                long latency = System.nanoTime() - posted;
+                runLaterWindow.record(latency);
+                runLaterTotal.record(latency);
+            });
+        });
+        scheduler.scheduleAtFixedRate(this, "próbka wydajności", SAMPLE_PERIOD_MS, SAMPLE_PERIOD_MS,
+                () -> Platform.runLater(this::sample));
+        logger.debug("Pomiar wydajności sceny uruchomiony");
+    }
+
+    /**
+     * Zatrzymuje pomiar i odłącza słuchaczy sceny.
+     */
+    public void stop() {
+        ClientScheduler.getInstance().cancelAll(this);
+        if (scene != null) {
+            scene.removePreLayoutPulseListener(preLayout);
+            scene.removePostLayoutPulseListener(postLayout);
+            scene = null;
+        }
+    }
+
+    private void sample() {
+        if (scene == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        double seconds = (now - windowStart) / 1_000_000_000.0;
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        Sample sample = new Sample(System.currentTimeMillis(), seconds > 0 ? pulses / seconds : 0,
+                pulseWindow.snapshot(), runLaterWindow.snapshot(), countNodes(scene.getRoot()),
+                heap.getUsed(), heap.getMax(), rtt.get());
+        pulses = 0;
+        pulseWindow.reset();
+        runLaterWindow.reset();
+        windowStart = now;
+
+        for (Consumer<Sample> listener : listeners) {
+            try {
+                listener.accept(sample);
+            } catch (Exception e) {
+                logger.error(e, "Błąd odbiorcy próbki wydajności");
+            }
+        }
+    }
+
+    private static int countNodes(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        int count = 1;
+        if (node instanceof Parent) {
+            for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+                count += countNodes(child);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Próbka wydajności z jednej sekundy.
+     */
+    public static final class Sample {
+        private final long timestampMs;
+        private final double fps;
+        private final LatencyHistogram.Snapshot pulse;
+        private final LatencyHistogram.Snapshot runLater;
+        private final int nodes;
+        private final long heapUsed;
+        private final long heapMax;
+        private final LatencyHistogram.Snapshot rtt;
+
+        Sample(long timestampMs, double fps, LatencyHistogram.Snapshot pulse, LatencyHistogram.Snapshot runLater,
+               int nodes, long heapUsed, long heapMax, LatencyHistogram.Snapshot rtt) {
+            this.timestampMs = timestampMs;
+            this.fps = fps;
+            this.pulse = pulse;
+            this.runLater = runLater;
+            this.nodes = nodes;
+            this.heapUsed = heapUsed;
+            this.heapMax = heapMax;
+            this.rtt = rtt;
+        }
+
+        /** @return czas utworzenia próbki (ms od epoki) */
+        public long getTimestampMs() { return timestampMs; }
+
+        /** @return liczba impulsów JavaFX na sekundę */
+        public double getFps() { return fps; }
+
+        /** @return czasy impulsów w ostatniej sekundzie */
+        public LatencyHistogram.Snapshot getPulse() { return pulse; }
+
+        /** @return opóźnienia {@code Platform.runLater} w ostatniej sekundzie */
+        public LatencyHistogram.Snapshot getRunLater() { return runLater; }
+
+        /** @return liczba węzłów sceny */
+        public int getNodes() { return nodes; }
+
+        /** @return zajęta sterta w bajtach */
+        public long getHeapUsed() { return heapUsed; }
+
+        /** @return maksymalna sterta w bajtach (-1, jeśli nieokreślona) */
+        public long getHeapMax() { return heapMax; }
+
+        /** @return statystyki RTT lub null bez połączenia */
+        public LatencyHistogram.Snapshot getRtt() { return rtt; }
+
+        /**
+         * Zwraca opis próbki do wyświetlenia w nakładce, po jednej wartości w wierszu.
+         *
+         * @return tekst nakładki
+         */
+        public String describe() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("FPS: %.1f%n", fps));
+            sb.append(String.format("Impuls: p50 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                    ms(pulse.getP50()), ms(pulse.getP99()), ms(pulse.getMax())));
+            sb.append(String.format("Platform.runLater: p50 %.2f ms, p99 %.2f ms%n",
+                    ms(runLater.getP50()), ms(runLater.getP99())));
+            sb.append("Węzły sceny: ").append(nodes).append('\n');
+            sb.append(String.format("Sterta: %d / %d MB%n", heapUsed / (1024 * 1024),
+                    heapMax > 0 ? heapMax / (1024 * 1024) : -1));
+            if (rtt != null && rtt.getCount() > 0) {
+                sb.append(String.format("RTT: p50 %.0f ms, p99 %.0f ms", ms(rtt.getP50()), ms(rtt.getP99())));
+            } else {
+                sb.append("RTT: -");
+            }
+            return sb.toString();
+        }
+
+        static double ms(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example;
+
+/**
+ * Profil renderowania klienta wybierany w ustawieniach.
+ * Profil {@link #LOW_SPEC} jest przeznaczony dla słabszych komputerów: wyłącza efekty,
+ * buforuje statyczne grupy kart jako bitmapy, dekoduje tła w zmniejszonej rozdzielczości
+ * i ogranicza częstotliwość klatek animacji.
+ *
+ * <p>Profil jest ustalany raz przy starcie aplikacji ({@link #active()}) - częstotliwość
+ * klatek i rozdzielczość zdekodowanych obrazów nie mogą zmienić się w trakcie działania.
+ * Nazwa aktywnego profilu jest widoczna w metrykach jako {@code render.profile}.</p>
+ */
+public enum RenderProfile {
+
+    /** Pełna jakość: efekty, obrazy w rozdzielczości ekranu, 60 klatek/s. */
+    STANDARD(60, true, false, false),
+
+    /** Profil dla słabszych komputerów. */
+    LOW_SPEC(30, false, true, true);
+
+    private static volatile RenderProfile active;
+
+    private final int pulseRate;
+    private final boolean effects;
+    private final boolean nodeCache;
+    private final boolean reducedImages;
+
+    RenderProfile(int pulseRate, boolean effects, boolean nodeCache, boolean reducedImages) {
+        this.pulseRate = pulseRate;
+        this.effects = effects;
+        this.nodeCache = nodeCache;
+        this.reducedImages = reducedImages;
+    }
+
+    /**
+     * Zwraca profil obowiązujący w tym uruchomieniu, odczytany z {@link ClientSettings}
+     * przy pierwszym wywołaniu.
+     *
+     * @return aktywny profil
+     */
+    public static RenderProfile active() {
+        if (active == null) {
+            synchronized (RenderProfile.class) {
+                if (active == null) {
+                    active = ClientSettings.getInstance().getRenderProfile();
+                    ClientMetrics.getInstance().registerGauge("render.profile", () -> active.name());
+                }
+            }
+        }
+        return active;
+    }
+
+    /**
+     * @return maksymalna liczba klatek animacji na sekundę
+     */
+    public int getPulseRate() {
+        return pulseRate;
+    }
+
+    /**
+     * @return czy włączone są efekty (cienie)
+     */
+    public boolean isEffectsEnabled() {
+        return effects;
+    }
+
+    /**
+     * @return czy statyczne grupy kart i tło są buforowane jako bitmapy ({@code CacheHint.SPEED})
+     */
+    public boolean isNodeCacheEnabled() {
+        return nodeCache;
+    }
+
+    /**
+     * @return czy obrazy (tła, tekstury kart) dekodowane są w zmniejszonej rozdzielczości
+     */
+    public boolean isReducedImages() {
+        return reducedImages;
+    }
+}
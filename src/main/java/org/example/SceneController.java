@@ -4,23 +4,72 @@ import java.io.IOException;
 
 import javafx.application.Platform;
 import javafx.event.ActionEvent;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Node;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
-import javafx.stage.Stage;
+import javafx.fxml.FXML;
+import javafx.scene.control.CheckBox;
+import javafx.scene.image.ImageView;
 
 /**
  * Klasa kontrolera scen zarządzająca przełączaniem między widokami aplikacji.
- * Zapewnia metody do zmiany aktualnie wyświetlanej sceny w głównym oknie aplikacji.
+ * Zapewnia metody do zmiany aktualnie wyświetlanej sceny w głównym oknie aplikacji
+ * za pośrednictwem {@link SceneNavigator}.
  * Wszystkie metody ustawiają tryb pełnoekranowy z ukrytą podpowiedzią wyjścia.
  */
 public class SceneController {
     private static final Logger logger = Logger.getInstance();
 
-    private Stage stage;
-    private Scene scene;
-    private Parent root;
+    private final SceneNavigator navigator = SceneNavigator.getInstance();
+
+    /** Rewers karty w głównym menu (obecny tylko w {@code main_menu.fxml}). */
+    @FXML private ImageView kartaMenu;
+
+    /** Wybór rysowania stołu na płótnie (obecny tylko w {@code settings.fxml}). */
+    @FXML private CheckBox stolNaPlotnie;
+
+    /** Wybór profilu renderowania dla słabszych komputerów (obecny tylko w {@code settings.fxml}). */
+    @FXML private CheckBox profilWydajnosci;
+
+    /**
+     * Inicjalizuje widok po załadowaniu pliku FXML.
+     * Rewers karty w menu korzysta z obrazu wczytanego przy starcie przez {@link AssetCache},
+     * a pola ustawień pokazują wartości z {@link ClientSettings}.
+     */
+    @FXML
+    public void initialize() {
+        if (kartaMenu != null) {
+            kartaMenu.setImage(AssetCache.getInstance().get(AssetCache.CARD_BACK));
+        }
+        if (stolNaPlotnie != null) {
+            stolNaPlotnie.setSelected(ClientSettings.getInstance().isCanvasTable());
+        }
+        if (profilWydajnosci != null) {
+            profilWydajnosci.setSelected(ClientSettings.getInstance().getRenderProfile() == RenderProfile.LOW_SPEC);
+        }
+    }
+
+    /**
+     * Zapisuje wybór sposobu rysowania stołu gry. Zmiana obowiązuje od następnej gry.
+     *
+     * @param event zdarzenie akcji pola wyboru
+     */
+    @FXML
+    public void toggle_canvas_table(ActionEvent event) {
+        if (stolNaPlotnie != null) {
+            ClientSettings.getInstance().setCanvasTable(stolNaPlotnie.isSelected());
+        }
+    }
+
+    /**
+     * Zapisuje wybór profilu renderowania. Zmiana obowiązuje od następnego uruchomienia.
+     *
+     * @param event zdarzenie akcji pola wyboru
+     */
+    @FXML
+    public void toggle_low_spec_profile(ActionEvent event) {
+        if (profilWydajnosci != null) {
+            ClientSettings.getInstance().setRenderProfile(
+                    profilWydajnosci.isSelected() ? RenderProfile.LOW_SPEC : RenderProfile.STANDARD);
+        }
+    }
 
     /**
      * Przełącza scenę na główne menu aplikacji.
@@ -32,14 +81,7 @@ public class SceneController {
     public void switch_to_main_menu(ActionEvent event) throws IOException {
         logger.info("Przełączam do głównego menu");
         try {
-            root = FXMLLoader.load(getClass().getResource("/main_menu.fxml"));
-            stage = (Stage)((Node)event.getSource()).getScene().getWindow();
-            scene = new Scene(root);
-            scene.getStylesheets().add(getClass().getResource("/style.css").toExternalForm());
-            stage.setScene(scene);
-            stage.setFullScreenExitHint("");
-            stage.setFullScreen(true);
-            stage.show();
+            navigator.navigate(SceneNavigator.stageOf(event), "/main_menu.fxml", "/style.css");
             logger.info("Główne menu załadowane pomyślnie");
         } catch (Exception e) {
             logger.error(e, "Błąd podczas przełączania do głównego menu");
@@ -57,14 +99,7 @@ public class SceneController {
     public void switch_to_settings(ActionEvent event) throws IOException {
         logger.info("Przechodzenie do ustawień");
         try {
-            Parent root = FXMLLoader.load(getClass().getResource("/settings.fxml"));
-            stage = (Stage)((Node)event.getSource()).getScene().getWindow();
-            scene = new Scene(root);
-            scene.getStylesheets().add(getClass().getResource("/style.css").toExternalForm());
-            stage.setScene(scene);
-            stage.setFullScreenExitHint("");
-            stage.setFullScreen(true);
-            stage.show();
+            navigator.navigate(SceneNavigator.stageOf(event), "/settings.fxml", "/style.css");
             logger.info("Ustawienia załadowane pomyślnie");
         } catch (Exception e) {
             logger.error(e, "Błąd podczas przełączania do ustawień");
@@ -82,14 +117,7 @@ public class SceneController {
     public void switch_to_login(ActionEvent event) throws IOException {
         logger.info("Przechodzenie do logowania");
         try {
-            Parent root = FXMLLoader.load(getClass().getResource("/login.fxml"));
-            stage = (Stage)((Node)event.getSource()).getScene().getWindow();
-            scene = new Scene(root);
-            scene.getStylesheets().add(getClass().getResource("/style_log_join.css").toExternalForm());
-            stage.setScene(scene);
-            stage.setFullScreenExitHint("");
-            stage.setFullScreen(true);
-            stage.show();
+            navigator.navigate(SceneNavigator.stageOf(event), "/login.fxml", "/style_log_join.css");
             logger.info("Ekran logowania załadowany pomyślnie");
         } catch (Exception e) {
             logger.error(e, "Błąd podczas przełączania do logowania");
@@ -107,14 +135,7 @@ public class SceneController {
     public void switch_to_tab_wynik(ActionEvent event) throws IOException {
         logger.info("Przechodzenie do tabeli wyników");
         try {
-            Parent root = FXMLLoader.load(getClass().getResource("/tab_wyn.fxml"));
-            stage = (Stage)((Node)event.getSource()).getScene().getWindow();
-            scene = new Scene(root);
-            scene.getStylesheets().add(getClass().getResource("/style.css").toExternalForm());
-            stage.setScene(scene);
-            stage.setFullScreenExitHint("");
-            stage.setFullScreen(true);
-            stage.show();
+            navigator.navigate(SceneNavigator.stageOf(event), "/tab_wyn.fxml", "/style.css");
             logger.info("Tabela wyników załadowana pomyślnie");
         } catch (Exception e) {
             logger.error(e, "Błąd podczas przełączania do tabeli wyników");
@@ -132,14 +153,7 @@ public class SceneController {
     public void switch_to_autorzy(ActionEvent event) throws IOException {
         logger.info("Przechodzenie do autorów");
         try {
-            Parent root = FXMLLoader.load(getClass().getResource("/autorzy.fxml"));
-            stage = (Stage)((Node)event.getSource()).getScene().getWindow();
-            scene = new Scene(root);
-            scene.getStylesheets().add(getClass().getResource("/style.css").toExternalForm());
-            stage.setScene(scene);
-            stage.setFullScreenExitHint("");
-            stage.setFullScreen(true);
-            stage.show();
+            navigator.navigate(SceneNavigator.stageOf(event), "/autorzy.fxml", "/style.css");
             logger.info("Ekran autorów załadowany pomyślnie");
         } catch (Exception e) {
             logger.error(e, "Błąd podczas przełączania do autorów");
@@ -159,19 +173,10 @@ public class SceneController {
         logger.info("Przechodzenie do gry");
 
         try {
-            // POPRAWKA: Użyj FXMLLoader z kontrolerem
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/uno_game.fxml"));
-            Parent root = loader.load(); // To automatycznie wywołuje initialize() w kontrolerze
+            // Nawigator ładuje widok z kontrolerem (wywołuje initialize()) i zwalnia poprzednią scenę
+            navigator.navigate(SceneNavigator.stageOf(event), "/uno_game.fxml", "/style.css");
             logger.debug("Kontroler UnoController załadowany");
 
-            stage = (Stage)((Node)event.getSource()).getScene().getWindow();
-            scene = new Scene(root);
-            scene.getStylesheets().add(getClass().getResource("/style.css").toExternalForm());
-            stage.setScene(scene);
-            stage.setFullScreenExitHint("");
-            stage.setFullScreen(true);
-            stage.show();
-
             logger.info("Gra załadowana pomyślnie!");
         } catch (Exception e) {
             logger.error(e, "Błąd podczas przełączania do gry");
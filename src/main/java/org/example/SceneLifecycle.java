@@ -0,0 +1,32 @@
+package org.example;
+
+/**
+ * Cykl życia kontrolera sceny respektowany przez {@link SceneNavigator}.
+ *
+ * <p>Nawigator wywołuje metody w kolejności: {@link #activate()} po wyświetleniu sceny,
+ * {@link #deactivate()} przed jej zastąpieniem inną sceną oraz {@link #dispose()},
+ * gdy scena nie będzie już używana. Wszystkie metody wywoływane są w wątku JavaFX.</p>
+ *
+ * <p>Kontrolery bez własnych wątków, słuchaczy i zadań nie muszą implementować interfejsu.</p>
+ */
+public interface SceneLifecycle {
+
+    /**
+     * Scena została wyświetlona. Kontroler może rozpocząć pracę związaną z widokiem.
+     */
+    default void activate() {
+    }
+
+    /**
+     * Scena przestaje być wyświetlana. Kontroler zatrzymuje pracę związaną z widokiem
+     * (zadania opóźnione, animacje), zachowując stan - scenę można aktywować ponownie.
+     */
+    default void deactivate() {
+    }
+
+    /**
+     * Zwalnia wszystkie zasoby kontrolera: wątki, słuchacze, zadania i widoki.
+     * Po wywołaniu kontroler nie jest już używany. Wywołanie musi być idempotentne.
+     */
+    void dispose();
+}
@@ -0,0 +1,384 @@
+package org.example;
+
+import javafx.application.Platform;
+import javafx.event.ActionEvent;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.text.Font;
+import javafx.stage.Stage;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Wspólny punkt przełączania scen aplikacji.
+ * Przy każdym przełączeniu nawigator dezaktywuje kontroler poprzedniej sceny
+ * ({@link SceneLifecycle#deactivate()}) i zwalnia go ({@link SceneLifecycle#dispose()}),
+ * a po wyświetleniu nowej sceny aktywuje jej kontroler ({@link SceneLifecycle#activate()}).
+ *
+ * <p>Okno ma jedną wspólną scenę ({@link Scene}) - przełączenie podmienia tylko jej korzeń,
+ * a arkusz stylów jest zmieniany tylko wtedy, gdy nowy widok używa innego.
+ * Widoki bezstanowe ({@link #CACHED_SCREENS}) są ładowane z FXML raz i przechowywane
+ * w pamięci podręcznej; ich kontrolery są przy opuszczaniu tylko dezaktywowane.
+ * Widoki z parametrami (lobby, gra) tworzone są za każdym razem od nowa przez
+ * {@link #showLobby(Stage, ClientConnection, String)} i {@link #showGame(Stage, ClientConnection, String)}.</p>
+ *
+ * <p>Pamięć podręczną można wyłączyć właściwością systemową {@code -Duno.sceneCache=false}
+ * (np. do porównania czasu przełączania). Czas przełączeń zapisywany jest w histogramach
+ * {@code nav.switch.cached} i {@code nav.switch.loaded}.</p>
+ *
+ * <p>Wszystkie metody należy wywoływać w wątku JavaFX.</p>
+ *
+ * Implementuje wzorzec Singleton.
+ */
+public class SceneNavigator {
+
+    private static SceneNavigator instance;
+    private static final Logger logger = Logger.getInstance();
+
+    /** Widoki bez parametrów i bez stanu sesji, przechowywane po pierwszym załadowaniu. */
+    public static final Set<String> CACHED_SCREENS = Set.of(
+            "/main_menu.fxml", "/settings.fxml", "/tab_wyn.fxml", "/autorzy.fxml");
+
+    /** Czcionka interfejsu ("Fake Receipt") używana przez arkusze stylów. */
+    static final String UI_FONT = "/assets/fake_receipt.otf";
+
+    /**
+     * Załadowany widok: korzeń grafu sceny i jego kontroler.
+     */
+    private static final class Screen {
+        final String fxml;
+        final Parent root;
+        final Object controller;
+        final boolean cached;
+
+        Screen(String fxml, Parent root, Object controller, boolean cached) {
+            this.fxml = fxml;
+            this.root = root;
+            this.controller = controller;
+            this.cached = cached;
+        }
+    }
+
+    private final ClientMetrics metrics = ClientMetrics.getInstance();
+    private final LatencyHistogram switchTimes = metrics.histogram("nav.switch");
+    private final LatencyHistogram cachedSwitchTimes = metrics.histogram("nav.switch.cached");
+    private final LatencyHistogram loadedSwitchTimes = metrics.histogram("nav.switch.loaded");
+
+    private final Map<String, Screen> cache = new HashMap<>();
+    private boolean cachingEnabled = Boolean.parseBoolean(System.getProperty("uno.sceneCache", "true"));
+
+    /** Wspólna scena okna (tylko wątek JavaFX). */
+    private Scene scene;
+
+    /** Aktualnie wyświetlany widok (tylko wątek JavaFX). */
+    private Screen current;
+
+    /** Czy trwa przełączanie sceny - zagnieżdżone przełączenie jest błędem. */
+    private boolean navigating = false;
+
+    /**
+     * Prywatny konstruktor - wzorzec Singleton
+     */
+    private SceneNavigator() {
+        metrics.registerGauge("nav.current", () -> current == null ? "-" : current.fxml);
+        metrics.registerGauge("nav.cached", cache::size);
+        loadUiFont();
+    }
+
+    /**
+     * Rejestruje czcionkę interfejsu raz na cały czas działania aplikacji. Arkusze stylów
+     * nie deklarują jej przez {@code @font-face}: JavaFX ładuje taką czcionkę przy każdym
+     * wczytaniu arkusza, a arkusz nieużywany już przez żadną scenę jest zwalniany, więc
+     * każde przejście między {@code style.css} i {@code style_log_join.css} tworzyło
+     * nową kopię pliku czcionki, której nie dało się zwolnić.
+     */
+    private static void loadUiFont() {
+        URL url = SceneNavigator.class.getResource(UI_FONT);
+        if (url == null || Font.loadFont(url.toExternalForm(), 12) == null) {
+            logger.warning("Nie udało się załadować czcionki interfejsu " + UI_FONT);
+        }
+    }
+
+    /**
+     * Zwraca instancję SceneNavigator (Singleton)
+     */
+    public static SceneNavigator getInstance() {
+        if (instance == null) {
+            synchronized (SceneNavigator.class) {
+                if (instance == null) {
+                    instance = new SceneNavigator();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Przełącza scenę na widok bez parametrów. Widoki z {@link #CACHED_SCREENS}
+     * są pobierane z pamięci podręcznej.
+     *
+     * @param stage okno, w którym wyświetlana jest scena
+     * @param fxml ścieżka zasobu FXML (np. {@code /main_menu.fxml})
+     * @param stylesheet ścieżka arkusza stylów lub null
+     * @return kontroler nowej sceny
+     * @throws IOException jeśli wystąpi błąd podczas ładowania pliku FXML
+     */
+    public <T> T navigate(Stage stage, String fxml, String stylesheet) throws IOException {
+        return navigate(stage, fxml, stylesheet, null);
+    }
+
+    /**
+     * Przełącza scenę na widok z podanego pliku FXML.
+     * Widok z konfiguracją ({@code setup}) jest zawsze ładowany od nowa.
+     * Jeśli załadowanie widoku się nie powiedzie, bieżąca scena pozostaje bez zmian.
+     *
+     * @param stage okno, w którym wyświetlana jest scena
+     * @param fxml ścieżka zasobu FXML (np. {@code /lobby.fxml})
+     * @param stylesheet ścieżka arkusza stylów lub null
+     * @param setup konfiguracja kontrolera nowej sceny przed jej wyświetleniem (może być null)
+     * @return kontroler nowej sceny
+     * @throws IOException jeśli wystąpi błąd podczas ładowania pliku FXML
+     * @throws IllegalStateException jeśli metoda wywołana jest poza wątkiem JavaFX
+     *                               lub w trakcie innego przełączania
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T navigate(Stage stage, String fxml, String stylesheet, Consumer<T> setup) throws IOException {
+        checkFxThread(fxml);
+        if (navigating) {
+            throw new IllegalStateException("Zagnieżdżone przełączanie scen: " + fxml);
+        }
+
+        navigating = true;
+        long start = System.nanoTime();
+        boolean fromCache = false;
+        ClientEvents.SceneSwitch event = new ClientEvents.SceneSwitch();
+        event.begin();
+        String from = current != null ? current.fxml : null;
+        try {
+            Screen screen = null;
+            if (setup == null && isCacheable(fxml)) {
+                screen = cache.get(fxml);
+                fromCache = screen != null;
+            }
+            if (screen == null) {
+                screen = load(fxml, setup == null && isCacheable(fxml));
+            }
+            if (screen == current) {
+                return (T) screen.controller;
+            }
+
+            leaveCurrent();
+
+            T controller = (T) screen.controller;
+            if (setup != null) {
+                setup.accept(controller);
+            }
+
+            showRoot(stage, screen.root, stylesheet);
+            current = screen;
+            if (controller instanceof SceneLifecycle) {
+                ((SceneLifecycle) controller).activate();
+            }
+            metrics.increment("nav.switches");
+            if (event.shouldCommit()) {
+                event.from = from;
+                event.to = fxml;
+                event.fromCache = fromCache;
+                event.commit();
+            }
+            return controller;
+        } finally {
+            navigating = false;
+            long elapsed = System.nanoTime() - start;
+            switchTimes.record(elapsed);
+            (fromCache ? cachedSwitchTimes : loadedSwitchTimes).record(elapsed);
+            logger.debug("Przełączono na " + fxml + (fromCache ? " (pamięć podręczna)" : "")
+                    + " w " + elapsed / 1000 + " µs");
+        }
+    }
+
+    /**
+     * Wyświetla lobby dla zalogowanego gracza.
+     *
+     * @param stage okno aplikacji
+     * @param connection połączenie z serwerem (przekazywane do lobby)
+     * @param nickname nazwa gracza
+     * @return kontroler lobby
+     * @throws IOException jeśli wystąpi błąd podczas ładowania widoku
+     */
+    public LobbyController showLobby(Stage stage, ClientConnection connection, String nickname) throws IOException {
+        return this.<LobbyController>navigate(stage, "/lobby.fxml", "/style_log_join.css",
+                lobby -> lobby.setupConnection(connection, nickname));
+    }
+
+    /**
+     * Wyświetla ekran gry.
+     *
+     * @param stage okno aplikacji
+     * @param connection połączenie z serwerem (przekazywane do kontrolera gry)
+     * @param nickname nazwa gracza
+     * @return kontroler gry
+     * @throws IOException jeśli wystąpi błąd podczas ładowania widoku
+     */
+    public UnoController showGame(Stage stage, ClientConnection connection, String nickname) throws IOException {
+        return this.<UnoController>navigate(stage, "/uno_game.fxml", "/style.css",
+                game -> game.setupConnection(connection, nickname));
+    }
+
+    /**
+     * Ładuje widoki bezstanowe do pamięci podręcznej w tle wątku JavaFX - każdy widok
+     * w osobnym zadaniu {@code Platform.runLater}, aby nie blokować obsługi zdarzeń.
+     *
+     * @param fxmls ścieżki widoków z {@link #CACHED_SCREENS}
+     */
+    public void preload(String... fxmls) {
+        for (String fxml : fxmls) {
+            Platform.runLater(() -> {
+                if (!isCacheable(fxml) || cache.containsKey(fxml)) {
+                    return;
+                }
+                try {
+                    load(fxml, true);
+                } catch (IOException e) {
+                    logger.error(e, "Błąd wstępnego ładowania widoku " + fxml);
+                }
+            });
+        }
+    }
+
+    /**
+     * Włącza lub wyłącza pamięć podręczną widoków. Wyłączenie usuwa przechowywane widoki.
+     *
+     * @param enabled czy widoki bezstanowe mają być przechowywane
+     */
+    public void setCachingEnabled(boolean enabled) {
+        checkFxThread("pamięć podręczna");
+        cachingEnabled = enabled;
+        if (!enabled) {
+            for (Screen screen : cache.values()) {
+                if (screen != current) {
+                    disposeController(screen);
+                }
+            }
+            cache.clear();
+        }
+    }
+
+    /**
+     * Zwraca kontroler aktualnie wyświetlanej sceny.
+     *
+     * @return kontroler lub null, jeśli scena nie została jeszcze przełączona przez nawigator
+     */
+    public Object getCurrentController() {
+        return current == null ? null : current.controller;
+    }
+
+    /**
+     * Wyznacza okno, w którym wystąpiło zdarzenie.
+     *
+     * @param event zdarzenie akcji (np. kliknięcie przycisku)
+     * @return okno źródła zdarzenia
+     */
+    public static Stage stageOf(ActionEvent event) {
+        return stageOf((Node) event.getSource());
+    }
+
+    /**
+     * Wyznacza okno, w którym wyświetlany jest węzeł.
+     *
+     * @param node węzeł osadzony w scenie
+     * @return okno sceny węzła
+     */
+    public static Stage stageOf(Node node) {
+        return (Stage) node.getScene().getWindow();
+    }
+
+    private boolean isCacheable(String fxml) {
+        return cachingEnabled && CACHED_SCREENS.contains(fxml);
+    }
+
+    private Screen load(String fxml, boolean cacheable) throws IOException {
+        long start = System.nanoTime();
+        FXMLLoader loader = new FXMLLoader(getClass().getResource(fxml));
+        Parent root = loader.load();
+        Screen screen = new Screen(fxml, root, loader.getController(), cacheable);
+        if (cacheable) {
+            cache.put(fxml, screen);
+        }
+        logger.debug("Załadowano widok " + fxml + " w " + (System.nanoTime() - start) / 1000 + " µs");
+        return screen;
+    }
+
+    /**
+     * Podmienia korzeń wspólnej sceny okna. Scena tworzona jest tylko przy pierwszym
+     * przełączeniu w danym oknie.
+     */
+    private void showRoot(Stage stage, Parent root, String stylesheet) {
+        if (scene == null || stage.getScene() != scene) {
+            if (scene != null) {
+                // Korzeń może należeć tylko do jednej sceny - zwolnij go z poprzedniej
+                scene.setRoot(new Group());
+            }
+            scene = new Scene(root);
+            stage.setScene(scene);
+        } else {
+            scene.setRoot(root);
+        }
+
+        List<String> stylesheets = stylesheet == null
+                ? List.of() : List.of(getClass().getResource(stylesheet).toExternalForm());
+        if (!scene.getStylesheets().equals(stylesheets)) {
+            scene.getStylesheets().setAll(stylesheets);
+        }
+
+        stage.setFullScreenExitHint("");
+        stage.setFullScreen(true);
+        stage.show();
+    }
+
+    /**
+     * Dezaktywuje kontroler bieżącej sceny; kontroler widoku spoza pamięci podręcznej
+     * jest też zwalniany. Błąd jest logowany, aby nie blokować przejścia do nowej sceny.
+     */
+    private void leaveCurrent() {
+        Screen previous = current;
+        current = null;
+        if (previous == null || !(previous.controller instanceof SceneLifecycle)) {
+            return;
+        }
+        try {
+            ((SceneLifecycle) previous.controller).deactivate();
+        } catch (Exception e) {
+            logger.error(e, "Błąd dezaktywacji kontrolera " + previous.fxml);
+        }
+        if (!previous.cached) {
+            disposeController(previous);
+        }
+    }
+
+    private void disposeController(Screen screen) {
+        if (screen.controller instanceof SceneLifecycle) {
+            try {
+                ((SceneLifecycle) screen.controller).dispose();
+                logger.debug("Zwolniono kontroler widoku " + screen.fxml);
+            } catch (Exception e) {
+                logger.error(e, "Błąd zwalniania kontrolera " + screen.fxml);
+            }
+        }
+    }
+
+    private static void checkFxThread(String what) {
+        if (!Platform.isFxApplicationThread()) {
+            throw new IllegalStateException("Przełączanie scen poza wątkiem JavaFX: " + what);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package org.example;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+
+/**
+ * Transport przez gniazdo TCP - domyślny transport {@link ClientConnection}.
+ * Komunikaty przesyłane są w trybie {@link TextFraming}, a po wynegocjowaniu funkcji
+ * {@value BinaryFraming#FEATURE} w trybie {@link BinaryFraming}.
+ */
+public class SocketTransport implements Transport {
+
+    /** Limit czasu nawiązywania połączenia. */
+    private static final int CONNECT_TIMEOUT_MS = 5000;
+
+    /** Domyślny limit czasu odczytu. */
+    private static final int READ_TIMEOUT_MS = 300000;
+
+    private final String host;
+    private final int port;
+
+    /**
+     * @param host adres serwera
+     * @param port port serwera
+     */
+    public SocketTransport(String host, int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    @Override
+    public Link open() throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+            socket.setSoTimeout(READ_TIMEOUT_MS);
+            return new SocketLink(socket);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public String describe() {
+        return host + ":" + port;
+    }
+
+    /**
+     * Łącze przez otwarte gniazdo.
+     */
+    private static final class SocketLink implements Link {
+        private final Socket socket;
+        private final OutputStream output;
+        private InputStream input;
+        private final TextFraming textFraming;
+
+        SocketLink(Socket socket) throws IOException {
+            this.socket = socket;
+            this.input = socket.getInputStream();
+            this.output = new BufferedOutputStream(socket.getOutputStream());
+            this.textFraming = new TextFraming(input, output);
+        }
+
+        @Override
+        public MessageFraming framing() {
+            return textFraming;
+        }
+
+        /**
+         * Bajty odczytane z wyprzedzeniem w trybie tekstowym przekazywane są do nowego trybu.
+         */
+        @Override
+        public MessageFraming upgradeFraming(MessageFraming current) {
+            if (!(current instanceof TextFraming)) {
+                return current;
+            }
+            input = new BufferedInputStream(((TextFraming) current).remainingInput(input));
+            return new BinaryFraming(input, output);
+        }
+
+        @Override
+        public int getReadTimeout() throws IOException {
+            return socket.getSoTimeout();
+        }
+
+        @Override
+        public void setReadTimeout(int timeoutMs) throws IOException {
+            socket.setSoTimeout(timeoutMs);
+        }
+
+        @Override
+        public boolean isOpen() {
+            return !socket.isClosed() && socket.isConnected();
+        }
+
+        @Override
+        public String getRemoteAddress() {
+            if (!socket.isConnected()) {
+                return null;
+            }
+            return socket.getInetAddress().getHostAddress() + ":" + socket.getPort();
+        }
+
+        @Override
+        public String getLocalAddress() {
+            return socket.getLocalAddress().getHostAddress() + ":" + socket.getLocalPort();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                output.close();
+                input.close();
+            } finally {
+                socket.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package org.example;
+
+import javafx.fxml.FXML;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+
+/**
+ * Kontroler ekranu startowego wyświetlanego podczas wczytywania zasobów
+ * przez {@link AssetCache}.
+ */
+public class SplashController {
+
+    /** Pasek postępu wczytywania. */
+    @FXML private ProgressBar postep;
+
+    /** Opis aktualnie wczytywanego zasobu. */
+    @FXML private Label opis;
+
+    /**
+     * Aktualizuje postęp wczytywania. Wywoływana w wątku JavaFX.
+     *
+     * @param loaded liczba wczytanych zasobów
+     * @param total liczba wszystkich zasobów
+     * @param path ścieżka ostatnio wczytanego zasobu
+     */
+    public void showProgress(int loaded, int total, String path) {
+        postep.setProgress(total == 0 ? 1.0 : (double) loaded / total);
+        opis.setText("Wczytano " + path.substring(path.lastIndexOf('/') + 1) + " (" + loaded + "/" + total + ")");
+    }
+}
@@ -0,0 +1,72 @@
+package org.example;
+
+import java.util.List;
+
+/**
+ * Sposób wyświetlania kart na stole gry: ręki gracza, rewersów przeciwników,
+ * wierzchniej karty i wskaźnika tury. Etykiety i przyciski pozostają w widoku FXML.
+ *
+ * <p>Miejsca przy stole numerowane są od 0 (gracz lokalny), potem przeciwnik górny (1),
+ * lewy (2) i prawy (3). Wszystkie metody wywoływane są w wątku JavaFX.</p>
+ *
+ * @see NodeTableRenderer
+ * @see CanvasTableRenderer
+ */
+public interface TableRenderer {
+
+    /** Liczba miejsc przy stole (gracz lokalny i trzech przeciwników). */
+    int SEATS = 4;
+
+    /**
+     * Stan interaktywności kart w ręce gracza.
+     */
+    enum HandState {
+        /** Karty można zagrać (tura gracza). */
+        PLAYABLE,
+        /** Karty nieaktywne - tura innego gracza lub oczekiwanie na serwer. */
+        INACTIVE,
+        /** Karty zablokowane na stałe (koniec gry). */
+        LOCKED
+    }
+
+    /**
+     * Wyświetla rękę gracza.
+     *
+     * @param hand karty w formacie "kolor:wartość"
+     * @return liczba wyświetlonych kart (karty, których nie udało się odczytać, są pomijane)
+     */
+    int showHand(List<String> hand);
+
+    /**
+     * Ustawia interaktywność kart w ręce gracza.
+     *
+     * @param state nowy stan ręki
+     */
+    void setHandState(HandState state);
+
+    /**
+     * Wyświetla wierzchnią kartę na stole.
+     *
+     * @param card karta lub null, aby wyczyścić stół
+     */
+    void showTopCard(Card card);
+
+    /**
+     * Wyświetla liczbę kart przeciwników.
+     *
+     * @param counts liczba kart dla miejsc 1..3 (indeksy 0..2); 0 dla wolnego miejsca
+     */
+    void showOpponents(int[] counts);
+
+    /**
+     * Wskazuje miejsce gracza, który ma turę.
+     *
+     * @param seat numer miejsca (0..3) lub -1, jeśli tura nie jest znana
+     */
+    void showTurn(int seat);
+
+    /**
+     * Usuwa wyświetlane karty oraz słuchacze. Wywołanie musi być idempotentne.
+     */
+    void dispose();
+}
@@ -0,0 +1,111 @@
+package org.example;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Tekstowy podział komunikatów: jeden komunikat na linię zakończoną znakiem nowej linii,
+ * kodowanie UTF-8. Zgodny z dotychczasowym protokołem serwera.
+ * Dane czytane są blokami do własnego bufora; bajty odczytane z wyprzedzeniem można
+ * odzyskać przy zmianie trybu przez {@link #remainingInput(InputStream)}.
+ */
+public class TextFraming implements MessageFraming {
+    private final InputStream in;
+    private final OutputStream out;
+
+    /** Bufor odczytu blokowego. */
+    private final byte[] buffer = new byte[8192];
+    private int bufferPos = 0;
+    private int bufferLimit = 0;
+
+    /** Bufor bieżącej (być może niepełnej) linii, używany ponownie pomiędzy odczytami. */
+    private byte[] line = new byte[256];
+    private int lineLength = 0;
+
+    /**
+     * Tworzy tekstowy podział komunikatów na podanych strumieniach.
+     *
+     * @param in strumień wejściowy
+     * @param out strumień wyjściowy (powinien być buforowany)
+     */
+    public TextFraming(InputStream in, OutputStream out) {
+        this.in = in;
+        this.out = out;
+    }
+
+    @Override
+    public String read() throws IOException {
+        while (true) {
+            if (bufferPos == bufferLimit) {
+                int n = in.read(buffer, 0, buffer.length);
+                if (n < 0) {
+                    return lineLength == 0 ? null : takeLine();
+                }
+                bufferPos = 0;
+                bufferLimit = n;
+            }
+
+            int start = bufferPos;
+            int end = start;
+            while (end < bufferLimit && buffer[end] != '\n') {
+                end++;
+            }
+            appendToLine(start, end - start);
+            if (end < bufferLimit) {
+                bufferPos = end + 1;
+                return takeLine();
+            }
+            bufferPos = bufferLimit;
+        }
+    }
+
+    private void appendToLine(int offset, int length) {
+        if (lineLength + length > line.length) {
+            line = Arrays.copyOf(line, Math.max(line.length * 2, lineLength + length));
+        }
+        System.arraycopy(buffer, offset, line, lineLength, length);
+        lineLength += length;
+    }
+
+    private String takeLine() {
+        int length = lineLength;
+        if (length > 0 && line[length - 1] == '\r') {
+            length--;
+        }
+        lineLength = 0;
+        return new String(line, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Zwraca strumień, który najpierw oddaje bajty odczytane z wyprzedzeniem,
+     * a potem dalszą część podanego strumienia. Używane przy przejściu na inny tryb podziału.
+     *
+     * @param source strumień, z którego czytał ten podział
+     * @return strumień zawierający nieprzetworzone dane
+     */
+    public InputStream remainingInput(InputStream source) {
+        if (bufferPos == bufferLimit) {
+            return source;
+        }
+        byte[] rest = Arrays.copyOfRange(buffer, bufferPos, bufferLimit);
+        bufferPos = bufferLimit;
+        return new SequenceInputStream(new ByteArrayInputStream(rest), source);
+    }
+
+    @Override
+    public void write(String message) throws IOException {
+        out.write(message.getBytes(StandardCharsets.UTF_8));
+        out.write('\n');
+        out.flush();
+    }
+
+    @Override
+    public String getName() {
+        return "TEXT";
+    }
+}
@@ -0,0 +1,84 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Sposób nawiązywania połączenia z serwerem, z którego korzysta {@link ClientConnection}.
+ * Domyślnie jest to gniazdo TCP ({@link SocketTransport}); {@link LoopbackTransport}
+ * łączy klienta z serwerem działającym w tym samym procesie bez sieci, np. w testach,
+ * benchmarkach, botach i serwerze osadzonym.
+ *
+ * <p>Każde wywołanie {@link #open()} tworzy nowe łącze - przy wznawianiu sesji
+ * {@link ClientConnection} otwiera kolejne łącze tym samym transportem.</p>
+ */
+public interface Transport {
+
+    /**
+     * Otwiera nowe łącze z serwerem.
+     *
+     * @return otwarte łącze
+     * @throws IOException jeśli połączenia nie można nawiązać
+     */
+    Link open() throws IOException;
+
+    /**
+     * Zwraca opis celu połączenia (do logów), np. {@code localhost:2137}.
+     *
+     * @return opis transportu
+     */
+    String describe();
+
+    /**
+     * Otwarte łącze z serwerem. Zamknięcie łącza budzi wątek czekający w odczycie -
+     * odczyt zwraca wtedy null albo zgłasza błąd.
+     */
+    interface Link extends Closeable {
+
+        /**
+         * Zwraca początkowy podział komunikatów łącza.
+         *
+         * @return podział komunikatów
+         */
+        MessageFraming framing();
+
+        /**
+         * Przełącza łącze na binarne ramki z prefiksem długości ({@value BinaryFraming#FEATURE}).
+         * Łącze przekazujące gotowe komunikaty zwraca bieżący podział bez zmian.
+         *
+         * @param current bieżący podział komunikatów
+         * @return nowy podział komunikatów
+         */
+        MessageFraming upgradeFraming(MessageFraming current);
+
+        /**
+         * @return limit czasu odczytu w milisekundach (0 - bez limitu)
+         * @throws IOException jeśli łącze jest zamknięte
+         */
+        int getReadTimeout() throws IOException;
+
+        /**
+         * Ustawia limit czasu odczytu. Po jego upływie odczyt zgłasza
+         * {@link java.net.SocketTimeoutException}, a łącze pozostaje otwarte.
+         *
+         * @param timeoutMs limit w milisekundach (0 - bez limitu)
+         * @throws IOException jeśli łącze jest zamknięte
+         */
+        void setReadTimeout(int timeoutMs) throws IOException;
+
+        /**
+         * @return true jeśli łącze nie zostało zamknięte
+         */
+        boolean isOpen();
+
+        /**
+         * @return adres drugiej strony łącza lub null
+         */
+        String getRemoteAddress();
+
+        /**
+         * @return adres lokalnej strony łącza lub null
+         */
+        String getLocalAddress();
+    }
+}
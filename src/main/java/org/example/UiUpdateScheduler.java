@@ -0,0 +1,243 @@
+package org.example;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Harmonogram aktualizacji interfejsu stosowanych co najwyżej raz na impuls (pulse) JavaFX.
+ * Zamiast osobnego {@code Platform.runLater} dla każdej zmiany, aktualizacje zgłaszane
+ * z dowolnego wątku trafiają do wspólnej kolejki, a {@link AnimationTimer} wykonuje je
+ * w najbliższej klatce.
+ *
+ * <p>Aktualizacje z kluczem ({@link #update(Object, Runnable)}) są scalane - w klatce
+ * wykonywana jest tylko najnowsza aktualizacja danego elementu (np. ręki gracza), a jej
+ * pozycja w kolejności przesuwa się na koniec. Akcje bez klucza ({@link #post(Runnable)})
+ * wykonywane są wszystkie, w kolejności zgłoszenia.</p>
+ *
+ * <p>Timer działa tylko wtedy, gdy są oczekujące aktualizacje; w stanie bezczynności
+ * nie wymusza kolejnych klatek. Na przejście ze stanu bezczynności wysyłany jest jeden
+ * {@code Platform.runLater}.</p>
+ *
+ * <p>Uwaga: akcji otwierających okna modalne ({@code showAndWait}) nie wolno zgłaszać
+ * przez harmonogram - JavaFX zabrania zagnieżdżonej pętli zdarzeń podczas animacji.</p>
+ */
+public class UiUpdateScheduler {
+
+    /** Maksymalna liczba przebiegów w jednej klatce dla aktualizacji zgłoszonych w trakcie klatki. */
+    private static final int MAX_PASSES_PER_FRAME = 4;
+
+    private final Logger logger = Logger.getInstance();
+    private final ClientMetrics metrics = ClientMetrics.getInstance();
+
+    private final Object lock = new Object();
+    private LinkedHashMap<Object, Runnable> pending = new LinkedHashMap<>();
+    private final AtomicBoolean wakeupPosted = new AtomicBoolean(false);
+    private volatile boolean disposed = false;
+
+    /** Czy timer jest uruchomiony (tylko wątek JavaFX). */
+    private boolean running = false;
+
+    /** Czy w bieżącym impulsie zastosowano aktualizacje (mierzony jest wtedy czas układu). */
+    private boolean frameDirty = false;
+    private long layoutStartNanos;
+    private Scene scene;
+
+    private final LatencyHistogram applyTimes = metrics.histogram("ui.frame.apply");
+    private final LatencyHistogram layoutTimes = metrics.histogram("ui.frame.layout");
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder runnablesPosted = new LongAdder();
+    private final LongAdder frames = new LongAdder();
+
+    private final AnimationTimer timer = new AnimationTimer() {
+        @Override
+        public void handle(long now) {
+            onPulse();
+        }
+    };
+
+    private final Runnable preLayout = () -> {
+        if (frameDirty) {
+            layoutStartNanos = System.nanoTime();
+        }
+    };
+
+    private final Runnable postLayout = () -> {
+        if (frameDirty) {
+            layoutTimes.record(System.nanoTime() - layoutStartNanos);
+            frameDirty = false;
+        }
+    };
+
+    /**
+     * Zgłasza aktualizację elementu interfejsu. Jeśli dla tego samego klucza czeka już
+     * niezastosowana aktualizacja, zostaje ona zastąpiona.
+     * Metoda może być wywoływana z dowolnego wątku.
+     *
+     * @param key klucz elementu (np. "hand", "turn")
+     * @param action aktualizacja do wykonania w wątku JavaFX
+     */
+    public void update(Object key, Runnable action) {
+        if (disposed) {
+            return;
+        }
+        synchronized (lock) {
+            // Usunięcie przed wstawieniem przesuwa aktualizację na koniec kolejności
+            if (pending.remove(key) != null) {
+                coalesced.increment();
+                metrics.increment("ui.updates.coalesced");
+            }
+            pending.put(key, action);
+        }
+        submitted.increment();
+        metrics.increment("ui.updates.submitted");
+        wakeUp();
+    }
+
+    /**
+     * Zgłasza akcję bez scalania; wszystkie zgłoszone akcje wykonywane są w kolejności.
+     * Metoda może być wywoływana z dowolnego wątku.
+     *
+     * @param action akcja do wykonania w wątku JavaFX
+     */
+    public void post(Runnable action) {
+        update(new Object(), action);
+    }
+
+    /**
+     * Podłącza pomiar czasu układu (layout) klatek, w których zastosowano aktualizacje.
+     * Wywoływana w wątku JavaFX; null odłącza pomiar.
+     *
+     * @param newScene scena, w której wyświetlane są aktualizowane elementy
+     */
+    public void attachScene(Scene newScene) {
+        if (scene != null) {
+            scene.removePreLayoutPulseListener(preLayout);
+            scene.removePostLayoutPulseListener(postLayout);
+        }
+        scene = newScene;
+        if (scene != null && !disposed) {
+            scene.addPreLayoutPulseListener(preLayout);
+            scene.addPostLayoutPulseListener(postLayout);
+        }
+    }
+
+    /**
+     * Zatrzymuje harmonogram, odrzuca oczekujące aktualizacje i zapisuje podsumowanie do logu.
+     * Kolejne zgłoszenia są ignorowane.
+     */
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+        synchronized (lock) {
+            pending.clear();
+        }
+        Runnable stop = () -> {
+            timer.stop();
+            running = false;
+            attachScene(null);
+        };
+        if (Platform.isFxApplicationThread()) {
+            stop.run();
+        } else {
+            Platform.runLater(stop);
+        }
+        logger.info("Podsumowanie aktualizacji UI (profil " + RenderProfile.active() + "): zgłoszone=" + submitted.sum()
+                + ", scalone=" + coalesced.sum() + ", zastosowane=" + applied.sum()
+                + ", klatki=" + frames.sum() + ", Platform.runLater=" + runnablesPosted.sum()
+                + ", czas klatki " + applyTimes.snapshot() + ", układ " + layoutTimes.snapshot());
+    }
+
+    /**
+     * Zwraca liczbę zadań wysłanych do {@code Platform.runLater} przez ten harmonogram.
+     *
+     * @return liczba wybudzeń wątku JavaFX
+     */
+    public long getRunnablesPosted() {
+        return runnablesPosted.sum();
+    }
+
+    /**
+     * Zwraca liczbę aktualizacji zastąpionych przez nowsze przed zastosowaniem.
+     *
+     * @return liczba scalonych aktualizacji
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    private void wakeUp() {
+        if (wakeupPosted.compareAndSet(false, true)) {
+            if (Platform.isFxApplicationThread()) {
+                startTimer();
+            } else {
+                runnablesPosted.increment();
+                metrics.increment("ui.runlater.posted");
+                Platform.runLater(this::startTimer);
+            }
+        }
+    }
+
+    private void startTimer() {
+        if (!disposed && !running) {
+            running = true;
+            timer.start();
+        }
+    }
+
+    /**
+     * Wykonuje oczekujące aktualizacje. Aktualizacje zgłoszone w trakcie klatki
+     * (np. przez przetwarzane komunikaty) są wykonywane w tej samej klatce,
+     * z limitem przebiegów, aby nie zagłodzić renderowania.
+     */
+    private void onPulse() {
+        long start = System.nanoTime();
+        int count = 0;
+
+        for (int pass = 0; pass < MAX_PASSES_PER_FRAME; pass++) {
+            Map<Object, Runnable> batch;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    break;
+                }
+                batch = pending;
+                pending = new LinkedHashMap<>();
+            }
+            for (Runnable action : batch.values()) {
+                try {
+                    action.run();
+                } catch (Exception e) {
+                    logger.error(e, "Błąd aktualizacji interfejsu");
+                }
+                count++;
+            }
+        }
+
+        if (count > 0) {
+            applyTimes.record(System.nanoTime() - start);
+            applied.add(count);
+            frames.increment();
+            metrics.add("ui.updates.applied", count);
+            metrics.increment("ui.frames");
+            frameDirty = true;
+        }
+
+        synchronized (lock) {
+            if (pending.isEmpty() || disposed) {
+                timer.stop();
+                running = false;
+                wakeupPosted.set(false);
+            }
+        }
+    }
+}
@@ -4,7 +4,9 @@
  * przetwarzaniem komunikatów serwera i interakcją użytkownika poprzez interfejs JavaFX.
  *
  * <p>Kontroler implementuje interfejs {@link Initializable}, co umożliwia inicjalizację
- * komponentów JavaFX po załadowaniu pliku FXML.</p>
+ * komponentów JavaFX po załadowaniu pliku FXML, oraz {@link SceneLifecycle} - przy opuszczaniu
+ * sceny gry {@link SceneNavigator} zatrzymuje wątek odbierający, odłącza słuchaczy,
+ * anuluje zadania i zwalnia widoki kart.</p>
  *
  * @see javafx.fxml.Initializable
  * @see ClientConnection
@@ -13,25 +15,41 @@
 package org.example;
 
 import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.event.EventHandler;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
+import javafx.geometry.Pos;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.CacheHint;
+import javafx.scene.Scene;
+import javafx.scene.canvas.Canvas;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.ButtonType;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.*;
 import javafx.scene.control.Label;
 import java.net.URL;
 import java.util.*;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
-import javafx.stage.Stage;
 
-public class UnoController implements Initializable {
+public class UnoController implements Initializable, SceneLifecycle {
     private static final Logger logger = Logger.getInstance();
 
+    /** Korzeń widoku gry, wyznacza rozmiar tła stołu. */
+    @FXML private StackPane stolGry;
+
+    /** Tło stołu rysowane z {@link AssetCache}. */
+    @FXML private ImageView tloStolu;
+
+    /** Dopasowuje tło do rozmiaru widoku; zarejestrowany także na współdzielonym obrazie tła. */
+    private InvalidationListener dopasowanieTla;
+
     /** Kontener dla wierzchniej karty na stole. */
     @FXML private StackPane stol;
 
@@ -65,17 +83,40 @@ public class UnoController implements Initializable {
     /** Etykieta informująca o aktualnej turze. */
     @FXML private Label labelTura;
 
+    /** Etykieta z czasem odpowiedzi serwera mierzonym przez heartbeat. */
+    @FXML private Label labelPing;
+
     /** Przycisk umożliwiający dobieranie karty. */
     @FXML private Button przyciskDobierania;
 
-    /** Aktualna wierzchnia karta na stole. */
+    /** Wierzchnia karta na stole (tylko wątek JavaFX). */
     private Card wierzchniaKarta;
 
-    /** Lista kart w ręce głównego gracza. */
-    private List<Card> kartyGracza;
+    /** Wyświetlanie kart na stole - węzłami sceny lub na płótnie, zależnie od ustawień. */
+    private TableRenderer renderer;
+
+    /** Pomiar płynności sceny gry, wyświetlany w nakładce (F3) i zapisywany do pliku metryk. */
+    private PerformanceMonitor monitor;
+
+    /** Zapis próbek wydajności do pliku (null, jeśli wyłączony w ustawieniach). */
+    private MetricsRecorder metricsRecorder;
+
+    /** Nakładka z pomiarami wydajności, przełączana klawiszem F3. */
+    private Label nakladkaWydajnosci;
+
+    /** Scena, w której zarejestrowano obsługę klawisza F3 (wspólna scena nawigatora). */
+    private Scene aktywnaScena;
 
-    /** Mapa przechowująca liczbę kart każdego przeciwnika (klucz: nazwa gracza, wartość: liczba kart). */
-    private Map<String, Integer> przeciwnicyKarty;
+    /** Przełącza nakładkę wydajności klawiszem F3. */
+    private final EventHandler<KeyEvent> przelacznikNakladki = event -> {
+        if (event.getCode() == KeyCode.F3) {
+            toggleOverlay();
+            event.consume();
+        }
+    };
+
+    /** Stan gry stosowany w wątku sieciowym; interfejs odświeża tylko zmienione elementy. */
+    private final GameStateStore gameState = new GameStateStore();
 
     /** Połączenie klienta z serwerem. */
     private ClientConnection clientConnection;
@@ -83,26 +124,150 @@ public class UnoController implements Initializable {
     /** Nickname głównego gracza. */
     private String nickname;
 
-    /** Nazwa gracza aktualnie wykonującego turę. */
-    private String currentPlayer;
-
-    /** Flaga wskazująca, czy tura należy do głównego gracza. */
+    /** Flaga wskazująca, czy wyświetlana tura należy do głównego gracza (tylko wątek JavaFX). */
     private boolean myTurn = false;
 
     /** Flaga wskazująca, czy oczekiwany jest wybór koloru po zagraniu karty WILD. */
     private boolean waitingForColorChoice = false;
 
+    /**
+     * Czy zagranie karty jest pokazywane od razu, przed odpowiedzią serwera.
+     * Można wyłączyć właściwością systemową {@code -Duno.optimisticPlay=false}.
+     */
+    private final boolean optimisticPlay = Boolean.parseBoolean(System.getProperty("uno.optimisticPlay", "true"));
+
     /** AtomicBoolean zarządzający stanem aktywności gry. */
     private AtomicBoolean gameActive = new AtomicBoolean(true);
 
     /** Wątek odbierający wiadomości z serwera. */
     private Thread messageReceiver;
 
+    /** Czy kontroler został zwolniony (tylko wątek JavaFX). */
+    private boolean disposed = false;
+
     /** Flaga wskazująca, czy interfejs użytkownika jest gotowy do aktualizacji. */
     private volatile boolean uiReady = false;
 
-    /** Kolejka wiadomości oczekujących na przetworzenie po gotowości UI. */
-    private Queue<String> pendingMessages = new ConcurrentLinkedQueue<>();
+    /** Ograniczona kolejka wiadomości (z pierwszeństwem CHOOSE_COLOR i WINNER) oczekujących na przetworzenie po gotowości UI. */
+    private final InboundMessageQueue pendingMessages = new InboundMessageQueue();
+
+    /** Harmonogram scalający aktualizacje interfejsu do jednej na klatkę. */
+    private final UiUpdateScheduler uiScheduler = new UiUpdateScheduler();
+
+    /**
+     * Słuchacz stanu gry. Każdy zmieniony element jest zgłaszany jako scalana aktualizacja
+     * interfejsu, która w chwili wykonania rysuje najnowszy stan z magazynu.
+     */
+    private final GameStateStore.Listener stateListener = new GameStateStore.Listener() {
+        @Override
+        public void onStateChanged(GameState previous, GameState current, Set<GameState.Field> changed) {
+            logger.debug("Stan gry v" + current.getVersion() + ", zmiany: " + changed);
+            if (changed.contains(GameState.Field.TOP_CARD)) {
+                uiScheduler.update("top", () -> renderTopCard(gameState.getState().getTopCard()));
+            }
+            if (changed.contains(GameState.Field.TURN)) {
+                uiScheduler.update("turn", () -> renderTurn(gameState.getState().getCurrentPlayer()));
+            }
+            if (changed.contains(GameState.Field.HAND)) {
+                uiScheduler.update("hand", () -> renderHand(gameState.getState().getHand()));
+            }
+            if (changed.contains(GameState.Field.OPPONENTS)) {
+                uiScheduler.update("opponents", () -> renderOpponents(gameState.getState().getOpponents()));
+            }
+        }
+
+        @Override
+        public void onCardPlayed(String player, String card) {
+            uiScheduler.update("instruction", () -> {
+                if (player.equals(nickname)) {
+                    instrukcja.setText("Twoja karta została zagrana");
+                    logger.debug("Twoja karta została zagrana: " + card);
+                } else {
+                    instrukcja.setText("Gracz " + player + " zagrał kartę");
+                    logger.debug("Gracz " + player + " zagrał kartę: " + card);
+                }
+            });
+        }
+
+        @Override
+        public void onCardDrawn(String card) {
+            logger.info("Dobrano kartę: " + card);
+            uiScheduler.update("instruction", () -> instrukcja.setText("Dobrałeś kartę: " + card));
+        }
+
+        @Override
+        public void onResyncRequired() {
+            clientConnection.sendMessage("SNAPSHOT");
+            logger.info("Wysłano żądanie pełnego stanu gry (SNAPSHOT)");
+        }
+
+        @Override
+        public void onPredictionResolved(String card, boolean confirmed) {
+            // Tura mogła zostać przy graczu (np. SKIP, REVERSE) - blokada ręki wynika z przewidywania
+            uiScheduler.update("turn", () -> renderTurn(gameState.getState().getCurrentPlayer()));
+            if (confirmed) {
+                return;
+            }
+            logger.warning("Zagranie " + card + " wycofane - przywracam stan potwierdzony przez serwer");
+            uiScheduler.update("instruction", () -> instrukcja.setText("Serwer odrzucił zagranie karty " + card));
+        }
+
+        @Override
+        public void onResynchronized() {
+            logger.info("Stan gry zsynchronizowany");
+            uiScheduler.update("instruction", () -> instrukcja.setText("Stan gry zsynchronizowany"));
+        }
+    };
+
+    /**
+     * Słuchacz wznawiania połączenia. Po wznowieniu sesji prosi serwer o zwięzły
+     * stan gry ({@code SYNC_STATE}, a w trybie przyrostowym {@code SNAPSHOT})
+     * zamiast ponownej inicjalizacji przez INIT_GAME.
+     */
+    private final ClientConnection.ReconnectListener reconnectListener = new ClientConnection.ReconnectListener() {
+        @Override
+        public void onReconnecting(int attempt, long delayMs) {
+            uiScheduler.update("turn", () -> labelTura.setText("Utracono połączenie - ponawianie (próba " + attempt + ")..."));
+        }
+
+        @Override
+        public void onReconnected(long downtimeMs) {
+            logger.info("Połączenie wznowione po " + downtimeMs + "ms, żądam stanu gry");
+            requestStateResync();
+        }
+
+        @Override
+        public void onReconnectFailed() {
+            if (gameActive.get()) {
+                showError("Utracono połączenie z serwerem");
+            }
+        }
+    };
+
+    /**
+     * Słuchacz heartbeatu wyświetlający bieżące statystyki RTT.
+     */
+    private final ClientConnection.HeartbeatListener heartbeatListener = new ClientConnection.HeartbeatListener() {
+        @Override
+        public void onRttSample(long rttNanos, LatencyHistogram.Snapshot stats) {
+            String text = String.format("Ping: %d ms (p50 %d ms, p99 %d ms)",
+                    rttNanos / 1_000_000, stats.getP50() / 1_000_000, stats.getP99() / 1_000_000);
+            uiScheduler.update("ping", () -> {
+                if (labelPing != null) {
+                    labelPing.setText(text);
+                }
+            });
+        }
+
+        @Override
+        public void onConnectionDead(long silenceMs) {
+            uiScheduler.update("ping", () -> {
+                if (labelPing != null) {
+                    labelPing.setText("Brak odpowiedzi serwera od " + silenceMs + " ms");
+                }
+            });
+        }
+    };
 
     /**
      * Inicjalizuje kontroler po załadowaniu pliku FXML.
@@ -115,10 +280,14 @@ public class UnoController implements Initializable {
     public void initialize(URL location, ResourceBundle resources) {
         logger.info("Inicjalizacja UnoController");
 
-        przeciwnicyKarty = new HashMap<>();
-        kartyGracza = new ArrayList<>();
+        setupTextures();
+        setupRenderer();
+        setupPerformanceOverlay();
         logger.debug("Struktury danych zainicjalizowane");
 
+        // Pomiar czasu układu klatek z aktualizacjami - scena znana dopiero po osadzeniu widoku
+        rekaGracza.sceneProperty().addListener((obs, oldScene, newScene) -> uiScheduler.attachScene(newScene));
+
         Platform.runLater(() -> {
             if (przyciskDobierania != null) {
                 przyciskDobierania.setOnAction(e -> dobierzKarte());
@@ -135,6 +304,121 @@ public class UnoController implements Initializable {
         logger.info("UnoController zainicjalizowany");
     }
 
+    /**
+     * Ustawia tło stołu i grafikę stosu kart z obrazów wczytanych przy starcie przez {@link AssetCache}.
+     * Tło wypełnia cały widok z zachowaniem proporcji (nadmiar obrazu jest przycinany).
+     * W profilu {@link RenderProfile#LOW_SPEC} wyłącza efekty i buforuje tło jako bitmapę.
+     */
+    private void setupTextures() {
+        AssetCache assets = AssetCache.getInstance();
+        RenderProfile profile = RenderProfile.active();
+        if (!profile.isEffectsEnabled() && stolGry != null) {
+            // table.css wyłącza efekty dla tej klasy
+            stolGry.getStyleClass().add("low-spec");
+        }
+        if (tloStolu != null && stolGry != null) {
+            Image tlo = assets.get(AssetCache.TABLE_BACKGROUND);
+            tloStolu.setImage(tlo);
+            if (profile.isNodeCacheEnabled()) {
+                tloStolu.setCache(true);
+                tloStolu.setCacheHint(CacheHint.SPEED);
+            }
+            dopasowanieTla = obs -> fillCover(tloStolu, stolGry.getWidth(), stolGry.getHeight());
+            stolGry.widthProperty().addListener(dopasowanieTla);
+            stolGry.heightProperty().addListener(dopasowanieTla);
+            // Obraz może jeszcze wczytywać się w tle, jeśli przekroczono limit czasu ekranu startowego
+            tlo.widthProperty().addListener(dopasowanieTla);
+        }
+        if (przyciskDobierania != null) {
+            ImageView stos = new ImageView(assets.get(AssetCache.DRAW_PILE));
+            stos.setSmooth(true);
+            fillCover(stos, przyciskDobierania.getPrefWidth(), przyciskDobierania.getPrefHeight());
+            przyciskDobierania.setGraphic(stos);
+            przyciskDobierania.setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+        }
+    }
+
+    /**
+     * Tworzy sposób wyświetlania stołu wybrany w ustawieniach. Płótno umieszczane jest
+     * nad tłem, pod warstwą etykiet i przycisków.
+     */
+    private void setupRenderer() {
+        HBox[] opponentBoxes = {rekaPrzeciwnika, rekaLewego, rekaPrawego};
+        if (ClientSettings.getInstance().isCanvasTable() && stolGry != null) {
+            CanvasTableRenderer canvasRenderer = new CanvasTableRenderer(rekaGracza, opponentBoxes, stol, this::playCard);
+            Canvas canvas = canvasRenderer.getCanvas();
+            canvas.setManaged(false);
+            canvas.widthProperty().bind(stolGry.widthProperty());
+            canvas.heightProperty().bind(stolGry.heightProperty());
+            stolGry.getChildren().add(stolGry.getChildren().indexOf(tloStolu) + 1, canvas);
+            renderer = canvasRenderer;
+            logger.info("Stół gry rysowany na płótnie");
+        } else {
+            renderer = new NodeTableRenderer(rekaGracza, opponentBoxes, stol, this::playCard);
+        }
+    }
+
+    /**
+     * Tworzy nakładkę wydajności i pomiar sceny. Widoczność nakładki jest zapamiętywana
+     * w ustawieniach; zapis do pliku metryk można wyłączyć ustawieniem {@code metrics.file}.
+     */
+    private void setupPerformanceOverlay() {
+        ClientSettings settings = ClientSettings.getInstance();
+        monitor = new PerformanceMonitor(() -> clientConnection != null ? clientConnection.getRttStats() : null);
+
+        if (stolGry != null) {
+            nakladkaWydajnosci = new Label("Pomiar wydajności...");
+            nakladkaWydajnosci.setStyle("-fx-font-family: monospace; -fx-font-size: 13px; -fx-text-fill: #7CFC00; "
+                    + "-fx-background-color: rgba(0,0,0,0.65); -fx-padding: 6;");
+            nakladkaWydajnosci.setMouseTransparent(true);
+            nakladkaWydajnosci.setVisible(settings.getBoolean(ClientSettings.OVERLAY_VISIBLE, false));
+            StackPane.setAlignment(nakladkaWydajnosci, Pos.TOP_LEFT);
+            stolGry.getChildren().add(nakladkaWydajnosci);
+            String tryb = "Profil: " + RenderProfile.active() + ", stół: "
+                    + (renderer instanceof CanvasTableRenderer ? "płótno" : "węzły") + "\n";
+            monitor.addListener(sample -> {
+                if (nakladkaWydajnosci.isVisible()) {
+                    nakladkaWydajnosci.setText(tryb + sample.describe());
+                }
+            });
+        }
+        if (settings.getBoolean(ClientSettings.METRICS_FILE, true)) {
+            metricsRecorder = new MetricsRecorder();
+            monitor.addListener(metricsRecorder);
+        }
+    }
+
+    /**
+     * Pokazuje lub ukrywa nakładkę wydajności i zapamiętuje wybór.
+     */
+    private void toggleOverlay() {
+        if (nakladkaWydajnosci == null) {
+            return;
+        }
+        boolean visible = !nakladkaWydajnosci.isVisible();
+        nakladkaWydajnosci.setVisible(visible);
+        ClientSettings.getInstance().setBoolean(ClientSettings.OVERLAY_VISIBLE, visible);
+        logger.debug("Nakładka wydajności " + (visible ? "włączona" : "wyłączona"));
+    }
+
+    /**
+     * Skaluje obraz tak, by wypełnił obszar o podanym rozmiarze, przycinając nadmiar
+     * po środku (odpowiednik {@code -fx-background-size: cover}).
+     */
+    private static void fillCover(ImageView view, double width, double height) {
+        Image image = view.getImage();
+        if (image == null || image.getWidth() <= 0 || width <= 0 || height <= 0) {
+            return;
+        }
+        double scale = Math.max(width / image.getWidth(), height / image.getHeight());
+        double viewportWidth = width / scale;
+        double viewportHeight = height / scale;
+        view.setViewport(new Rectangle2D((image.getWidth() - viewportWidth) / 2,
+                (image.getHeight() - viewportHeight) / 2, viewportWidth, viewportHeight));
+        view.setFitWidth(width);
+        view.setFitHeight(height);
+    }
+
     /**
      * Konfiguruje połączenie z serwerem i ustawia nickname gracza.
      *
@@ -147,16 +431,22 @@ public class UnoController implements Initializable {
         this.nickname = nickname;
         logger.debug("Połączenie ustawione dla: " + nickname);
 
+        gameState.addListener(stateListener);
+        clientConnection.addReconnectListener(reconnectListener);
+        clientConnection.addHeartbeatListener(heartbeatListener);
+        clientConnection.startHeartbeat();
         startMessageReceiver();
         Platform.runLater(() -> {
-            clientConnection.sendMessage("INIT_GAME ");
+            // Zgłaszamy obsługę aktualizacji przyrostowych; serwer bez tej funkcji ignoruje argument
+            clientConnection.sendMessage("INIT_GAME " + GameDelta.PROTOCOL_VERSION);
             logger.debug("Wysłano INIT_GAME");
         });
     }
 
     /**
      * Uruchamia wątek odbierający wiadomości z serwera.
-     * Wiadomości są dodawane do kolejki pendingMessages i przetwarzane po gotowości UI.
+     * Komunikaty zmieniające stan gry są stosowane od razu w magazynie stanu,
+     * pozostałe trafiają do kolejki pendingMessages i są przetwarzane po gotowości UI.
      */
     private void startMessageReceiver() {
         messageReceiver = new Thread(() -> {
@@ -168,28 +458,18 @@ public class UnoController implements Initializable {
                         if (message != null && !message.trim().isEmpty()) {
                             logger.debug("Odebrano w wątku sieciowym: [" + message + "]");
 
-                            // Rozdziel po znakach nowej linii ORAZ po średnikach
-                            String[] lines = message.split("\n");
-                            for (String line : lines) {
-                                if (!line.trim().isEmpty()) {
-                                    // Teraz rozdziel po średnikach
-                                    String[] parts = line.split(";");
-                                    for (String part : parts) {
-                                        String trimmedPart = part.trim();
-                                        if (!trimmedPart.isEmpty()) {
-                                            logger.debug("Dodaję do kolejki: " + trimmedPart);
-                                            pendingMessages.offer(trimmedPart);
-                                        }
-                                    }
-                                }
+                            if (clientConnection.isFramed()) {
+                                // Ramki binarne niosą dokładnie jeden komunikat - bez dzielenia
+                                dispatchMessage(message.trim());
+                            } else {
+                                enqueueTextMessage(message);
                             }
 
                             if (uiReady) {
-                                Platform.runLater(() -> processPendingMessages());
+                                // Kolejne komunikaty przed najbliższą klatką są przetwarzane razem
+                                uiScheduler.update("inbound", this::processPendingMessages);
                             }
                         }
-                        // Krótka pauza, aby nie obciążać CPU
-                        Thread.sleep(50);
                     } catch (Exception e) {
                         logger.error("Błąd w odbiorze wiadomości: " + e.getMessage());
                         logger.error(e, "Szczegóły błędu");
@@ -201,33 +481,55 @@ public class UnoController implements Initializable {
                 logger.error(e, "Szczegóły błędu");
                 Platform.runLater(() -> showError("Utracono połączenie z serwerem"));
             }
-        });
+        }, "uno-game-receiver");
         messageReceiver.setDaemon(true);
         messageReceiver.start();
         logger.debug("Wątek odbierania wiadomości uruchomiony");
     }
 
     /**
-     * Usuwa kartę z ręki gracza na podstawie jej reprezentacji tekstowej.
+     * Dzieli komunikat tekstowy po znakach nowej linii oraz średnikach
+     * i przekazuje jego części do {@link #dispatchMessage(String)}.
      *
-     * @param cardStr reprezentacja tekstowa karty do usunięcia
+     * @param message komunikat odebrany w trybie tekstowym
+     * @throws InterruptedException jeśli wątek został przerwany podczas oczekiwania na miejsce w kolejce
      */
-    private void removeCardFromHand(String cardStr) {
-        Platform.runLater(() -> {
-            logger.debug("Usuwanie karty z ręki: " + cardStr);
-            for (int i = 0; i < kartyGracza.size(); i++) {
-                Card card = kartyGracza.get(i);
-                if (card.toString().equals(cardStr)) {
-                    kartyGracza.remove(i);
-                    if (i < rekaGracza.getChildren().size()) {
-                        rekaGracza.getChildren().remove(i);
+    private void enqueueTextMessage(String message) throws InterruptedException {
+        // Rozdziel po znakach nowej linii ORAZ po średnikach
+        String[] lines = message.split("\n");
+        for (String line : lines) {
+            if (!line.trim().isEmpty()) {
+                // Teraz rozdziel po średnikach
+                String[] parts = line.split(";");
+                for (String part : parts) {
+                    String trimmedPart = part.trim();
+                    if (!trimmedPart.isEmpty()) {
+                        dispatchMessage(trimmedPart);
                     }
-                    labelGracz.setText("Twoje karty (" + kartyGracza.size() + ")");
-                    logger.debug("Karta usunięta. Pozostałe karty: " + kartyGracza.size());
-                    break;
                 }
             }
-        });
+        }
+    }
+
+    /**
+     * Stosuje komunikat zmieniający stan gry w magazynie stanu, a pozostałe komunikaty
+     * dodaje do kolejki oczekujących. Przy pełnej kolejce wątek odbierający czeka
+     * na jej opróżnienie przez wątek JavaFX.
+     *
+     * @param message pojedynczy komunikat serwera
+     * @throws InterruptedException jeśli wątek został przerwany podczas oczekiwania
+     */
+    private void dispatchMessage(String message) throws InterruptedException {
+        ClientEvents.MessageDispatched event = new ClientEvents.MessageDispatched();
+        event.begin();
+        if (gameState.apply(message)) {
+            event.commit(message, "GameStateStore");
+            return;
+        }
+        logger.debug("Dodaję do kolejki: " + message);
+        if (!pendingMessages.offer(message)) {
+            logger.warning("Komunikat odrzucony przy pełnej kolejce: " + message);
+        }
     }
 
     /**
@@ -240,60 +542,50 @@ public class UnoController implements Initializable {
         }
 
         logger.debug("Przetwarzanie oczekujących wiadomości: " + pendingMessages.size());
-        while (!pendingMessages.isEmpty()) {
-            String message = pendingMessages.poll();
+        String message;
+        while ((message = pendingMessages.poll()) != null) {
             logger.debug("Przetwarzam wiadomość z kolejki: " + message);
             handleServerMessage(message);
         }
+
+        if (pendingMessages.takeOverflow()) {
+            // Odrzucone komunikaty mogły nieść zmiany stanu - pobierz pełny stan od serwera
+            logger.warning("Przepełnienie kolejki komunikatów, żądam pełnego stanu gry");
+            requestStateResync();
+        }
+    }
+
+    /**
+     * Prosi serwer o pełny stan gry: {@code SNAPSHOT} w trybie przyrostowym
+     * (pełny stan niesie wtedy też numer sekwencyjny), w przeciwnym razie {@code SYNC_STATE}.
+     * Wcześniejsze żądanie mogło zostać utracone, więc jest ponawiane.
+     */
+    private void requestStateResync() {
+        if (gameState.isDeltaMode()) {
+            gameState.clearSnapshotRequest();
+            gameState.requestSnapshot();
+        } else {
+            clientConnection.sendMessage("SYNC_STATE");
+        }
     }
 
     /**
-     * Główna metoda obsługi komunikatów serwera.
+     * Główna metoda obsługi komunikatów serwera, które nie zmieniają stanu gry
+     * (te stosuje {@link GameStateStore}).
      * Rozpoznaje typ komunikatu i wywołuje odpowiednią metodę obsługi.
      *
      * @param message pełny komunikat otrzymany z serwera
      */
     private void handleServerMessage(String message) {
+        ClientEvents.MessageDispatched event = new ClientEvents.MessageDispatched();
+        event.begin();
         logger.debug("=== ROZPOCZĘCIE handleServerMessage ===");
         logger.debug("Oryginalna wiadomość: [" + message + "]");
 
         String trimmed = message.trim();
         logger.debug("Przetwarzam komendę: [" + trimmed + "]");
 
-        if (trimmed.startsWith("INIT_GAME ")) {
-            logger.debug("Inicjalizacja gry");
-            handleGameInitialization(trimmed.substring(10));
-        }
-        else if (trimmed.startsWith("PLAY_RESULT ")) {
-            logger.debug("Otrzymano wynik zagrania karty");
-            handlePlayResult(trimmed.substring(12));
-        }
-        else if (trimmed.startsWith("HAND ")) {
-            String handData = trimmed.substring(5);
-            logger.debug("Dane ręki: " + handData);
-            updateHand(handData);
-        }
-        else if (trimmed.startsWith("TOP_CARD ")) {
-            logger.debug("Aktualizacja wierzchniej karty");
-            updateTopCard(trimmed.substring(9));
-        }
-        else if (trimmed.startsWith("PLAYERS ")) {
-            logger.debug("Aktualizacja graczy");
-            updateOpponents(trimmed.substring(8));
-        }
-        else if (trimmed.startsWith("TURN ")) {
-            logger.debug("Aktualizacja tury");
-            updateTurn(trimmed.substring(5));
-        }
-        else if (trimmed.startsWith("PLAYED ")) {
-            logger.debug("Karta zagrana");
-            handleCardPlayed(trimmed.substring(7));
-        }
-        else if (trimmed.startsWith("DREW ")) {
-            logger.debug("Karta dobrana");
-            handleCardDrawn(trimmed.substring(5));
-        }
-        else if (trimmed.startsWith("WINNER ")) {
+        if (trimmed.startsWith("WINNER ")) {
             logger.debug("Informacja o zwycięzcy");
             handleWinner(trimmed.substring(7));
         }
@@ -307,6 +599,8 @@ public class UnoController implements Initializable {
         }
         else if (trimmed.startsWith("ERROR")) {
             logger.error("Błąd serwera: " + trimmed);
+            // Błąd w odpowiedzi na optymistyczne zagranie wycofuje przewidywany stan
+            gameState.rejectPrediction();
             showError(trimmed);
         }
         else if (trimmed.startsWith("GAME_ENDED")) {
@@ -326,156 +620,51 @@ public class UnoController implements Initializable {
         }
 
         logger.debug("=== ZAKOŃCZENIE handleServerMessage ===\n");
+        event.commit(message, "UnoController");
     }
 
     /**
-     * Obsługuje wynik zagrania karty otrzymany z serwera.
-     * Aktualizuje wierzchnią kartę, turę, stan przeciwników i rękę gracza.
+     * Wyświetla rękę gracza z zachowaniem bieżącej interaktywności kart.
      *
-     * @param playResultData dane wyniku zagrania w formacie:
-     *                      "gracz karta wierzchnia_karta aktualny_gracz przeciwnicy ręka"
+     * @param hand karty w ręce w formacie "kolor:wartość"
      */
-    private void handlePlayResult(String playResultData) {
-        logger.debug("Przetwarzanie PLAY_RESULT: " + playResultData);
-
-        String[] parts = playResultData.split(" ", 6);
-        if (parts.length != 6) {
-            logger.error("Błędny format PLAY_RESULT: " + playResultData);
-            return;
+    private void renderHand(List<String> hand) {
+        ClientEvents.HandRebuild event = new ClientEvents.HandRebuild();
+        event.begin();
+        int shown = renderer.showHand(hand);
+        if (event.shouldCommit()) {
+            event.cards = shown;
+            event.renderer = renderer.getClass().getSimpleName();
+            event.commit();
         }
-
-        String playerWhoPlayed = parts[0];
-        String cardPlayed = parts[1];
-        String topCard = parts[2];
-        String currentPlayer = parts[3];
-        String opponents = parts[4];
-        String hand = parts[5];  // To jest MOJA ręka, a nie ręka gracza który zagrał!
-
-        Platform.runLater(() -> {
-            // Aktualizuj wierzchnią kartę
-            updateTopCard(topCard);
-
-            // Aktualizuj turę
-            updateTurn(currentPlayer);
-
-            // Aktualizuj przeciwników
-            updateOpponents(opponents);
-
-            // ZAWSZE aktualizuj rękę (bo to MOJA ręka)
-            updateHand(hand);
-
-            // Wyświetl komunikat
-            if (playerWhoPlayed.equals(nickname)) {
-                instrukcja.setText("Twoja karta została zagrana");
-                logger.debug("Twoja karta została zagrana: " + cardPlayed);
-            } else {
-                instrukcja.setText("Gracz " + playerWhoPlayed + " zagrał kartę");
-                logger.debug("Gracz " + playerWhoPlayed + " zagrał kartę: " + cardPlayed);
-            }
-        });
+        labelGracz.setText("Twoje karty (" + shown + ")");
+        logger.debug("Ręka zaktualizowana, liczba kart: " + shown);
     }
 
     /**
-     * Obsługuje inicjalizację gry na podstawie danych otrzymanych z serwera.
-     *
-     * @param initData dane inicjalizacyjne w formacie:
-     *                "wierzchnia_karta aktualny_gracz przeciwnicy ręka"
+     * Ustawia interaktywność kart w ręce zgodnie z turą.
      */
-    private void handleGameInitialization(String initData) {
-        logger.info("Inicjalizacja gry: " + initData);
-
-        String[] parts = initData.split(" ", 4);
-        if (parts.length != 4) {
-            logger.error("Błędny format INIT_GAME: " + initData);
-            return;
-        }
-
-        String topCard = parts[0];
-        String currentPlayer = parts[1];
-        String opponents = parts[2];
-        String hand = parts[3];
-
-        logger.debug("Top card: " + topCard + ", Current player: " + currentPlayer +
-                ", Opponents: " + opponents + ", Hand size: " + hand.split(",").length);
-
-        updateTopCard(topCard);
-        updateTurn(currentPlayer);
-        updateOpponents(opponents);
-        updateHand(hand);
-
-        logger.info("Gra zainicjalizowana");
+    private void updateHandState() {
+        boolean playable = myTurn && !waitingForColorChoice;
+        renderer.setHandState(playable ? TableRenderer.HandState.PLAYABLE : TableRenderer.HandState.INACTIVE);
     }
 
     /**
-     * Aktualizuje wyświetlanie kart w ręce głównego gracza.
+     * Wyświetla wierzchnią kartę na stole.
      *
-     * @param handStr ciąg znaków reprezentujący karty w ręce,
-     *               oddzielone przecinkami (np. "RED:5,BLUE:SKIP")
+     * @param cardStr karta w formacie "kolor:wartość" lub null
      */
-    private void updateHand(String handStr) {
-        logger.debug("updateHand wywołane z danymi o długości: " + handStr.length());
-
-        Platform.runLater(() -> {
-            try {
-                if (rekaGracza == null) {
-                    logger.error("ERROR: rekaGracza is null!");
-                    return;
-                }
-
-                kartyGracza.clear();
-                rekaGracza.getChildren().clear();
-
-                String[] cards = handStr.split(",");
-                logger.debug("Liczba kart do wyświetlenia: " + cards.length);
-
-                for (String cardStr : cards) {
-                    cardStr = cardStr.trim();
-                    if (!cardStr.isEmpty()) {
-                        try {
-                            Card card = Card.fromString(cardStr);
-                            kartyGracza.add(card);
-
-                            StackPane kartaView = card.getView();
-                            kartaView.setDisable(!myTurn || waitingForColorChoice);
-                            kartaView.setStyle("-fx-cursor: " + (myTurn && !waitingForColorChoice ? "hand" : "default") + ";");
-
-                            if (myTurn && !waitingForColorChoice) {
-                                kartaView.setOnMouseClicked(e -> playCard(card));
-                            } else {
-                                kartaView.setOnMouseClicked(null);
-                            }
-
-                            rekaGracza.getChildren().add(kartaView);
-                        } catch (Exception e) {
-                            logger.error("Błąd parsowania karty: " + cardStr);
-                            logger.error(e, "Szczegóły błędu");
-                        }
-                    }
-                }
-
-                labelGracz.setText("Twoje karty (" + kartyGracza.size() + ")");
-                logger.debug("Ręka zaktualizowana, liczba kart: " + kartyGracza.size());
-            } catch (Exception e) {
-                logger.error("Błąd w updateHand: " + e.getMessage());
-                logger.error(e, "Szczegóły błędu");
-            }
-        });
-    }
-
-    /**
-     * Aktualizuje wierzchnią kartę na stole.
-     *
-     * @param cardStr reprezentacja karty w formacie "kolor:wartość"
-     */
-    private void updateTopCard(String cardStr) {
+    private void renderTopCard(String cardStr) {
+        if (cardStr == null) {
+            renderer.showTopCard(null);
+            wierzchniaKarta = null;
+            return;
+        }
         try {
-            stol.getChildren().clear();
-            String[] parts = cardStr.split(":");
-            if (parts.length == 2) {
-                wierzchniaKarta = new Card(parts[0], parts[1]);
-                stol.getChildren().add(wierzchniaKarta.getView());
-                logger.debug("Wierzchnia karta ustawiona: " + parts[0] + " " + parts[1]);
-            }
+            Card card = Card.fromString(cardStr);
+            renderer.showTopCard(card);
+            wierzchniaKarta = card;
+            logger.debug("Wierzchnia karta ustawiona: " + cardStr);
         } catch (Exception e) {
             logger.error("Błąd parsowania top card: " + cardStr);
             logger.error(e, "Szczegóły błędu");
@@ -483,85 +672,90 @@ public class UnoController implements Initializable {
     }
 
     /**
-     * Aktualizuje informacje o przeciwnikach na podstawie danych z serwera.
+     * Wyświetla przeciwników w kolejności miejsc przy stole.
      *
-     * @param playersStr ciąg z informacjami o graczach w formacie:
-     *                  "gracz1:liczba_kart,gracz2:liczba_kart,..."
+     * @param opponents mapa gracz -&gt; liczba kart w kolejności miejsc
      */
-    private void updateOpponents(String playersStr) {
-        przeciwnicyKarty.clear();
-        String[] players = playersStr.split(",");
-
-        logger.debug("Aktualizacja przeciwników: " + playersStr);
-
-        for (String player : players) {
-            if (!player.isEmpty()) {
-                String[] parts = player.split(":");
-                if (parts.length == 2) {
-                    przeciwnicyKarty.put(parts[0], Integer.parseInt(parts[1]));
-                    logger.debug("Przeciwnik: " + parts[0] + " ma " + parts[1] + " kart");
-                }
+    private void renderOpponents(Map<String, Integer> opponents) {
+        Label[] labels = {labelPrzeciwnik, labelLewy, labelPrawy};
+        List<Map.Entry<String, Integer>> seats = new ArrayList<>(opponents.entrySet());
+        int[] counts = new int[labels.length];
+
+        for (int i = 0; i < labels.length; i++) {
+            if (i < seats.size()) {
+                String player = seats.get(i).getKey();
+                counts[i] = seats.get(i).getValue();
+                labels[i].setText(player + " (" + counts[i] + ")");
+            } else {
+                labels[i].setText("");
             }
         }
-
-        updateOpponentDisplays();
-        logger.debug("Przeciwnicy zaktualizowani: " + przeciwnicyKarty.size() + " graczy");
+        renderer.showOpponents(counts);
+        // Kolejność miejsc mogła się zmienić razem z listą przeciwników
+        renderer.showTurn(seatOf(gameState.getState().getCurrentPlayer()));
+        logger.debug("Wyświetlanie " + Math.min(seats.size(), labels.length) + " przeciwników");
     }
 
     /**
-     * Aktualizuje wyświetlanie informacji o przeciwnikach w interfejsie.
-     * Rozmieszcza etykiety i karty przeciwników w odpowiednich kontenerach.
+     * Zwraca numer miejsca gracza przy stole (0 - gracz lokalny, 1..3 - przeciwnicy).
+     *
+     * @param player nazwa gracza
+     * @return numer miejsca lub -1, jeśli gracz nie siedzi przy wyświetlanych miejscach
      */
-    private void updateOpponentDisplays() {
-        Platform.runLater(() -> {
-            List<String> opponents = new ArrayList<>(przeciwnicyKarty.keySet());
-
-            logger.debug("Aktualizacja wyświetlania przeciwników: " + opponents.size() + " przeciwników");
-
-            if (opponents.size() >= 3) {
-                labelPrzeciwnik.setText(opponents.get(0) + " (" + przeciwnicyKarty.get(opponents.get(0)) + ")");
-                labelLewy.setText(opponents.get(1) + " (" + przeciwnicyKarty.get(opponents.get(1)) + ")");
-                labelPrawy.setText(opponents.get(2) + " (" + przeciwnicyKarty.get(opponents.get(2)) + ")");
-
-                updateHandDisplay(rekaPrzeciwnika, przeciwnicyKarty.get(opponents.get(0)));
-                updateHandDisplay(rekaLewego, przeciwnicyKarty.get(opponents.get(1)));
-                updateHandDisplay(rekaPrawego, przeciwnicyKarty.get(opponents.get(2)));
-                logger.debug("Wyświetlanie 3 przeciwników");
-            } else if (opponents.size() == 2) {
-                labelPrzeciwnik.setText(opponents.get(0) + " (" + przeciwnicyKarty.get(opponents.get(0)) + ")");
-                labelLewy.setText(opponents.get(1) + " (" + przeciwnicyKarty.get(opponents.get(1)) + ")");
-                labelPrawy.setText("");
-
-                updateHandDisplay(rekaPrzeciwnika, przeciwnicyKarty.get(opponents.get(0)));
-                updateHandDisplay(rekaLewego, przeciwnicyKarty.get(opponents.get(1)));
-                rekaPrawego.getChildren().clear();
-                logger.debug("Wyświetlanie 2 przeciwników");
-            } else if (opponents.size() == 1) {
-                labelPrzeciwnik.setText(opponents.get(0) + " (" + przeciwnicyKarty.get(opponents.get(0)) + ")");
-                labelLewy.setText("");
-                labelPrawy.setText("");
-
-                updateHandDisplay(rekaPrzeciwnika, przeciwnicyKarty.get(opponents.get(0)));
-                rekaLewego.getChildren().clear();
-                rekaPrawego.getChildren().clear();
-                logger.debug("Wyświetlanie 1 przeciwnika");
+    private int seatOf(String player) {
+        if (player == null) {
+            return -1;
+        }
+        if (player.equals(nickname)) {
+            return 0;
+        }
+        int seat = 1;
+        for (String opponent : gameState.getState().getOpponents().keySet()) {
+            if (seat >= TableRenderer.SEATS) {
+                break;
             }
-        });
+            if (opponent.equals(player)) {
+                return seat;
+            }
+            seat++;
+        }
+        return -1;
     }
 
     /**
-     * Aktualizuje wyświetlanie kart przeciwnika (tylko rewersy kart).
+     * Wyświetla informację o aktualnej turze.
+     * Włącza/wyłącza interaktywność kart i przycisków w zależności od tego, czy to tura gracza.
+     * Dopóki przewidywane zagranie czeka na odpowiedź serwera, ręka pozostaje zablokowana.
      *
-     * @param handBox kontener HBox dla kart przeciwnika
-     * @param cardCount liczba kart do wyświetlenia
+     * @param player nazwa gracza, który ma aktualną turę
      */
-    private void updateHandDisplay(HBox handBox, int cardCount) {
-        handBox.getChildren().clear();
-        for (int i = 0; i < cardCount; i++) {
-            Card dummyCard = new Card("RED", "0");
-            handBox.getChildren().add(dummyCard.getBackView());
+    private void renderTurn(String player) {
+        if (player == null) {
+            return;
         }
-        logger.debug("Wyświetlono " + cardCount + " kart przeciwnika");
+        boolean playersTurn = player.equals(nickname);
+        boolean awaitingServer = playersTurn && gameState.hasPendingPrediction();
+        myTurn = playersTurn && !awaitingServer;
+        logger.debug("Tura gracza " + player + ", myTurn=" + myTurn);
+
+        if (playersTurn) {
+            labelTura.setText("Twoja tura!");
+            if (myTurn) {
+                instrukcja.setText("Wybierz kartę do zagrania lub kliknij talię, aby dobrać kartę");
+            }
+        } else {
+            labelTura.setText("Tura gracza: " + player);
+            instrukcja.setText("Oczekiwanie na ruch gracza " + player);
+        }
+
+        if (przyciskDobierania != null) {
+            przyciskDobierania.setDisable(!myTurn);
+            przyciskDobierania.setStyle(myTurn ? "-fx-opacity: 1.0; -fx-cursor: hand;" : "-fx-opacity: 0.5; -fx-cursor: default;");
+        }
+
+        updateHandState();
+        renderer.showTurn(seatOf(player));
+        logger.debug("Karty " + (myTurn ? "odblokowane" : "zablokowane"));
     }
 
     /**
@@ -585,20 +779,13 @@ public class UnoController implements Initializable {
             logger.debug("Wysłano komendę DRAW do serwera");
 
             // Po krótkim czasie przywróć stan przycisku (jeśli nadal jest tura)
-            new java.util.Timer().schedule(
-                    new java.util.TimerTask() {
-                        @Override
-                        public void run() {
-                            Platform.runLater(() -> {
-                                if (myTurn && przyciskDobierania != null) {
-                                    przyciskDobierania.setDisable(false);
-                                    logger.debug("Przycisk dobierania włączony ponownie");
-                                }
-                            });
+            ClientScheduler.getInstance().schedule(this, "odblokowanie dobierania", 1000, () ->
+                    uiScheduler.post(() -> {
+                        if (myTurn && przyciskDobierania != null) {
+                            przyciskDobierania.setDisable(false);
+                            logger.debug("Przycisk dobierania włączony ponownie");
                         }
-                    },
-                    1000  // 1 sekunda
-            );
+                    }));
         } else {
             logger.warning("Nie można dobrać karty: tura=" + myTurn +
                     ", waitingForColorChoice=" + waitingForColorChoice +
@@ -606,140 +793,6 @@ public class UnoController implements Initializable {
         }
     }
 
-    /**
-     * Aktualizuje informację o aktualnej turze.
-     * Włącza/wyłącza interaktywność kart i przycisków w zależności od tego, czy to tura gracza.
-     *
-     * @param player nazwa gracza, który ma aktualną turę
-     */
-    private void updateTurn(String player) {
-        logger.debug("=== updateTurn ===");
-        logger.debug("Nowy gracz: " + player);
-        logger.debug("Ja: " + nickname);
-        logger.debug("Czy moja tura? " + player.equals(nickname));
-
-        Platform.runLater(() -> {
-            currentPlayer = player;
-            myTurn = player.equals(nickname);
-
-            logger.debug("myTurn ustawione na: " + myTurn);
-
-            if (myTurn) {
-                labelTura.setText("Twoja tura!");
-                instrukcja.setText("Wybierz kartę do zagrania lub kliknij talię, aby dobrać kartę");
-
-                // Włącz przycisk dobierania
-                if (przyciskDobierania != null) {
-                    przyciskDobierania.setDisable(false);
-                    przyciskDobierania.setStyle("-fx-opacity: 1.0; -fx-cursor: hand;");
-                    logger.debug("Przycisk dobierania włączony");
-                }
-
-                // Odblokuj wszystkie karty w ręce
-                for (var child : rekaGracza.getChildren()) {
-                    child.setDisable(false);
-                    child.setStyle("-fx-opacity: 1.0; -fx-cursor: hand;");
-
-                    // Znajdź odpowiadającą kartę i ustaw handler
-                    int index = rekaGracza.getChildren().indexOf(child);
-                    if (index >= 0 && index < kartyGracza.size()) {
-                        Card card = kartyGracza.get(index);
-                        child.setOnMouseClicked(e -> playCard(card));
-                    }
-                }
-                logger.debug("Karty odblokowane, liczba kart: " + kartyGracza.size());
-
-            } else {
-                labelTura.setText("Tura gracza: " + player);
-                instrukcja.setText("Oczekiwanie na ruch gracza " + player);
-
-                // Wyłącz przycisk dobierania
-                if (przyciskDobierania != null) {
-                    przyciskDobierania.setDisable(true);
-                    przyciskDobierania.setStyle("-fx-opacity: 0.5; -fx-cursor: default;");
-                    logger.debug("Przycisk dobierania wyłączony");
-                }
-
-                // Zablokuj wszystkie karty w ręce
-                for (var child : rekaGracza.getChildren()) {
-                    child.setDisable(true);
-                    child.setStyle("-fx-opacity: 0.7; -fx-cursor: default;");
-                    child.setOnMouseClicked(null);
-                }
-                logger.debug("Karty zablokowane, liczba kart: " + kartyGracza.size());
-            }
-
-            logger.debug("=== koniec updateTurn ===\n");
-        });
-    }
-
-    /**
-     * Obsługuje informację o zagranej karcie przez innego gracza.
-     *
-     * @param playInfo informacja o zagranej karcie w formacie "gracz karta"
-     */
-    private void handleCardPlayed(String playInfo) {
-        logger.debug("Otrzymano PLAYED: " + playInfo);
-
-        // Usuń ewentualne dodatkowe białe znaki
-        playInfo = playInfo.trim();
-
-        String[] parts = playInfo.split(" ");
-        if (parts.length >= 2) {
-            String player = parts[0];
-            String cardStr = parts[1];
-
-            // Aktualizuj komunikat
-            Platform.runLater(() -> {
-                if (!player.equals(nickname)) {
-                    instrukcja.setText("Gracz " + player + " zagrał kartę");
-                    logger.debug("Gracz " + player + " zagrał kartę: " + cardStr);
-                } else {
-                    instrukcja.setText("Twoja karta została zagrana");
-                    logger.debug("Twoja karta została zagrana: " + cardStr);
-                }
-            });
-        }
-    }
-
-    /**
-     * Obsługuje informację o dobranej karcie przez gracza.
-     * Dodaje nową kartę do ręki gracza.
-     *
-     * @param cardStr reprezentacja dobranej karty
-     */
-    private void handleCardDrawn(String cardStr) {
-        logger.info("handleCardDrawn: Otrzymano DREW - " + cardStr);
-
-        Platform.runLater(() -> {
-            instrukcja.setText("Dobrałeś kartę: " + cardStr);
-
-            try {
-                // Dodaj nową kartę do ręki gracza
-                Card newCard = Card.fromString(cardStr);
-                kartyGracza.add(newCard);
-
-                // Dodaj widok karty do ręki
-                StackPane kartaView = newCard.getView();
-
-                // Początkowo zablokuj kartę (tura się zmieni)
-                kartaView.setDisable(true);
-                kartaView.setStyle("-fx-opacity: 0.7; -fx-cursor: default;");
-                kartaView.setOnMouseClicked(null);
-
-                rekaGracza.getChildren().add(kartaView);
-                labelGracz.setText("Twoje karty (" + kartyGracza.size() + ")");
-
-                logger.info("Karta dodana do ręki, oczekiwanie na TURN...");
-                logger.debug("Liczba kart po dobraniu: " + kartyGracza.size());
-
-            } catch (Exception e) {
-                logger.error("Błąd podczas dodawania dobranej karty: " + e.getMessage());
-                logger.error(e, "Szczegóły błędu");
-            }
-        });
-    }
-
     /**
      * Obsługuje informację o zwycięzcy gry.
      * Wyświetla odpowiedni komunikat i po 3 sekundach wraca do menu głównego.
@@ -748,7 +801,7 @@ public class UnoController implements Initializable {
      */
     private void handleWinner(String winner) {
         logger.info("Zwycięzca gry: " + winner);
-        Platform.runLater(() -> {
+        uiScheduler.post(() -> {
             // Wyświetl komunikat o zwycięzcy
             if (winner.equals(nickname)) {
                 instrukcja.setText("WYGRAŁEŚ!");
@@ -783,49 +836,24 @@ public class UnoController implements Initializable {
             logger.debug("Alert końca gry wyświetlony");
 
             // Automatyczne przejście do menu głównego po 3 sekundach
-            new java.util.Timer().schedule(
-                    new java.util.TimerTask() {
-                        @Override
-                        public void run() {
-                            Platform.runLater(() -> {
-                                try {
-                                    // Zamknij alert jeśli jeszcze jest otwarty
-                                    alert.close();
-
-                                    // Załaduj menu główne z zasobów
-                                    FXMLLoader loader = new FXMLLoader(getClass().getResource("/main_menu.fxml"));
-                                    Parent root = loader.load();
-
-                                    // Pobierz aktualne okno
-                                    Stage stage = (Stage) instrukcja.getScene().getWindow();
-
-                                    // Ustaw nową scenę
-                                    Scene scene = new Scene(root);
-                                    scene.getStylesheets().add(getClass().getResource("/style.css").toExternalForm());
-                                    stage.setScene(scene);
-                                    stage.setFullScreen(true);
-                                    stage.setFullScreenExitHint("");
-                                    stage.show();
-
-                                    // Zamknij połączenie z serwerem
-                                    if (clientConnection != null) {
-                                        clientConnection.disconnect();
-                                        logger.debug("Połączenie z serwerem zamknięte");
-                                    }
-
-                                    logger.info("Powrót do menu głównego po zakończeniu gry");
-
-                                } catch (Exception e) {
-                                    logger.error("Błąd podczas przełączania do menu: " + e.getMessage());
-                                    logger.error(e, "Szczegóły błędu");
-                                    // W razie błędu spróbuj bezpośrednio zamknąć okno
-                                    Platform.exit();
-                                }
-                            });
-                        }
-                    },
-                    3000  // 3 sekundy opóźnienia
-            );
+            ClientScheduler.getInstance().scheduleOnFx(this, "powrót do menu", 3000, () -> {
+                try {
+                    // Zamknij alert jeśli jeszcze jest otwarty
+                    alert.close();
+
+                    // Nawigator zwalnia scenę gry (dispose()) i zamyka połączenie z serwerem
+                    SceneNavigator.getInstance().navigate(SceneNavigator.stageOf(instrukcja),
+                            "/main_menu.fxml", "/style.css");
+
+                    logger.info("Powrót do menu głównego po zakończeniu gry");
+
+                } catch (Exception e) {
+                    logger.error("Błąd podczas przełączania do menu: " + e.getMessage());
+                    logger.error(e, "Szczegóły błędu");
+                    // W razie błędu spróbuj bezpośrednio zamknąć okno
+                    Platform.exit();
+                }
+            });
         });
     }
 
@@ -837,7 +865,7 @@ public class UnoController implements Initializable {
         gameActive.set(false);
         logger.info("Gra zakończona przez serwer");
 
-        Platform.runLater(() -> {
+        uiScheduler.post(() -> {
             instrukcja.setText("Gra zakończona");
             instrukcja.setStyle("-fx-text-fill: red; -fx-font-size: 36px; -fx-font-weight: bold;");
 
@@ -850,38 +878,19 @@ public class UnoController implements Initializable {
             logger.debug("Alert zakończenia gry wyświetlony");
 
             // Automatyczne przejście do menu głównego
-            new java.util.Timer().schedule(
-                    new java.util.TimerTask() {
-                        @Override
-                        public void run() {
-                            Platform.runLater(() -> {
-                                try {
-                                    alert.close();
-                                    FXMLLoader loader = new FXMLLoader(getClass().getResource("/org/example/MainMenu.fxml"));
-                                    Parent root = loader.load();
-
-                                    Stage stage = (Stage) instrukcja.getScene().getWindow();
-                                    Scene scene = new Scene(root);
-                                    stage.setScene(scene);
-                                    stage.setTitle("UNO - Menu Główne");
-                                    stage.show();
-
-                                    if (clientConnection != null) {
-                                        clientConnection.disconnect();
-                                        logger.debug("Połączenie z serwerem zamknięte");
-                                    }
-
-                                    logger.info("Powrót do menu głównego po zakończeniu gry przez serwer");
-
-                                } catch (Exception e) {
-                                    logger.error("Błąd podczas przełączania do menu: " + e.getMessage());
-                                    logger.error(e, "Szczegóły błędu");
-                                }
-                            });
-                        }
-                    },
-                    3000
-            );
+            ClientScheduler.getInstance().scheduleOnFx(this, "powrót do menu", 3000, () -> {
+                try {
+                    alert.close();
+                    SceneNavigator.getInstance().navigate(SceneNavigator.stageOf(instrukcja),
+                            "/main_menu.fxml", "/style.css");
+
+                    logger.info("Powrót do menu głównego po zakończeniu gry przez serwer");
+
+                } catch (Exception e) {
+                    logger.error("Błąd podczas przełączania do menu: " + e.getMessage());
+                    logger.error(e, "Szczegóły błędu");
+                }
+            });
         });
     }
 
@@ -953,10 +962,25 @@ public class UnoController implements Initializable {
     private void playCard(Card card) {
         if (myTurn && !waitingForColorChoice) {
             String cardStr = card.getColor() + ":" + card.getValue();
-            clientConnection.sendMessage("PLAY " + cardStr);
+
+            // Przewidywanie przed wysłaniem - odpowiedź serwera nie może go wyprzedzić
+            boolean predicted = optimisticPlay && wierzchniaKarta != null && card.canPlayOn(wierzchniaKarta)
+                    && gameState.predictPlay(nickname, cardStr);
+
+            boolean sent = clientConnection.sendMessage("PLAY " + (clientConnection.hasFeature(CardCodec.FEATURE)
+                    ? CardCodec.encodeCard(cardStr) : cardStr));
             logger.info("Wysłano kartę do serwera: " + cardStr);
 
-            instrukcja.setText("Wysyłanie karty...");
+            if (predicted && sent) {
+                // Karta trafia na stół od razu; ręka jest zablokowana do odpowiedzi serwera
+                renderTurn(gameState.getState().getCurrentPlayer());
+                instrukcja.setText("Zagrano kartę " + cardStr);
+            } else {
+                if (predicted) {
+                    gameState.rejectPrediction();
+                }
+                instrukcja.setText("Wysyłanie karty...");
+            }
         } else {
             logger.warning("Nie można zagrać karty: tura=" + myTurn +
                     ", waitingForColorChoice=" + waitingForColorChoice);
@@ -984,10 +1008,7 @@ public class UnoController implements Initializable {
      */
     private void zablokujKarty() {
         logger.debug("Blokowanie kart w ręce");
-        for (var child : rekaGracza.getChildren()) {
-            child.setDisable(true);
-            child.setStyle("-fx-opacity: 0.5; -fx-cursor: default;");
-        }
+        renderer.setHandState(TableRenderer.HandState.LOCKED);
         logger.debug("Karty zablokowane");
     }
 
@@ -998,15 +1019,92 @@ public class UnoController implements Initializable {
     @FXML
     private void handleQuit() {
         logger.info("Wychodzę z gry dla gracza: " + nickname);
+        if (clientConnection != null) {
+            clientConnection.sendMessage("EXIT " + nickname);
+        }
+        dispose();
+        ClientScheduler.getInstance().logPendingTasks();
+    }
+
+    /**
+     * Uruchamia pomiar wydajności i obsługę klawisza F3 po wyświetleniu sceny gry.
+     */
+    @Override
+    public void activate() {
+        if (disposed || stolGry == null || stolGry.getScene() == null) {
+            return;
+        }
+        aktywnaScena = stolGry.getScene();
+        aktywnaScena.addEventFilter(KeyEvent.KEY_PRESSED, przelacznikNakladki);
+        monitor.start(aktywnaScena);
+    }
+
+    /**
+     * Anuluje zadania opóźnione kontrolera (np. odblokowanie dobierania)
+     * i zatrzymuje pomiar wydajności przy opuszczaniu sceny gry.
+     */
+    @Override
+    public void deactivate() {
+        ClientScheduler.getInstance().cancelAll(this);
+        stopPerformanceMonitor();
+    }
+
+    /**
+     * Zatrzymuje pomiar wydajności i odłącza obsługę klawisza F3 od wspólnej sceny.
+     */
+    private void stopPerformanceMonitor() {
+        if (monitor != null) {
+            monitor.stop();
+        }
+        if (aktywnaScena != null) {
+            aktywnaScena.removeEventFilter(KeyEvent.KEY_PRESSED, przelacznikNakladki);
+            aktywnaScena = null;
+        }
+    }
+
+    /**
+     * Zwalnia zasoby sceny gry: zatrzymuje wątek odbierający i harmonogram aktualizacji,
+     * odłącza słuchaczy stanu i połączenia, usuwa widoki kart i zamyka połączenie z serwerem.
+     */
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
         gameActive.set(false);
+        gameState.removeListener(stateListener);
+        if (clientConnection != null) {
+            clientConnection.removeReconnectListener(reconnectListener);
+            clientConnection.removeHeartbeatListener(heartbeatListener);
+        }
         if (messageReceiver != null) {
             messageReceiver.interrupt();
             logger.debug("Wątek odbierania wiadomości przerwany");
         }
+        pendingMessages.clear();
+        uiScheduler.dispose();
+        ClientScheduler.getInstance().cancelAll(this);
+        stopPerformanceMonitor();
+        if (metricsRecorder != null) {
+            metricsRecorder.close();
+        }
+
+        // Widoki kart trzymają procedury obsługi kliknięć wskazujące na kontroler
+        wierzchniaKarta = null;
+        if (renderer != null) {
+            renderer.dispose();
+        }
+        // Obraz tła jest współdzielony przez AssetCache - słuchacz nie może trzymać kontrolera
+        if (dopasowanieTla != null && tloStolu != null && tloStolu.getImage() != null) {
+            tloStolu.getImage().widthProperty().removeListener(dopasowanieTla);
+        }
+
         if (clientConnection != null) {
-            clientConnection.sendMessage("EXIT " + nickname);
+            // Zamknięcie gniazda odblokowuje wątek odbierający czekający na dane
             clientConnection.disconnect();
             logger.info("Połączenie z serwerem zamknięte");
         }
+        logger.info("Scena gry zwolniona");
     }
 }
\ No newline at end of file